@@ -18,6 +18,7 @@ public interface ModelServerPathParametersV1 {
    String FORMAT_XMI = "xmi";
    String ELEMENT_ID = "elementid";
    String ELEMENT_NAME = "elementname";
+   String ELEMENT_TYPE = "elementtype";
    String SCHEMA_NAME = "schemaname";
    String TIMEOUT = "timeout";
    String LIVE_VALIDATION = "livevalidation";
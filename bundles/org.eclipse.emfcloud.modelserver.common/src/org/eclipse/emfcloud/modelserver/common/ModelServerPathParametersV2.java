@@ -18,6 +18,7 @@ public interface ModelServerPathParametersV2 {
    String FORMAT_XMI = "xmi";
    String ELEMENT_ID = "elementid";
    String ELEMENT_NAME = "elementname";
+   String ELEMENT_TYPE = "elementtype";
    String SCHEMA_NAME = "schemaname";
    String TIMEOUT = "timeout";
    String LIVE_VALIDATION = "livevalidation";
@@ -58,4 +59,18 @@ public interface ModelServerPathParametersV2 {
     */
    String PATHS_URI_FRAGMENTS = "urifragments";
 
+   /**
+    * Subscription parameter specifying a time window, in milliseconds, over which incremental updates are
+    * coalesced into a single compacted patch. Dirty state notifications are then only sent when the dirty
+    * state actually changes. Updates are not coalesced if the parameter is omitted or not positive.
+    */
+   String COALESCE = "coalesce";
+
+   /**
+    * Value of the {@link #LIVE_VALIDATION livevalidation} subscription parameter requesting live validation
+    * results as deltas: after a full validation result, only the diagnostics of the objects whose diagnostics
+    * changed are sent, together with the IDs of the objects whose diagnostics were cleared.
+    */
+   String LIVE_VALIDATION_DELTA = "delta";
+
 }
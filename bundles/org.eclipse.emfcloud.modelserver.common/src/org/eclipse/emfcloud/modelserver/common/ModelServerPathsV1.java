@@ -14,7 +14,8 @@ public interface ModelServerPathsV1 {
    String BASE_PATH = "api/v1";
 
    String MODEL_BASE_PATH = "models"; // accepts query parameter "modeluri"
-   String MODEL_ELEMENT = "modelelement"; // accepts query parameters "modeluri" and either "elementId" or "elementname"
+   // accepts query parameters "modeluri" and either one or more "elementid", "elementname", or "elementtype"
+   String MODEL_ELEMENT = "modelelement";
 
    String MODEL_URIS = "modeluris";
 
@@ -14,7 +14,9 @@ public interface ModelServerPathsV2 {
    String BASE_PATH = "api/v2";
 
    String MODEL_BASE_PATH = "models"; // accepts query parameter "modeluri"
-   String MODEL_ELEMENT = "modelelement"; // accepts query parameters "modeluri" and either "elementId" or "elementname"
+   // accepts query parameters "modeluri" and either one or more "elementid", "elementname", or "elementtype"
+   String MODEL_ELEMENT = "modelelement";
+   String MODEL_ELEMENT_USAGES = "modelelement/usages"; // accepts query parameters "modeluri" and "elementid"
 
    String MODEL_URIS = "modeluris";
 
@@ -10,21 +10,60 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.common.codecs;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 
 public interface Codec {
 
    JsonNode encode(EObject eObject) throws EncodingException;
 
+   /**
+    * Encode an object directly to a JSON generator, such as one that writes a response stream. Codecs that can
+    * should override this to write the encoding without first building it as a JSON tree.
+    *
+    * @param eObject   an object to encode
+    * @param generator the generator to which to write the encoding of the object as a single JSON value
+    *
+    * @throws EncodingException on failure to perform the encoding or to write it
+    */
+   default void encode(final EObject eObject, final JsonGenerator generator) throws EncodingException {
+      JsonNode encoded = encode(eObject);
+      try {
+         generator.writeTree(encoded);
+      } catch (IOException e) {
+         throw new EncodingException(e);
+      }
+   }
+
    Optional<EObject> decode(String payload) throws DecodingException;
 
    Optional<EObject> decode(String payload, URI workspaceURI) throws DecodingException;
 
+   default Optional<EObject> decode(final JsonNode payload) throws DecodingException {
+      return decode(payload, null);
+   }
+
+   /**
+    * Decode a payload that was already parsed, such as the data of a request, without formatting it as text to
+    * parse it again. Codecs that can should override this to decode the JSON tree directly. A textual payload is
+    * decoded as its text.
+    *
+    * @param payload      the payload to decode
+    * @param workspaceURI the workspace URI against which to resolve the decoded model, or {@code null}
+    * @return the decoded object, if any
+    *
+    * @throws DecodingException on failure to decode the payload
+    */
+   default Optional<EObject> decode(final JsonNode payload, final URI workspaceURI) throws DecodingException {
+      return decode(payload.isTextual() ? payload.textValue() : payload.toString(), workspaceURI);
+   }
+
    //
    // Nested types
    //
@@ -45,6 +84,35 @@ public interface Codec {
        * @throws EncodingException on failure to perform the encoding
        */
       JsonNode basicEncode(EObject eObject) throws EncodingException;
+
+      /**
+       * Query whether the {@linkplain #basicEncode(EObject) in situ} encoding of an object that is contained in a
+       * resource is the same as its {@linkplain #encode(EObject) regular} encoding, so that the framework may
+       * substitute the one for the other to avoid copying the object. This is not the case for codecs whose
+       * encoding of references and IDs depends on the resource that contains the object being encoded.
+       *
+       * @return whether objects in a resource may be encoded in place in lieu of their regular encoding
+       */
+      default boolean isInPlaceEncoding() { return false; }
+
+      /**
+       * Encode an object as it is, <em>in situ</em>, directly to a JSON generator.
+       *
+       * @param eObject   an object to encode
+       * @param generator the generator to which to write the encoding of the object as a single JSON value
+       *
+       * @throws EncodingException on failure to perform the encoding or to write it
+       *
+       * @see #basicEncode(EObject)
+       */
+      default void basicEncode(final EObject eObject, final JsonGenerator generator) throws EncodingException {
+         JsonNode encoded = basicEncode(eObject);
+         try {
+            generator.writeTree(encoded);
+         } catch (IOException e) {
+            throw new EncodingException(e);
+         }
+      }
    }
 
 }
@@ -21,9 +21,11 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.jackson.errors.JSONException;
 import org.eclipse.emfcloud.jackson.resource.JsonResource;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 public class DefaultJsonCodec implements Codec.Internal {
 
@@ -39,6 +41,21 @@ public class DefaultJsonCodec implements Codec.Internal {
 
    @Override
    public JsonNode encode(final EObject obj) throws EncodingException {
+      return basicEncode(marshallingCopy(obj));
+   }
+
+   @Override
+   public void encode(final EObject obj, final JsonGenerator generator) throws EncodingException {
+      basicEncode(marshallingCopy(obj), generator);
+   }
+
+   /**
+    * Copy an object into a resource of its own for marshalling.
+    *
+    * @param obj an object to encode
+    * @return the copy to encode
+    */
+   protected EObject marshallingCopy(final EObject obj) {
       // Encapsulate the command in a resource before marshalling it so that internal
       // cross-references are serialized as IDREFs (e.g., "//@objectsToAdd.0") instead
       // of HREFs (e.g., "#//@objectsToAdd.0") which will not resolve in the Model
@@ -46,8 +63,7 @@ public class DefaultJsonCodec implements Codec.Internal {
       // object to ensure isolation of the user's model
       JsonResource resource = new JsonResource(URI.createURI("$marshall.res"), getObjectMapper());
       resource.getContents().add(EcoreUtil.copy(obj));
-
-      return basicEncode(resource.getContents().get(0));
+      return resource.getContents().get(0);
    }
 
    @Override
@@ -55,6 +71,11 @@ public class DefaultJsonCodec implements Codec.Internal {
       return encode(obj, getObjectMapper());
    }
 
+   @Override
+   public final void basicEncode(final EObject obj, final JsonGenerator generator) throws EncodingException {
+      encode(obj, getObjectMapper(), generator);
+   }
+
    @Override
    public Optional<EObject> decode(final String payload) throws DecodingException {
       return decode(payload, null);
@@ -62,6 +83,23 @@ public class DefaultJsonCodec implements Codec.Internal {
 
    @Override
    public Optional<EObject> decode(final String payload, final URI workspaceURI) throws DecodingException {
+      return decode(payload.getBytes(), workspaceURI);
+   }
+
+   @Override
+   public Optional<EObject> decode(final JsonNode payload, final URI workspaceURI) throws DecodingException {
+      if (payload.isTextual()) {
+         return decode(payload.textValue(), workspaceURI);
+      }
+      try {
+         // The JSON resource loads only from a stream, so feed it the bytes of the tree and not a string
+         return decode(getObjectMapper().writeValueAsBytes(payload), workspaceURI);
+      } catch (IOException e) {
+         throw new DecodingException(new JSONException(e, JsonLocation.NA));
+      }
+   }
+
+   protected Optional<EObject> decode(final byte[] payload, final URI workspaceURI) throws DecodingException {
       URI uri = URI.createURI("virtual.json");
       if (workspaceURI != null) {
          uri = uri.resolve(workspaceURI);
@@ -69,7 +107,7 @@ public class DefaultJsonCodec implements Codec.Internal {
 
       final JsonResource jsonResource = new JsonResource(uri, getObjectMapper());
 
-      try (InputStream input = new ByteArrayInputStream(payload.getBytes())) {
+      try (InputStream input = new ByteArrayInputStream(payload)) {
          jsonResource.load(input, null);
       } catch (IOException e) {
          throw new DecodingException(new JSONException(e, JsonLocation.NA));
@@ -95,5 +133,23 @@ public class DefaultJsonCodec implements Codec.Internal {
       }
    }
 
+   /**
+    * Encode an object directly to a JSON generator, in compact form regardless of whether the
+    * {@code mapper} indents its output.
+    *
+    * @param obj       the object to encode
+    * @param mapper    the mapper with which to encode it
+    * @param generator the generator to which to write the encoding
+    * @throws EncodingException on failure to encode the object or to write it
+    */
+   public static void encode(final Object obj, final ObjectMapper mapper, final JsonGenerator generator)
+      throws EncodingException {
+      try {
+         mapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValue(generator, obj);
+      } catch (IOException ex) {
+         throw new EncodingException(ex);
+      }
+   }
+
    protected ObjectMapper getObjectMapper() { return emfJsonConverter.getMapper(); }
 }
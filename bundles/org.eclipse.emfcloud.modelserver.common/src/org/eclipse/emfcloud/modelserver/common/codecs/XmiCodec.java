@@ -29,6 +29,7 @@ import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 
 public class XmiCodec implements Codec {
@@ -37,6 +38,23 @@ public class XmiCodec implements Codec {
 
    @Override
    public JsonNode encode(final EObject eObject) throws EncodingException {
+      return Json.text(serialize(eObject));
+   }
+
+   @Override
+   public void encode(final EObject eObject, final JsonGenerator generator) throws EncodingException {
+      writeString(serialize(eObject), generator);
+   }
+
+   private static void writeString(final String xmi, final JsonGenerator generator) throws EncodingException {
+      try {
+         generator.writeString(xmi);
+      } catch (IOException e) {
+         throw new EncodingException(e);
+      }
+   }
+
+   protected String serialize(final EObject eObject) throws EncodingException {
       final Resource resource = createResource();
       resource.getContents().add(EcoreUtil.copy(eObject));
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -47,7 +65,7 @@ public class XmiCodec implements Codec {
          throw new EncodingException(e);
       }
 
-      return Json.text(outputStream.toString());
+      return outputStream.toString();
    }
 
    @Override
@@ -52,6 +52,7 @@ import org.eclipse.emf.edit.command.RemoveCommand;
 import org.eclipse.emf.edit.command.SetCommand;
 import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
 import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.emfcloud.modelserver.common.utils.URIFragmentCache;
 import org.eclipse.emfcloud.modelserver.jsonschema.JsonConstants;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -670,7 +671,7 @@ public abstract class AbstractJsonPatchHelper {
          return null;
       }
       try {
-         return resource.getEObject(eObjectURI.fragment());
+         return URIFragmentCache.getCache(resource).getEObject(eObjectURI.fragment());
       } catch (Exception ex) {
          // The object URI is not valid. Ignore the exception and
          // return null.
@@ -0,0 +1,224 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.common.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A cache of the URI fragments of the objects of a resource, in both directions. Path fragments such as
+ * {@code //@nodes.12/@edges.3} are expensive to compute, as each segment looks up the index of an object in its
+ * container, so they are only computed again when they may have changed:
+ * <ul>
+ * <li>a change of the contents of an object invalidates the fragments of everything that it contains, as objects
+ * may have moved to another index; and</li>
+ * <li>any other change of an object whose fragment changed, such as a rename in a model that uses names in its
+ * fragments, invalidates the fragments of its siblings and everything that they contain.</li>
+ * </ul>
+ * The fragments themselves are always those of the resource. A change of a fragment that is not notified, such as
+ * a change of the ID of an object of an XML resource, must be {@linkplain #invalidate(EObject) invalidated}
+ * explicitly.
+ */
+public class URIFragmentCache extends EContentAdapter {
+
+   private final Map<EObject, Entry> fragments = new HashMap<>();
+   private final Map<String, EObject> objects = new HashMap<>();
+
+   /** The generation of the latest change of the contents of each object, or of the resource. */
+   private final Map<Notifier, Long> changes = new HashMap<>();
+   private long generation;
+
+   private Resource resource;
+
+   /**
+    * Get the cache of a resource, creating it if necessary.
+    *
+    * @param resource a resource
+    * @return the cache of the resource
+    */
+   public static URIFragmentCache getCache(final Resource resource) {
+      synchronized (resource.eAdapters()) {
+         Adapter existing = EcoreUtil.getExistingAdapter(resource, URIFragmentCache.class);
+         if (existing instanceof URIFragmentCache) {
+            return (URIFragmentCache) existing;
+         }
+         URIFragmentCache result = new URIFragmentCache();
+         resource.eAdapters().add(result);
+         return result;
+      }
+   }
+
+   /**
+    * Invalidate the cached URI fragment of an object of a resource, if the resource has a cache. This is needed
+    * when the fragment of an object changes without notification, such as when its ID in an XML resource is set.
+    *
+    * @param resource a resource
+    * @param eObject  an object of the resource
+    */
+   public static void invalidate(final Resource resource, final EObject eObject) {
+      Adapter existing;
+      synchronized (resource.eAdapters()) {
+         existing = EcoreUtil.getExistingAdapter(resource, URIFragmentCache.class);
+      }
+      if (existing instanceof URIFragmentCache) {
+         ((URIFragmentCache) existing).invalidate(eObject);
+      }
+   }
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return type == URIFragmentCache.class;
+   }
+
+   /**
+    * Get the URI fragment of an object, as {@link Resource#getURIFragment(EObject)}.
+    *
+    * @param eObject an object
+    * @return its URI fragment
+    */
+   public synchronized String getURIFragment(final EObject eObject) {
+      if (resource == null || eObject.eResource() != resource) {
+         // Not (or no longer) ours to cache
+         return eObject.eResource() != null ? eObject.eResource().getURIFragment(eObject)
+            : EcoreUtil.getURI(eObject).fragment();
+      }
+      Entry entry = fragments.get(eObject);
+      if (entry != null && isValid(eObject, entry)) {
+         return entry.fragment;
+      }
+      return put(eObject, resource.getURIFragment(eObject));
+   }
+
+   /**
+    * Get the object that has a URI fragment, as {@link Resource#getEObject(String)}.
+    *
+    * @param fragment a URI fragment
+    * @return the object, or {@code null} if none
+    */
+   public synchronized EObject getEObject(final String fragment) {
+      if (resource == null) {
+         return null;
+      }
+      EObject result = objects.get(fragment);
+      if (result != null && fragment.equals(getURIFragment(result))) {
+         return result;
+      }
+      result = resource.getEObject(fragment);
+      if (result != null && result.eResource() == resource) {
+         // Only cache the canonical fragment of the object
+         getURIFragment(result);
+      }
+      return result;
+   }
+
+   /**
+    * Invalidate the cached URI fragment of an object, so that it is computed again.
+    *
+    * @param eObject an object
+    */
+   public synchronized void invalidate(final EObject eObject) {
+      Entry entry = fragments.remove(eObject);
+      if (entry != null) {
+         objects.remove(entry.fragment, eObject);
+      }
+   }
+
+   @Override
+   protected synchronized void setTarget(final Resource target) {
+      resource = target;
+      super.setTarget(target);
+   }
+
+   @Override
+   protected synchronized void unsetTarget(final Resource target) {
+      super.unsetTarget(target);
+      resource = null;
+      fragments.clear();
+      objects.clear();
+      changes.clear();
+   }
+
+   @Override
+   protected synchronized void unsetTarget(final EObject target) {
+      super.unsetTarget(target);
+      invalidate(target);
+      changes.remove(target);
+   }
+
+   @Override
+   public void notifyChanged(final Notification notification) {
+      super.notifyChanged(notification);
+      if (notification.isTouch()) {
+         return;
+      }
+
+      Notifier notifier = (Notifier) notification.getNotifier();
+      synchronized (this) {
+         if (notifier instanceof Resource) {
+            if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+               changed(notifier);
+            }
+         } else if (notification.getFeature() instanceof EReference
+            && ((EReference) notification.getFeature()).isContainment()) {
+            changed(notifier);
+         } else if (notifier instanceof EObject) {
+            EObject eObject = (EObject) notifier;
+            Entry entry = fragments.get(eObject);
+            if (entry == null || !isValid(eObject, entry)
+               || !entry.fragment.equals(resource.getURIFragment(eObject))) {
+               changed(eObject.eContainer() != null ? eObject.eContainer() : resource);
+            }
+         }
+      }
+   }
+
+   private void changed(final Notifier notifier) {
+      changes.put(notifier, ++generation);
+   }
+
+   private boolean isValid(final EObject eObject, final Entry entry) {
+      for (EObject container = eObject.eContainer(); container != null; container = container.eContainer()) {
+         if (changes.getOrDefault(container, 0L) > entry.generation) {
+            return false;
+         }
+      }
+      return changes.getOrDefault(resource, 0L) <= entry.generation;
+   }
+
+   private String put(final EObject eObject, final String fragment) {
+      Entry previous = fragments.put(eObject, new Entry(fragment, generation));
+      if (previous != null) {
+         objects.remove(previous.fragment, eObject);
+      }
+      objects.put(fragment, eObject);
+      return fragment;
+   }
+
+   private static final class Entry {
+      final String fragment;
+      final long generation;
+
+      Entry(final String fragment, final long generation) {
+         this.fragment = fragment;
+         this.generation = generation;
+      }
+   }
+
+}
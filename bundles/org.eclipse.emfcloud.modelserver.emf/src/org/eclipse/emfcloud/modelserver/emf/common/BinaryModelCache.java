@@ -0,0 +1,206 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A persistent cache of the models in the EMF binary serialization, which loads much faster than XMI or JSON.
+ * The cache is kept in the {@linkplain ServerConfiguration#getBinaryCacheFolderURI() configured folder}, with one
+ * file per model that records the time stamp and size of the model file that it was created from. A cached model is
+ * only used while the model file still has this time stamp and size.
+ */
+@Singleton
+public class BinaryModelCache {
+
+   protected static final Logger LOG = LogManager.getLogger(BinaryModelCache.class);
+
+   /** Version of the format of the cache files, to ignore those of an earlier format. */
+   private static final int FORMAT_VERSION = 1;
+
+   private static final String CACHE_FILE_EXTENSION = ".bin";
+
+   protected final ServerConfiguration serverConfiguration;
+
+   @Inject
+   public BinaryModelCache(final ServerConfiguration serverConfiguration) {
+      this.serverConfiguration = serverConfiguration;
+   }
+
+   /**
+    * Query whether models are cached.
+    *
+    * @return whether the cache is configured
+    */
+   public boolean isEnabled() { return getCacheFolder().isPresent(); }
+
+   /**
+    * Load a model from the cache, if it is cached for the current state of its file.
+    *
+    * @param resource an empty resource
+    * @return whether the resource was loaded from the cache
+    */
+   public boolean load(final Resource resource) {
+      Optional<File> source = getSourceFile(resource);
+      Optional<Path> cacheFile = source.flatMap(this::getCacheFile);
+      if (cacheFile.isEmpty()) {
+         return false;
+      }
+
+      try (DataInputStream input = new DataInputStream(
+         new BufferedInputStream(Files.newInputStream(cacheFile.get())))) {
+         if (!isFresh(input, source.get())) {
+            return false;
+         }
+         new BinaryResourceImpl.EObjectInputStream(input, Collections.emptyMap()).loadResource(resource);
+      } catch (NoSuchFileException e) {
+         return false;
+      } catch (IOException e) {
+         LOG.debug("Could not load cached model: " + resource.getURI(), e);
+         resource.getContents().clear();
+         return false;
+      }
+
+      if (!resource.isLoaded()) {
+         // Empty model, let it be loaded from its file
+         return false;
+      }
+      resource.setTimeStamp(source.get().lastModified());
+      resource.setModified(false);
+      return true;
+   }
+
+   /**
+    * Store a model in the cache for the current state of its file, if it can be restored from the cache. The cache
+    * file is replaced atomically, so that concurrent loads read either the former or the new cache file.
+    *
+    * @param resource a model resource, loaded from or saved to its file
+    */
+   public void store(final Resource resource) {
+      Optional<File> source = getSourceFile(resource);
+      Optional<Path> cacheFile = source.flatMap(this::getCacheFile);
+      if (cacheFile.isEmpty() || !isCacheable(resource)) {
+         return;
+      }
+
+      Path tempFile = null;
+      try {
+         tempFile = Files.createTempFile(cacheFile.get().getParent(), "model", CACHE_FILE_EXTENSION);
+         try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+            DataOutputStream header = new DataOutputStream(output);
+            header.writeInt(FORMAT_VERSION);
+            header.writeLong(source.get().lastModified());
+            header.writeLong(source.get().length());
+            header.flush();
+
+            BinaryResourceImpl.EObjectOutputStream body = new BinaryResourceImpl.EObjectOutputStream(output,
+               Collections.emptyMap());
+            body.saveResource(resource);
+            body.flush();
+         }
+         Files.move(tempFile, cacheFile.get(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+         LOG.debug("Could not cache model: " + resource.getURI(), e);
+         if (tempFile != null) {
+            tempFile.toFile().delete();
+         }
+      }
+   }
+
+   /**
+    * Query whether a model can be restored from the cache. The binary serialization only records the contents
+    * of the model, so it cannot restore the identifiers that some resources assign to objects. Such models are not
+    * cached.
+    *
+    * @param resource a model resource
+    * @return whether the model can be restored from the cache
+    */
+   protected boolean isCacheable(final Resource resource) {
+      if (resource.getContents().isEmpty()) {
+         return false;
+      }
+      for (Iterator<EObject> iter = resource.getAllContents(); iter.hasNext();) {
+         // Fragments that are not paths are identifiers
+         if (!resource.getURIFragment(iter.next()).startsWith("/")) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   protected boolean isFresh(final DataInputStream input, final File source) throws IOException {
+      return input.readInt() == FORMAT_VERSION
+         && input.readLong() == source.lastModified()
+         && input.readLong() == source.length();
+   }
+
+   protected Optional<File> getSourceFile(final Resource resource) {
+      URI uri = resource.getURI();
+      if (!isEnabled() || uri == null || !uri.isFile()) {
+         return Optional.empty();
+      }
+      return Optional.ofNullable(uri.toFileString()).map(File::new).filter(File::isFile);
+   }
+
+   protected Optional<Path> getCacheFile(final File source) {
+      return getCacheFolder().map(folder -> folder.resolve(hash(source.getAbsolutePath()) + CACHE_FILE_EXTENSION));
+   }
+
+   protected Optional<Path> getCacheFolder() {
+      return Optional.ofNullable(serverConfiguration.getBinaryCacheFolderURI())
+         .map(URI::toFileString)
+         .map(Paths::get);
+   }
+
+   static String hash(final String path) {
+      try {
+         byte[] digest = MessageDigest.getInstance("SHA-1").digest(path.getBytes(StandardCharsets.UTF_8));
+         StringBuilder result = new StringBuilder(digest.length * 2);
+         for (byte next : digest) {
+            result.append(String.format("%02x", next));
+         }
+         return result.toString();
+      } catch (NoSuchAlgorithmException e) {
+         // Every Java platform supports SHA-1
+         throw new IllegalStateException(e);
+      }
+   }
+
+}
@@ -0,0 +1,102 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import java.util.function.Consumer;
+
+import io.javalin.websocket.WsContext;
+
+/**
+ * A service that sends messages to the websocket sessions subscribed to models. Implementations
+ * may queue messages for each session to send them asynchronously, so that the actions producing
+ * them, such as command execution, do not wait for the network.
+ * <p>
+ * Messages sent to any one session are always delivered in order.
+ * </p>
+ */
+public interface BroadcastDispatcher {
+
+   /**
+    * Policies for sessions that do not receive their messages as fast as they are sent.
+    */
+   enum OverflowPolicy {
+      /**
+       * Drop all messages queued for the session and bring it back in sync.
+       *
+       * @see BroadcastDispatcher#setResyncHandler(Consumer)
+       */
+      RESYNC,
+      /** Drop all messages queued for the session and disconnect it. */
+      DISCONNECT;
+   }
+
+   /**
+    * Send a message to a session.
+    *
+    * @param session the recipient session
+    * @param message the message to send, either a {@link String} or an object to serialize as JSON
+    */
+   void send(WsContext session, Object message);
+
+   /**
+    * Set the handler that is called to bring a session back in sync after its queued messages were dropped.
+    * Until the handler {@linkplain #resync(WsContext, Object...) provides} the messages that bring the
+    * session back in sync, all other messages for that session are dropped.
+    *
+    * @param resyncHandler the resync handler
+    */
+   void setResyncHandler(Consumer<WsContext> resyncHandler);
+
+   /**
+    * Send the messages that bring a session back in sync after its queued messages were dropped.
+    *
+    * @param session  the session to resync
+    * @param messages the messages to send
+    */
+   void resync(WsContext session, Object... messages);
+
+   /**
+    * Discard the messages pending for a session that is no longer subscribed.
+    *
+    * @param session the session to close
+    */
+   void close(WsContext session);
+
+   /**
+    * Get the number of messages pending for a session.
+    *
+    * @param session a session
+    * @return the number of messages not yet sent to it
+    */
+   int getQueueDepth(WsContext session);
+
+   /**
+    * Get the number of messages pending for all sessions.
+    *
+    * @return the number of messages not yet sent
+    */
+   int getQueueDepth();
+
+   /**
+    * Get the number of messages that were dropped because their sessions did not keep up.
+    *
+    * @return the number of dropped messages
+    */
+   long getDroppedMessages();
+
+   /**
+    * Get the number of sessions that were disconnected because they did not keep up.
+    *
+    * @return the number of disconnected sessions
+    */
+   long getDisconnectedSessions();
+
+}
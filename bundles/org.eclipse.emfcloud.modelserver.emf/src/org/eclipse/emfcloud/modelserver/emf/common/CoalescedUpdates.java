@@ -0,0 +1,211 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.eclipse.emfcloud.modelserver.common.patch.PatchUtil.ADD;
+import static org.eclipse.emfcloud.modelserver.common.patch.PatchUtil.OP;
+import static org.eclipse.emfcloud.modelserver.common.patch.PatchUtil.PATH;
+import static org.eclipse.emfcloud.modelserver.common.patch.PatchUtil.REPLACE;
+import static org.eclipse.emfcloud.modelserver.common.patch.PatchUtil.VALUE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The updates pending for a subscriber that {@linkplain ModelServerPathParametersV2#COALESCE coalesces}
+ * its updates over a time window. Incremental updates are merged into one compacted patch, the dirty state
+ * is only reported when it changed since it was last reported, only the latest validation result is
+ * reported, and validation deltas are merged into one.
+ */
+public class CoalescedUpdates {
+
+   private ArrayNode patch = Json.array();
+   private Boolean dirtyState;
+   private Boolean reportedDirtyState;
+   private JsonNode validationResult;
+   private JsonNode validationDelta;
+   private boolean flushScheduled;
+
+   /**
+    * Initialize me with the dirty state last reported to the subscriber.
+    *
+    * @param reportedDirtyState the dirty state reported on subscription
+    */
+   public CoalescedUpdates(final boolean reportedDirtyState) {
+      this.reportedDirtyState = reportedDirtyState;
+   }
+
+   /**
+    * Add the operations of an incremental update.
+    *
+    * @param jsonPatch a JSON patch or a single patch operation
+    * @return whether a flush needs to be scheduled
+    */
+   public synchronized boolean addPatch(final JsonNode jsonPatch) {
+      for (JsonNode next : jsonPatch.isArray() ? jsonPatch : Collections.singleton(jsonPatch)) {
+         // Copy, as compaction modifies operations and the patch is shared with other subscribers
+         compact(patch, next.deepCopy());
+      }
+      return scheduleFlush();
+   }
+
+   /**
+    * Discard pending incremental updates that are superseded by a full update.
+    */
+   public synchronized void discardPatch() {
+      patch = Json.array();
+   }
+
+   /**
+    * Update the dirty state.
+    *
+    * @param dirty the current dirty state
+    * @return whether a flush needs to be scheduled
+    */
+   public synchronized boolean setDirtyState(final boolean dirty) {
+      this.dirtyState = dirty;
+      return scheduleFlush();
+   }
+
+   /**
+    * Update the validation result.
+    *
+    * @param validationResult the current validation result message
+    * @return whether a flush needs to be scheduled
+    */
+   public synchronized boolean setValidationResult(final JsonNode validationResult) {
+      this.validationResult = validationResult;
+      // Superseded by the full result
+      this.validationDelta = null;
+      return scheduleFlush();
+   }
+
+   /**
+    * Add a validation delta, merging it into the pending validation delta.
+    *
+    * @param validationDelta a validation delta message
+    * @return whether a flush needs to be scheduled
+    */
+   public synchronized boolean addValidationDelta(final JsonNode validationDelta) {
+      if (this.validationDelta == null) {
+         // Copy, as merging modifies the delta and the delta is shared with other subscribers
+         this.validationDelta = validationDelta.deepCopy();
+      } else {
+         mergeValidationDelta((ObjectNode) this.validationDelta.get(JsonResponseMember.DATA),
+            validationDelta.get(JsonResponseMember.DATA));
+      }
+      return scheduleFlush();
+   }
+
+   /**
+    * Take the messages to send to the subscriber for the updates that are pending.
+    *
+    * @return the messages to send, in order
+    */
+   public synchronized List<JsonNode> flush() {
+      List<JsonNode> result = new ArrayList<>(3);
+
+      if (patch.size() > 0) {
+         result.add(JsonResponse.incrementalUpdate(patch));
+         patch = Json.array();
+      }
+      if (dirtyState != null && !dirtyState.equals(reportedDirtyState)) {
+         result.add(JsonResponse.dirtyState(dirtyState));
+         reportedDirtyState = dirtyState;
+      }
+      dirtyState = null;
+      if (validationResult != null) {
+         result.add(validationResult);
+         validationResult = null;
+      }
+      if (validationDelta != null) {
+         result.add(validationDelta);
+         validationDelta = null;
+      }
+
+      flushScheduled = false;
+      return result;
+   }
+
+   private boolean scheduleFlush() {
+      boolean result = !flushScheduled;
+      flushScheduled = true;
+      return result;
+   }
+
+   /**
+    * Merge a validation delta into an earlier one, such that the result has the same effect as both in order.
+    *
+    * @param delta the earlier delta, which is updated
+    * @param next  the delta to merge into it
+    */
+   protected static void mergeValidationDelta(final ObjectNode delta, final JsonNode next) {
+      ObjectNode changed = (ObjectNode) delta.get(ValidationMapperModule.CHANGED);
+      Set<String> cleared = new LinkedHashSet<>();
+      delta.get(ValidationMapperModule.CLEARED).forEach(id -> cleared.add(id.asText()));
+
+      next.get(ValidationMapperModule.CHANGED).fields().forEachRemaining(entry -> {
+         changed.set(entry.getKey(), entry.getValue());
+         cleared.remove(entry.getKey());
+      });
+      next.get(ValidationMapperModule.CLEARED).forEach(id -> {
+         changed.remove(id.asText());
+         cleared.add(id.asText());
+      });
+
+      delta.set(ValidationMapperModule.SEVERITY, next.get(ValidationMapperModule.SEVERITY));
+      delta.set(ValidationMapperModule.CLEARED, Json.array(new ArrayList<>(cleared)));
+   }
+
+   /**
+    * Append an operation to a patch, merging a {@code replace} into an earlier {@code add} or {@code replace}
+    * of the same path if only {@code replace} operations of unrelated paths come between them.
+    *
+    * @param patch     the patch to which to append
+    * @param operation the operation to append
+    */
+   protected static void compact(final ArrayNode patch, final JsonNode operation) {
+      if (REPLACE.equals(operation.path(OP).asText()) && operation.has(PATH)) {
+         String path = operation.get(PATH).asText();
+
+         for (int i = patch.size() - 1; i >= 0; i--) {
+            JsonNode previous = patch.get(i);
+            String previousOp = previous.path(OP).asText();
+            String previousPath = previous.path(PATH).asText();
+
+            if (previousPath.equals(path)) {
+               if ((REPLACE.equals(previousOp) || ADD.equals(previousOp)) && previous.isObject()) {
+                  ((ObjectNode) previous).set(VALUE, operation.get(VALUE));
+                  return;
+               }
+               break;
+            }
+            if (!REPLACE.equals(previousOp) || previousPath.startsWith(path) || path.startsWith(previousPath)) {
+               // This operation may change what the path refers to
+               break;
+            }
+         }
+      }
+
+      patch.add(operation);
+   }
+
+}
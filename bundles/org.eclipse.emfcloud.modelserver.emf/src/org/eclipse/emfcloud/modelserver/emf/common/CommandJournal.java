@@ -0,0 +1,466 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.prop;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A write-ahead journal of the commands executed on the models since they were last saved, from which their unsaved
+ * changes are recovered when they are loaded again, for example after a crash. The journal of a model is a file in
+ * the {@linkplain ServerConfiguration#getCommandJournalFolderURI() configured folder} to which each command, JSON
+ * patch, undo, and redo is appended as a line of JSON, so that making an edit durable costs the size of the edit
+ * rather than a rewrite of the model. The journal is deleted when the model is saved or its changes are discarded,
+ * and is compacted when it grows much longer than the changes that it records.
+ * <p>
+ * The journal starts with the time stamp of the model file that it applies to, so that it is only replayed on the
+ * same state of the model. Changes that it cannot record, such as undoing a command that was saved, stop the
+ * journaling of the model until it is saved again.
+ * </p>
+ */
+@Singleton
+public class CommandJournal {
+
+   protected static final Logger LOG = LogManager.getLogger(CommandJournal.class);
+
+   public static final String TYPE = "type";
+   public static final String DATA = "data";
+
+   /** Type of the entry recording the time stamp of the model that the journal applies to. */
+   public static final String BASE = "base";
+   public static final String COMMAND = "command";
+   public static final String PATCH = "patch";
+   /** Type of the entry recording the commands executed in a compound command, such as a transaction. */
+   public static final String COMPOUND = "compound";
+   public static final String UNDO = "undo";
+   public static final String REDO = "redo";
+
+   private static final String JOURNAL_FILE_EXTENSION = ".journal";
+
+   /** Number of entries below which a journal is not worth compacting. */
+   private static final int COMPACTION_THRESHOLD = 64;
+
+   protected final ServerConfiguration serverConfiguration;
+
+   private final ObjectMapper mapper = new ObjectMapper();
+
+   private final Map<URI, ModelJournal> journals = new ConcurrentHashMap<>();
+
+   @Inject
+   public CommandJournal(final ServerConfiguration serverConfiguration) {
+      this.serverConfiguration = serverConfiguration;
+   }
+
+   /**
+    * Query whether commands are journaled.
+    *
+    * @return whether the journal is configured
+    */
+   public boolean isEnabled() { return getJournalFolder().isPresent(); }
+
+   public static JsonNode command(final JsonNode command) {
+      return Json.object(prop(TYPE, Json.text(COMMAND)), prop(DATA, command));
+   }
+
+   public static JsonNode patch(final JsonNode patch) {
+      return Json.object(prop(TYPE, Json.text(PATCH)), prop(DATA, patch));
+   }
+
+   private static JsonNode compound(final List<JsonNode> entries) {
+      return Json.object(prop(TYPE, Json.text(COMPOUND)), prop(DATA, Json.array(entries.toArray(JsonNode[]::new))));
+   }
+
+   private static JsonNode marker(final String type) {
+      return Json.object(prop(TYPE, Json.text(type)));
+   }
+
+   /**
+    * Journal the execution of a command or JSON patch.
+    *
+    * @param resource   the model resource
+    * @param entry      the {@linkplain #command(JsonNode) command} or {@linkplain #patch(JsonNode) patch} entry
+    * @param inCompound whether it was executed in an open compound command, which is journaled when it is closed
+    */
+   public void executed(final Resource resource, final JsonNode entry, final boolean inCompound) {
+      getJournal(resource).ifPresent(journal -> {
+         synchronized (journal) {
+            if (inCompound) {
+               if (journal.compound == null) {
+                  journal.compound = new ArrayList<>();
+               }
+               journal.compound.add(entry);
+            } else {
+               // A compound that failed to close
+               journal.compound = null;
+               push(resource, journal, entry);
+            }
+         }
+      });
+   }
+
+   /**
+    * Journal the commands executed in the compound command that was closed.
+    *
+    * @param resource the model resource
+    */
+   public void compoundClosed(final Resource resource) {
+      getJournal(resource).ifPresent(journal -> {
+         synchronized (journal) {
+            if (journal.compound != null && !journal.compound.isEmpty()) {
+               push(resource, journal, compound(journal.compound));
+            }
+            journal.compound = null;
+         }
+      });
+   }
+
+   /**
+    * Forget the commands executed in the compound command that was rolled back.
+    *
+    * @param resource the model resource
+    */
+   public void compoundRolledBack(final Resource resource) {
+      getJournal(resource).ifPresent(journal -> {
+         synchronized (journal) {
+            journal.compound = null;
+         }
+      });
+   }
+
+   /**
+    * Journal the undo of the last command.
+    *
+    * @param resource the model resource
+    */
+   public void undone(final Resource resource) {
+      getJournal(resource).ifPresent(journal -> {
+         synchronized (journal) {
+            if (journal.position == 0) {
+               // Undoing a command that was saved
+               invalidate(resource, journal);
+            } else if (journal.valid) {
+               journal.position--;
+               append(resource, journal, marker(UNDO));
+            }
+         }
+      });
+   }
+
+   /**
+    * Journal the redo of the last undone command.
+    *
+    * @param resource the model resource
+    */
+   public void redone(final Resource resource) {
+      getJournal(resource).ifPresent(journal -> {
+         synchronized (journal) {
+            if (journal.position == journal.entries.size()) {
+               // Redoing a command that was undone before the model was saved
+               invalidate(resource, journal);
+            } else if (journal.valid) {
+               journal.position++;
+               append(resource, journal, marker(REDO));
+            }
+         }
+      });
+   }
+
+   /**
+    * Stop journaling the changes of a model until it is saved, as they cannot be journaled.
+    *
+    * @param resource the model resource
+    */
+   public void invalidate(final Resource resource) {
+      getJournal(resource).ifPresent(journal -> {
+         synchronized (journal) {
+            invalidate(resource, journal);
+         }
+      });
+   }
+
+   /**
+    * Delete the journal of a model, when it is saved or its changes are discarded.
+    *
+    * @param resource the model resource
+    */
+   public void clear(final Resource resource) {
+      if (isEnabled() && resource.getURI() != null) {
+         journals.remove(resource.getURI());
+         getJournalFile(resource.getURI()).ifPresent(this::delete);
+      }
+   }
+
+   /**
+    * Replay the journal of a model that was just loaded. The entries are replayed until one fails to apply, after
+    * which the journal is rewritten with the replayed entries only.
+    *
+    * @param resource the model resource, in the state of its file
+    * @param applier  applies an entry to the model, executing, undoing, or redoing commands in the usual way, and
+    *                    answers whether it was applied
+    * @return the number of entries that were replayed
+    */
+   public int replay(final Resource resource, final Predicate<JsonNode> applier) {
+      if (!isEnabled() || resource.getURI() == null) {
+         return 0;
+      }
+      // Forget the journal of the model as it was before being unloaded, if any
+      ModelJournal journal = new ModelJournal();
+      journals.put(resource.getURI(), journal);
+
+      List<JsonNode> entries = read(resource.getURI());
+      if (entries.isEmpty()) {
+         return 0;
+      }
+      if (!isBase(entries.get(0), resource)) {
+         LOG.warn("Discarding the command journal of " + resource.getURI() + ", recorded on another version");
+         clear(resource);
+         return 0;
+      }
+
+      int result = 0;
+      synchronized (journal) {
+         journal.replaying = true;
+         try {
+            for (JsonNode entry : entries.subList(1, entries.size())) {
+               if (!applier.test(entry)) {
+                  LOG.warn("Could not replay the journaled " + entry.path(TYPE).asText() + " on "
+                     + resource.getURI());
+                  break;
+               }
+               result++;
+            }
+         } finally {
+            journal.replaying = false;
+         }
+         if (journal.valid) {
+            // Drop what was not replayed and compact
+            rewrite(resource, journal);
+         }
+      }
+      LOG.info("Recovered " + result + " journaled changes of " + resource.getURI());
+      return result;
+   }
+
+   protected Optional<ModelJournal> getJournal(final Resource resource) {
+      if (!isEnabled() || resource.getURI() == null) {
+         return Optional.empty();
+      }
+      return Optional.of(journals.computeIfAbsent(resource.getURI(), uri -> new ModelJournal()));
+   }
+
+   private void push(final Resource resource, final ModelJournal journal, final JsonNode entry) {
+      if (!journal.valid) {
+         return;
+      }
+      // Executing a command discards those that were undone
+      journal.entries.subList(journal.position, journal.entries.size()).clear();
+      journal.entries.add(entry);
+      journal.position++;
+      append(resource, journal, entry);
+   }
+
+   private void append(final Resource resource, final ModelJournal journal, final JsonNode entry) {
+      if (journal.replaying) {
+         return;
+      }
+      Optional<Path> file = getJournalFile(resource.getURI());
+      if (file.isEmpty() || resource.getTimeStamp() <= 0L) {
+         // The journal could not be checked against the file when replaying it
+         invalidate(resource, journal);
+         return;
+      }
+
+      try {
+         if (journal.written == 0) {
+            // Start the journal of the current version of the model
+            rewrite(resource, journal);
+            return;
+         }
+         try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(toLine(entry).getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+         }
+         journal.written++;
+
+         int live = 2 * journal.entries.size() - journal.position;
+         if (journal.written > COMPACTION_THRESHOLD && journal.written > 2 * live) {
+            rewrite(resource, journal);
+         }
+      } catch (IOException e) {
+         LOG.warn("Could not journal the changes of " + resource.getURI(), e);
+         invalidate(resource, journal);
+      }
+   }
+
+   /**
+    * Rewrite the journal of a model with the entries that it records: the commands executed, followed by the
+    * undo of those that are undone.
+    *
+    * @param resource the model resource
+    * @param journal  the journal of the model
+    */
+   private void rewrite(final Resource resource, final ModelJournal journal) {
+      Optional<Path> file = getJournalFile(resource.getURI());
+      if (file.isEmpty()) {
+         return;
+      }
+      if (journal.entries.isEmpty()) {
+         delete(file.get());
+         journal.written = 0;
+         return;
+      }
+
+      Path tempFile = null;
+      try {
+         tempFile = Files.createTempFile(file.get().getParent(), "model", JOURNAL_FILE_EXTENSION);
+         try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            writer.write(toLine(Json.object(prop(TYPE, Json.text(BASE)),
+               prop(DATA, LongNode.valueOf(resource.getTimeStamp())))));
+            for (JsonNode entry : journal.entries) {
+               writer.write(toLine(entry));
+            }
+            for (int i = journal.position; i < journal.entries.size(); i++) {
+               writer.write(toLine(marker(UNDO)));
+            }
+            writer.flush();
+            channel.force(false);
+         }
+         Files.move(tempFile, file.get(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         journal.written = 2 * journal.entries.size() - journal.position;
+      } catch (IOException e) {
+         LOG.warn("Could not journal the changes of " + resource.getURI(), e);
+         if (tempFile != null) {
+            tempFile.toFile().delete();
+         }
+         invalidate(resource, journal);
+      }
+   }
+
+   private void invalidate(final Resource resource, final ModelJournal journal) {
+      if (journal.valid) {
+         LOG.debug("Cannot journal the changes of " + resource.getURI() + " until it is saved");
+         journal.valid = false;
+         journal.entries.clear();
+         journal.position = 0;
+         journal.compound = null;
+         getJournalFile(resource.getURI()).ifPresent(this::delete);
+      }
+   }
+
+   protected boolean isBase(final JsonNode entry, final Resource resource) {
+      return BASE.equals(entry.path(TYPE).asText())
+         && entry.path(DATA).asLong() == resource.getTimeStamp()
+         && resource.getTimeStamp() > 0L;
+   }
+
+   /**
+    * Read the entries of a journal, up to the first that is incomplete because writing it was interrupted.
+    *
+    * @param modelURI the URI of the model
+    * @return the entries of the journal
+    */
+   protected List<JsonNode> read(final URI modelURI) {
+      List<JsonNode> result = new ArrayList<>();
+      Optional<Path> file = getJournalFile(modelURI);
+      if (file.isEmpty()) {
+         return result;
+      }
+
+      try (BufferedReader reader = Files.newBufferedReader(file.get(), StandardCharsets.UTF_8)) {
+         for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            result.add(mapper.readTree(line));
+         }
+      } catch (JsonProcessingException e) {
+         LOG.warn("Ignoring the incomplete end of the command journal of " + modelURI);
+      } catch (NoSuchFileException e) {
+         // Nothing journaled
+      } catch (IOException e) {
+         LOG.warn("Could not read the command journal of " + modelURI, e);
+      }
+      return result;
+   }
+
+   private String toLine(final JsonNode entry) throws JsonProcessingException {
+      return mapper.writeValueAsString(entry) + "\n";
+   }
+
+   private void delete(final Path file) {
+      try {
+         Files.deleteIfExists(file);
+      } catch (IOException e) {
+         LOG.warn("Could not delete the command journal " + file, e);
+      }
+   }
+
+   protected Optional<Path> getJournalFile(final URI modelURI) {
+      return getJournalFolder()
+         .map(folder -> folder.resolve(BinaryModelCache.hash(modelURI.toString()) + JOURNAL_FILE_EXTENSION));
+   }
+
+   protected Optional<Path> getJournalFolder() {
+      return Optional.ofNullable(serverConfiguration.getCommandJournalFolderURI())
+         .map(URI::toFileString)
+         .map(Paths::get);
+   }
+
+   /**
+    * The journal of a model: the stack of entries that it records, like the command stack of the model.
+    */
+   protected static final class ModelJournal {
+      /** The entries of the executed commands, up to the last that was not discarded. */
+      private final List<JsonNode> entries = new ArrayList<>();
+      /** The number of entries that are not undone. */
+      private int position;
+      /** The entries of the commands executed in the open compound command, if any. */
+      private List<JsonNode> compound;
+      /** The number of entries in the journal file, not counting the base. */
+      private int written;
+      /** Whether the changes of the model can be journaled. */
+      private boolean valid = true;
+      private boolean replaying;
+   }
+
+}
@@ -0,0 +1,296 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+
+import com.google.inject.Inject;
+
+import io.javalin.websocket.WsContext;
+
+/**
+ * Default implementation of the {@link BroadcastDispatcher} that queues the messages for each session
+ * in a bounded queue and sends them on a shared thread pool of a
+ * {@linkplain ServerConfiguration#getBroadcastThreads() configured size}. A session whose queue is full is handled
+ * according to the configured {@linkplain ServerConfiguration#getBroadcastOverflowPolicy() overflow policy}.
+ * If the {@linkplain ServerConfiguration#getBroadcastQueueCapacity() queue capacity} is zero, messages are
+ * sent synchronously on the calling thread. A session is resynchronized on the thread pool, not on the thread
+ * that overflowed its queue, and it is disconnected if it overflows its queue again before the messages of its
+ * resync are sent.
+ */
+public class DefaultBroadcastDispatcher implements BroadcastDispatcher {
+
+   /** Websocket close code for sessions that are disconnected because they cannot keep up. */
+   protected static final int POLICY_VIOLATION = 1008;
+
+   private static final Logger LOG = LogManager.getLogger(DefaultBroadcastDispatcher.class);
+
+   private static final AtomicInteger COUNTER = new AtomicInteger();
+
+   protected final ServerConfiguration serverConfiguration;
+
+   private final Map<WsContext, Outbox> outboxes = new ConcurrentHashMap<>();
+
+   /** Time in seconds after which idle threads of the pool terminate. */
+   private static final long KEEP_ALIVE_TIME = 60L;
+
+   private final ExecutorService executor;
+
+   private final AtomicLong droppedMessages = new AtomicLong();
+   private final AtomicLong disconnectedSessions = new AtomicLong();
+
+   private Consumer<WsContext> resyncHandler;
+
+   @Inject
+   public DefaultBroadcastDispatcher(final ServerConfiguration serverConfiguration) {
+      this.serverConfiguration = serverConfiguration;
+
+      int threads = serverConfiguration.getBroadcastThreads();
+      if (threads <= 0) {
+         // At least two, so that a session blocked in sending does not hold up the resync of another
+         threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+      }
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+         new LinkedBlockingQueue<>(), runnable -> {
+            Thread result = new Thread(runnable,
+               DefaultBroadcastDispatcher.class.getSimpleName() + "-" + COUNTER.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+         });
+      pool.allowCoreThreadTimeOut(true);
+      this.executor = pool;
+   }
+
+   /**
+    * Shut down the thread pool. Not exposed to clients but used in tests to avoid piling up threads.
+    */
+   public void dispose() {
+      executor.shutdown();
+   }
+
+   @Override
+   public void setResyncHandler(final Consumer<WsContext> resyncHandler) { this.resyncHandler = resyncHandler; }
+
+   @Override
+   public void send(final WsContext session, final Object message) {
+      int capacity = serverConfiguration.getBroadcastQueueCapacity();
+      if (capacity <= 0 && !outboxes.containsKey(session)) {
+         sendNow(session, message);
+      } else {
+         outboxes.computeIfAbsent(session, Outbox::new).offer(message, capacity);
+      }
+   }
+
+   @Override
+   public void resync(final WsContext session, final Object... messages) {
+      Outbox outbox = outboxes.get(session);
+      if (outbox != null) {
+         outbox.resync(messages);
+      }
+   }
+
+   @Override
+   public void close(final WsContext session) {
+      Outbox outbox = outboxes.remove(session);
+      if (outbox != null) {
+         outbox.close();
+      }
+   }
+
+   @Override
+   public int getQueueDepth(final WsContext session) {
+      Outbox outbox = outboxes.get(session);
+      return outbox == null ? 0 : outbox.size();
+   }
+
+   @Override
+   public int getQueueDepth() { return outboxes.values().stream().mapToInt(Outbox::size).sum(); }
+
+   @Override
+   public long getDroppedMessages() { return droppedMessages.get(); }
+
+   @Override
+   public long getDisconnectedSessions() { return disconnectedSessions.get(); }
+
+   protected OverflowPolicy getOverflowPolicy() {
+      OverflowPolicy result = serverConfiguration.getBroadcastOverflowPolicy();
+      if (result == null) {
+         result = OverflowPolicy.RESYNC;
+      }
+      if (result == OverflowPolicy.RESYNC && resyncHandler == null) {
+         // Nobody can resync the session, so it would never receive messages again
+         result = OverflowPolicy.DISCONNECT;
+      }
+      return result;
+   }
+
+   @SuppressWarnings("checkstyle:IllegalCatch")
+   protected void sendNow(final WsContext session, final Object message) {
+      try {
+         if (message instanceof String) {
+            session.send((String) message);
+         } else {
+            session.send(message);
+         }
+      } catch (RuntimeException e) {
+         LOG.error("Failed to send message to session " + session.getSessionId(), e);
+      }
+   }
+
+   protected void overflow(final WsContext session, final OverflowPolicy policy, final int dropped) {
+      droppedMessages.addAndGet(dropped);
+
+      if (policy == OverflowPolicy.DISCONNECT) {
+         disconnect(session, String.format("Disconnecting session %s that does not keep up with updates"
+            + " (%d messages dropped).", session.getSessionId(), dropped));
+      } else {
+         LOG.warn(String.format("Resynchronizing session %s that does not keep up with updates"
+            + " (%d messages dropped).", session.getSessionId(), dropped));
+         // Not on the offering thread, which is typically broadcasting a command, as the resync encodes the model
+         executor.execute(() -> resyncNow(session));
+      }
+   }
+
+   @SuppressWarnings("checkstyle:IllegalCatch")
+   protected void resyncNow(final WsContext session) {
+      try {
+         resyncHandler.accept(session);
+      } catch (RuntimeException e) {
+         // Otherwise the session would never receive messages again
+         LOG.error("Failed to resync session " + session.getSessionId(), e);
+         disconnect(session, "Disconnecting session " + session.getSessionId() + " that could not be resynced.");
+      }
+   }
+
+   protected void disconnect(final WsContext session, final String reason) {
+      disconnectedSessions.incrementAndGet();
+      LOG.warn(reason);
+      close(session);
+      session.closeSession(POLICY_VIOLATION, "Too slow to receive updates");
+   }
+
+   /**
+    * The queue of messages pending for a session. At most one task at a time drains it,
+    * which sends the messages in order.
+    */
+   private final class Outbox implements Runnable {
+      private final WsContext session;
+      private final Deque<Object> queue = new ArrayDeque<>();
+      private boolean draining;
+      /** Whether a resync is pending, which supersedes the messages offered meanwhile. */
+      private boolean outOfSync;
+      /** The number of messages of the last resync that are still to be sent. */
+      private int resyncing;
+      private boolean closed;
+
+      Outbox(final WsContext session) {
+         this.session = session;
+      }
+
+      void offer(final Object message, final int capacity) {
+         OverflowPolicy overflow = null;
+         int dropped = 0;
+
+         synchronized (this) {
+            if (closed) {
+               return;
+            }
+            if (outOfSync) {
+               // Superseded by the resync
+               droppedMessages.incrementAndGet();
+               return;
+            }
+
+            if (capacity > 0 && queue.size() >= capacity) {
+               // A session that cannot even keep up with its resync would only be resynced over and over
+               overflow = resyncing > 0 ? OverflowPolicy.DISCONNECT : getOverflowPolicy();
+               dropped = queue.size() + 1;
+               queue.clear();
+               resyncing = 0;
+               outOfSync = overflow == OverflowPolicy.RESYNC;
+            } else {
+               queue.add(message);
+               schedule();
+            }
+         }
+
+         if (overflow != null) {
+            // Not while synchronized, as the resync handler may call back
+            overflow(session, overflow, dropped);
+         }
+      }
+
+      synchronized void resync(final Object... messages) {
+         if (closed) {
+            return;
+         }
+         outOfSync = false;
+         // The messages offered while out of sync were dropped, so the resync is at the head of the queue
+         resyncing = messages.length;
+         for (Object next : messages) {
+            queue.add(next);
+         }
+         schedule();
+      }
+
+      synchronized void close() {
+         closed = true;
+         queue.clear();
+      }
+
+      synchronized int size() {
+         return queue.size();
+      }
+
+      private void schedule() {
+         if (!draining && !queue.isEmpty()) {
+            draining = true;
+            executor.execute(this);
+         }
+      }
+
+      @Override
+      public void run() {
+         for (Object next = poll(); next != null; next = poll()) {
+            if (!session.session.isOpen()) {
+               DefaultBroadcastDispatcher.this.close(session);
+               return;
+            }
+            sendNow(session, next);
+         }
+      }
+
+      private synchronized Object poll() {
+         Object result = queue.poll();
+         if (result == null) {
+            draining = false;
+         } else if (resyncing > 0) {
+            resyncing--;
+         }
+         return result;
+      }
+   }
+
+}
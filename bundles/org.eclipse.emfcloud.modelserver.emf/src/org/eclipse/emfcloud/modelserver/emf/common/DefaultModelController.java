@@ -21,8 +21,11 @@ import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.n
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.response;
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.success;
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.successPatch;
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.prop;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,7 +37,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.modelserver.command.CCommand;
 import org.eclipse.emfcloud.modelserver.command.CCommandExecutionResult;
 import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2;
@@ -49,13 +54,14 @@ import org.eclipse.emfcloud.modelserver.emf.common.codecs.JsonCodec;
 import org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest;
 import org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse;
 import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+import org.eclipse.emfcloud.modelserver.emf.di.ProviderDefaults;
 import org.eclipse.emfcloud.modelserver.emf.patch.PatchCommandHandler;
 import org.eclipse.emfcloud.modelserver.emf.util.JsonPatchHelper;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+import org.eclipse.emfcloud.modelserver.jsonschema.JsonConstants;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.Maps;
@@ -66,6 +72,9 @@ import io.javalin.http.Context;
 public class DefaultModelController implements ModelController {
    protected static final Logger LOG = LogManager.getLogger(DefaultModelController.class);
 
+   /** The property of a usage of a model element that names the referencing feature. */
+   protected static final String USAGE_FEATURE = "feature";
+
    protected final ModelRepository modelRepository;
    protected final SessionController sessionController;
    protected final ServerConfiguration serverConfiguration;
@@ -144,12 +153,14 @@ public class DefaultModelController implements ModelController {
    public void getAll(final Context ctx) {
       try {
          final Map<URI, EObject> allModels = this.modelRepository.getAllModels();
-         Map<URI, JsonNode> encodedEntries = Maps.newLinkedHashMap();
-         for (Map.Entry<URI, EObject> entry : allModels.entrySet()) {
-            final JsonNode encoded = codecs.encode(entry.getKey().toString(), ctx, entry.getValue());
-            encodedEntries.put(uriConverter.deresolveModelURI(ctx, entry.getKey()), encoded);
-         }
-         success(ctx, JsonCodec.encode(encodedEntries));
+         success(ctx, generator -> {
+            generator.writeStartObject();
+            for (Map.Entry<URI, EObject> entry : allModels.entrySet()) {
+               generator.writeFieldName(uriConverter.deresolveModelURI(ctx, entry.getKey()).toString());
+               codecs.encode(entry.getKey().toString(), ctx, entry.getValue(), generator);
+            }
+            generator.writeEndObject();
+         });
       } catch (EncodingException exception) {
          encodingError(ctx, exception);
       } catch (IOException exception) {
@@ -165,7 +176,7 @@ public class DefaultModelController implements ModelController {
          return;
       }
       try {
-         success(ctx, JsonCodec.encode(codecs.encode(modeluri, ctx, root.get())));
+         success(ctx, generator -> codecs.encode(modeluri, ctx, root.get(), generator));
       } catch (EncodingException exception) {
          encodingError(ctx, exception);
       }
@@ -186,6 +197,24 @@ public class DefaultModelController implements ModelController {
       }
    }
 
+   @Override
+   public void getModelElementsById(final Context ctx, final String modeluri, final List<String> elementids) {
+      if (!this.modelRepository.hasModel(modeluri)) {
+         modelNotFound(ctx, modeluri);
+         return;
+      }
+      Map<String, EObject> elements = this.modelRepository.getModelElementsById(modeluri, elementids);
+      try {
+         Map<String, JsonNode> encodedElements = Maps.newLinkedHashMap();
+         for (Map.Entry<String, EObject> entry : elements.entrySet()) {
+            encodedElements.put(entry.getKey(), codecs.encode(modeluri, ctx, entry.getValue()));
+         }
+         success(ctx, JsonCodec.encode(encodedElements));
+      } catch (EncodingException exception) {
+         encodingError(ctx, exception);
+      }
+   }
+
    @Override
    public void getModelElementByName(final Context ctx, final String modeluri, final String elementname) {
       Optional<EObject> element = this.modelRepository.getModelElementByName(modeluri, elementname);
@@ -201,6 +230,47 @@ public class DefaultModelController implements ModelController {
       }
    }
 
+   @Override
+   public void getModelElementsByType(final Context ctx, final String modeluri, final String elementtype) {
+      if (!this.modelRepository.hasModel(modeluri)) {
+         modelNotFound(ctx, modeluri);
+         return;
+      }
+      List<EObject> elements = this.modelRepository.getModelElementsByType(modeluri, elementtype);
+      try {
+         List<JsonNode> encodedElements = new ArrayList<>(elements.size());
+         for (EObject element : elements) {
+            encodedElements.add(codecs.encode(modeluri, ctx, element));
+         }
+         success(ctx, JsonCodec.encode(encodedElements));
+      } catch (EncodingException exception) {
+         encodingError(ctx, exception);
+      }
+   }
+
+   @Override
+   public void getModelElementUsages(final Context ctx, final String modeluri, final String elementid) {
+      Optional<Collection<EStructuralFeature.Setting>> usages = this.modelRepository
+         .getModelElementUsages(modeluri, elementid);
+      if (usages.isEmpty()) {
+         notFound(ctx, "Element with id '" + elementid + "' of model '" + uriConverter.deresolveModelURI(ctx, modeluri)
+            + "' not found!");
+         return;
+      }
+      List<JsonNode> result = new ArrayList<>(usages.get().size());
+      for (EStructuralFeature.Setting usage : usages.get()) {
+         EObject owner = usage.getEObject();
+         URI ownerURI = EcoreUtil.getURI(owner);
+         String ref = uriConverter.deresolveModelURI(ctx, ownerURI.trimFragment()).appendFragment(ownerURI.fragment())
+            .toString();
+         result.add(Json.object(
+            prop(JsonConstants.TYPE_ATTR, Json.text(EcoreUtil.getURI(owner.eClass()).toString())),
+            prop(JsonConstants.REF_ATTR, Json.text(ref)),
+            prop(USAGE_FEATURE, Json.text(usage.getEStructuralFeature().getName()))));
+      }
+      success(ctx, JsonCodec.encode(result));
+   }
+
    @Override
    public void update(final Context ctx, final String modeluri) {
       Optional<EObject> newRoot = readPayload(ctx);
@@ -237,12 +307,25 @@ public class DefaultModelController implements ModelController {
 
    @Override
    public void saveAll(final Context ctx) {
-      if (this.modelRepository.saveAllModels()) {
-         success(ctx, "All models successfully saved");
+      Map<URI, Boolean> results = this.modelRepository.saveDirtyModels();
+      Map<String, JsonNode> savedModels = Maps.newLinkedHashMap();
+      results.forEach((uri, saved) -> savedModels.put(uriConverter.deresolveModelURI(ctx, uri.toString()),
+         Json.bool(saved)));
+      if (!results.containsValue(Boolean.FALSE)) {
+         success(ctx, Json.object(savedModels));
          sessionController.allModelsSaved();
-      } else {
-         internalError(ctx, "Saving all models failed!");
+         return;
       }
+      results.forEach((uri, saved) -> {
+         if (saved) {
+            sessionController.modelSaved(uri.toString());
+         }
+      });
+      String failed = savedModels.entrySet().stream()
+         .filter(entry -> !entry.getValue().booleanValue())
+         .map(Map.Entry::getKey)
+         .collect(Collectors.joining("', '"));
+      internalError(ctx, Json.object(savedModels), "Saving models '%s' failed!", failed);
    }
 
    @Override
@@ -323,7 +406,7 @@ public class DefaultModelController implements ModelController {
    private List<String> getModelURIsV1() { return List.copyOf(this.modelRepository.getRelativeModelUris()); }
 
    protected Optional<EObject> readPayload(final Context ctx) {
-      Optional<String> data = ContextRequest.readData(ctx);
+      Optional<JsonNode> data = ContextRequest.readDataNode(ctx);
       if (data.isEmpty()) {
          return Optional.empty();
       }
@@ -450,22 +533,23 @@ public class DefaultModelController implements ModelController {
    }
 
    private Optional<PatchCommand<?>> readPatchCommand(final Context ctx) {
-      Optional<String> data = ContextRequest.readData(ctx);
+      Optional<JsonNode> data = ContextRequest.readDataNode(ctx);
       if (data.isEmpty()) {
          return Optional.empty();
       }
 
       // In V1, Data is always encoded as Json (Although the actual Command might be encoded as XMI)
-      ObjectMapper mapper = new ObjectMapper();
-      try {
-         JsonNode patch = mapper.readTree(data.get());
-         return commandHandlerRegistry.getPatchCommand(ctx, patch);
-      } catch (JsonMappingException ex) {
-         LOG.error(ex.getMessage(), ex);
-      } catch (JsonProcessingException ex) {
-         LOG.error(ex.getMessage(), ex);
+      JsonNode patch = data.get();
+      if (patch.isTextual()) {
+         // Clients may embed the JSON in a string
+         try {
+            patch = ProviderDefaults.getSharedObjectMapper().readTree(patch.textValue());
+         } catch (JsonProcessingException ex) {
+            LOG.error(ex.getMessage(), ex);
+            return Optional.empty();
+         }
       }
-      return Optional.empty();
+      return commandHandlerRegistry.getPatchCommand(ctx, patch);
    }
 
 }
@@ -11,6 +11,7 @@
 package org.eclipse.emfcloud.modelserver.emf.common;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -20,11 +21,12 @@ import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.modelserver.command.CCommand;
 import org.eclipse.emfcloud.modelserver.command.CCommandExecutionResult;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
@@ -78,36 +80,55 @@ public class DefaultModelRepository implements ModelRepository {
    }
 
    @Override
-   @SuppressWarnings("checkstyle:IllegalCatch")
    public Optional<EObject> getModelElementById(final String modeluri, final String elementid) {
       return modelResourceManager.loadResource(modeluri)
-         .flatMap(res -> {
-            try {
-               EObject modelElement = res.getEObject(elementid);
-               return Optional.ofNullable(modelElement);
-            } catch (Exception e) {
-               LOG.error("Could not load element with URI fragment: " + elementid);
-               return Optional.empty();
-            }
-         });
+         .flatMap(res -> getModelElementById(res, elementid));
+   }
+
+   @Override
+   public Map<String, EObject> getModelElementsById(final String modeluri, final List<String> elementids) {
+      Map<String, EObject> result = new LinkedHashMap<>();
+      modelResourceManager.loadResource(modeluri).ifPresent(res -> elementids
+         .forEach(elementid -> getModelElementById(res, elementid).ifPresent(e -> result.put(elementid, e))));
+      return result;
+   }
+
+   @SuppressWarnings("checkstyle:IllegalCatch")
+   protected Optional<EObject> getModelElementById(final Resource res, final String elementid) {
+      try {
+         Optional<EObject> indexed = ModelElementIndex.getIndex(res).getById(elementid);
+         if (indexed.isPresent()) {
+            return indexed;
+         }
+         // Identifiers assigned by the resource and URI fragment paths
+         return Optional.ofNullable(res.getEObject(elementid));
+      } catch (Exception e) {
+         LOG.error("Could not load element with URI fragment: " + elementid);
+         return Optional.empty();
+      }
    }
 
    @Override
    public Optional<EObject> getModelElementByName(final String modeluri, final String elementname) {
       return modelResourceManager.loadResource(modeluri)
-         .flatMap(res -> {
-            TreeIterator<EObject> contentIterator = res.getAllContents();
-            while (contentIterator.hasNext()) {
-               EObject type = contentIterator.next();
-               EStructuralFeature name = type.eClass().getEStructuralFeature("name");
-               if (name != null) {
-                  if (type.eGet(name).equals(elementname)) {
-                     return Optional.of(type);
-                  }
-               }
-            }
-            return Optional.empty();
-         });
+         .flatMap(res -> ModelElementIndex.getIndex(res).getByName(elementname).stream().findFirst());
+   }
+
+   @Override
+   public List<EObject> getModelElementsByType(final String modeluri, final String elementtype) {
+      return modelResourceManager.loadResource(modeluri)
+         .map(res -> ModelElementIndex.getIndex(res).getByType(eClass -> elementtype.equals(eClass.getName())
+            || elementtype.equals(EcoreUtil.getURI(eClass).toString())))
+         .orElse(List.of());
+   }
+
+   @Override
+   public Optional<Collection<EStructuralFeature.Setting>> getModelElementUsages(final String modeluri,
+      final String elementid) {
+      return getModelElementById(modeluri, elementid).map(element -> modelResourceManager
+         .getEditingDomain(modelResourceManager.getResourceSet(modeluri))
+         .findUsages(List.of(element))
+         .getOrDefault(element, List.of()));
    }
 
    @Override
@@ -147,6 +168,11 @@ public class DefaultModelRepository implements ModelRepository {
       return modelResourceManager.execute(modeluri, jsonPatch);
    }
 
+   @Override
+   public CCommandExecutionResult reconcileModel(final String modeluri, final Command command) {
+      return modelResourceManager.reconcile(modeluri, command);
+   }
+
    @Override
    public void deleteModel(final String modeluri) throws IOException {
       modelResourceManager.deleteResource(modeluri);
@@ -167,6 +193,11 @@ public class DefaultModelRepository implements ModelRepository {
       return modelResourceManager.saveAll();
    }
 
+   @Override
+   public Map<URI, Boolean> saveDirtyModels() {
+      return modelResourceManager.saveDirtyModels();
+   }
+
    @Override
    public boolean getDirtyState(final String modeluri) {
       return modelResourceManager.getDirtyState(modeluri);
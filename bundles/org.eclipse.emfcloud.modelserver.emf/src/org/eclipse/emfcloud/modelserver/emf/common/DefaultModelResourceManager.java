@@ -10,16 +10,41 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -36,6 +61,8 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLResourceFactoryImpl;
 import org.eclipse.emf.transaction.RunnableWithResult;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
@@ -51,14 +78,20 @@ import org.eclipse.emfcloud.modelserver.edit.CommandCodec;
 import org.eclipse.emfcloud.modelserver.edit.CommandExecutionType;
 import org.eclipse.emfcloud.modelserver.edit.ModelServerCommand;
 import org.eclipse.emfcloud.modelserver.edit.command.UpdateModelCommandContribution;
+import org.eclipse.emfcloud.modelserver.emf.common.ModelServerEditingDomain.CompoundCommandListener;
+import org.eclipse.emfcloud.modelserver.emf.common.codecs.JsonCodec;
+import org.eclipse.emfcloud.modelserver.emf.common.watchers.FileContentDigest;
 import org.eclipse.emfcloud.modelserver.emf.common.watchers.ModelWatcher;
 import org.eclipse.emfcloud.modelserver.emf.common.watchers.ModelWatchersManager;
 import org.eclipse.emfcloud.modelserver.emf.configuration.EPackageConfiguration;
 import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
 import org.eclipse.emfcloud.modelserver.emf.util.JsonPatchHelper;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.google.common.base.Strings;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
@@ -70,6 +103,15 @@ public class DefaultModelResourceManager implements ModelResourceManager {
    // A scheme must comprise at least two characters, otherwise it's assumed to be a Windows drive letter
    protected static final Pattern SCHEME_PATTERN = Pattern.compile("^([a-zA-Z_0-9@-]{2,}):");
 
+   /** Number of bytes to read from a file to sniff whether it is XML. */
+   private static final int XML_SNIFF_LENGTH = 256;
+
+   /** Time in milliseconds since their last access after which models may be evicted. */
+   protected static final long DEFAULT_EVICTION_IDLE_TIME = 60_000L;
+
+   /** Minimal period in milliseconds of the periodic eviction of idle models. */
+   private static final long MIN_EVICTION_PERIOD = 1_000L;
+
    @Inject
    protected CommandCodec commandCodec;
 
@@ -79,13 +121,58 @@ public class DefaultModelResourceManager implements ModelResourceManager {
    @Inject
    protected ModelRepository modelRepository;
 
+   @Inject
+   protected BinaryModelCache binaryModelCache;
+
+   @Inject
+   protected CommandJournal commandJournal;
+
+   /** The synchronizer of the models, in whose lanes idle models are unloaded. */
+   @Inject(optional = true)
+   protected ModelSynchronizer synchronizer;
+
    protected final Set<EPackageConfiguration> configurations;
    protected final AdapterFactory adapterFactory;
    protected ModelWatchersManager watchersManager;
-   protected final Map<URI, ResourceSet> resourceSets = Maps.newLinkedHashMap();
-   protected final Map<ResourceSet, ModelServerEditingDomain> editingDomains = Maps.newLinkedHashMap();
-   /** Lock for synchronization of all access to the {@link #resourceSets} and {@link #editingDomains} maps. */
-   protected final Lock resourceSetsLock = new ReentrantLock();
+   protected final Map<URI, ResourceSet> resourceSets = new ConcurrentHashMap<>();
+   protected final Map<ResourceSet, ModelServerEditingDomain> editingDomains = new ConcurrentHashMap<>();
+   /**
+    * The models found in the workspace that are not loaded, yet, in
+    * {@linkplain ServerConfiguration#isLazyWorkspaceLoading() lazy loading} mode.
+    */
+   protected final Set<URI> indexedModelURIs = ConcurrentHashMap.newKeySet();
+   /**
+    * Lock for synchronization of all changes to the {@link #resourceSets}, {@link #editingDomains}, and
+    * {@link #indexedModelURIs} collections, and of their iteration. Look-ups do not need it.
+    */
+   protected final ReentrantLock resourceSetsLock = new ReentrantLock();
+   /** Locks to load each indexed model only once without holding the {@link #resourceSetsLock} meanwhile. */
+   private final Map<URI, Object> materializationLocks = new ConcurrentHashMap<>();
+   /** The {@linkplain System#nanoTime() times} at which the loaded models were last accessed. */
+   protected final Map<URI, Long> lastAccess = new ConcurrentHashMap<>();
+   private volatile ScheduledExecutorService evictionTimer;
+   /** Whether an eviction is scheduled on the {@link #evictionTimer} to run as soon as possible. */
+   private final AtomicBoolean evictionPending = new AtomicBoolean();
+   private final JsonCodec journalCodec = new JsonCodec();
+   private final CompoundCommandListener journalListener = new CompoundCommandListener() {
+      @Override
+      public void compoundCommandClosed(final ModelServerEditingDomain domain) {
+         getMainResource(domain).ifPresent(commandJournal::compoundClosed);
+      }
+
+      @Override
+      public void compoundCommandRolledBack(final ModelServerEditingDomain domain) {
+         getMainResource(domain).ifPresent(commandJournal::compoundRolledBack);
+      }
+   };
+   private final Supplier<ExecutorService> savingPool = Suppliers.memoize(() -> Executors.newFixedThreadPool(
+      Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+         Thread result = new Thread(runnable, DefaultModelResourceManager.class.getSimpleName() + "-saving");
+         result.setDaemon(true);
+         return result;
+      }));
+   // Inject a provider to break the dependency cycle (the session controller needs the model repository)
+   protected Provider<SessionController> sessionController;
    protected ResourceSetFactory resourceSetFactory;
 
    // Inject a provider to break the dependency cycle (the helper needs the resource manager)
@@ -122,9 +209,23 @@ public class DefaultModelResourceManager implements ModelResourceManager {
             resourceSets.values().forEach(this::safeUnload);
             resourceSets.clear();
             editingDomains.clear();
+            indexedModelURIs.clear();
+            materializationLocks.clear();
+            lastAccess.clear();
             loadSourceResources(workspacePath);
             removeErroneousResources();
             initializeEditingDomains();
+            resourceSets.forEach(this::replayJournal);
+         }
+         if (isEvictionEnabled() && evictionTimer == null) {
+            evictionTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+               Thread result = new Thread(runnable, DefaultModelResourceManager.class.getSimpleName() + "-eviction");
+               result.setDaemon(true);
+               return result;
+            });
+            // Also evict when no model is loaded, as models become idle and the heap grows with edits
+            long period = Math.max(MIN_EVICTION_PERIOD, getEvictionIdleTime());
+            evictionTimer.scheduleWithFixedDelay(this::evictIdleModels, period, period, TimeUnit.MILLISECONDS);
          }
       } finally {
          this.isInitializing = false;
@@ -132,6 +233,11 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       }
    }
 
+   @Inject(optional = true)
+   public void setSessionController(final Provider<SessionController> sessionController) {
+      this.sessionController = sessionController;
+   }
+
    /**
     * Safely unload a resource set to ensure that adapters, if any, are removed.
     * The unload is performed in a read-only transaction on the editing domain for exclusive access
@@ -231,34 +337,430 @@ public class DefaultModelResourceManager implements ModelResourceManager {
    @Override
    public ResourceSet getResourceSet(final String modeluri) {
       URI uri = createURI(modeluri);
+      // Touch before the look-up, so that the evictor either sees the access or we do not find the resource set
+      long accessTime = touch(uri);
+      ResourceSet result = resourceSets.get(uri);
+      if (result != null) {
+         return result;
+      }
+      lastAccess.remove(uri, accessTime);
+
+      return indexedModelURIs.contains(uri) ? materialize(uri) : null;
+   }
+
+   @Override
+   public Optional<ResourceSet> getMaterializedResourceSet(final String modeluri) {
+      URI uri = createURI(modeluri);
+      long accessTime = touch(uri);
+      ResourceSet result = resourceSets.get(uri);
+      if (result == null) {
+         lastAccess.remove(uri, accessTime);
+      }
+      return Optional.ofNullable(result);
+   }
+
+   @Override
+   public String getResourceSetURI(final String modeluri) {
+      URI uri = createURI(modeluri);
+      ResourceSet resourceSet = resourceSets.get(uri);
+      if (resourceSet != null && !resourceSet.getResources().isEmpty()) {
+         return resourceSet.getResources().get(0).getURI().toString();
+      }
+      // A model that is not loaded will be the main resource of its resource set
+      return uri.toString();
+   }
+
+   /**
+    * Record an access to a loaded model.
+    *
+    * @param uri the URI of the loaded model
+    * @return the time of the access
+    */
+   protected long touch(final URI uri) {
+      long result = System.nanoTime();
+      lastAccess.put(uri, result);
+      return result;
+   }
+
+   /**
+    * Query whether idle models are unloaded when exceeding a budget.
+    *
+    * @return whether {@linkplain #evictIdleModels() eviction} is enabled
+    */
+   protected boolean isEvictionEnabled() {
+      return serverConfiguration.getMaxLoadedModels() > 0 || serverConfiguration.getEvictionHeapThreshold() > 0;
+   }
+
+   /**
+    * Get the time since its last access after which a model is idle, so that it may be evicted.
+    *
+    * @return the idle time in milliseconds
+    */
+   protected long getEvictionIdleTime() { return DEFAULT_EVICTION_IDLE_TIME; }
+
+   /**
+    * Unload the least recently used models, when there are more loaded models than the configured
+    * {@linkplain ServerConfiguration#getMaxLoadedModels() maximum}, or all of them when the heap usage exceeds the
+    * configured {@linkplain ServerConfiguration#getEvictionHeapThreshold() threshold}. Only the models that are
+    * idle, not dirty and not subscribed to are unloaded. They remain indexed, so that they are loaded again on
+    * their next access.
+    */
+   public void evictIdleModels() {
+      if (!isEvictionEnabled() || resourceSetsLock.isHeldByCurrentThread()) {
+         // Unloading while holding the lock could deadlock with a transaction on the editing domain
+         return;
+      }
+
+      Map<URI, ResourceSet> evicted = Maps.newLinkedHashMap();
       resourceSetsLock.lock();
 
       try {
-         return resourceSets.get(uri);
+         int maxLoadedModels = serverConfiguration.getMaxLoadedModels();
+         int excess = maxLoadedModels > 0 ? resourceSets.size() - maxLoadedModels : 0;
+         boolean overHeap = isHeapOverThreshold(serverConfiguration.getEvictionHeapThreshold());
+         long idleSince = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(getEvictionIdleTime());
+
+         // Snapshot the access times, from the least to the most recently used
+         List<Map.Entry<URI, Long>> leastRecentlyUsed = lastAccess.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+            .sorted(Map.Entry.comparingByValue())
+            .collect(Collectors.toList());
+         Iterator<Map.Entry<URI, Long>> candidates = leastRecentlyUsed.iterator();
+         while ((excess > 0 || overHeap) && candidates.hasNext()) {
+            Map.Entry<URI, Long> next = candidates.next();
+            if (next.getValue() - idleSince > 0) {
+               // All following models were accessed even more recently
+               break;
+            }
+            URI uri = next.getKey();
+            ResourceSet resourceSet = resourceSets.get(uri);
+            if (resourceSet == null) {
+               // Closed meanwhile
+               lastAccess.remove(uri, next.getValue());
+            } else if (isEvictable(uri, resourceSet) && lastAccess.remove(uri, next.getValue())) {
+               // Not accessed since the snapshot. Index first, for the model to be known at any time
+               indexedModelURIs.add(uri);
+               resourceSets.remove(uri);
+               if (lastAccess.containsKey(uri)) {
+                  // Accessed meanwhile, and the accessor may have found the resource set: keep it
+                  resourceSets.put(uri, resourceSet);
+                  indexedModelURIs.remove(uri);
+               } else {
+                  evicted.put(uri, resourceSet);
+                  excess--;
+               }
+            }
+         }
       } finally {
          resourceSetsLock.unlock();
       }
+
+      // Unload outside of the lock, as it waits for the editing domain
+      evicted.forEach((uri, resourceSet) -> inModelLane(uri, () -> {
+         LOG.debug("Unloading idle model: " + uri);
+         safeUnload(resourceSet);
+         // The editing domain is only forgotten now for those that still hold the resource set
+         Optional.ofNullable(editingDomains.remove(resourceSet)).ifPresent(ModelServerEditingDomain::dispose);
+      }));
+   }
+
+   /**
+    * Run an action on a model in the model's lane of the {@linkplain ModelSynchronizer synchronizer}, after the
+    * requests on the model that are already running or queued, without waiting for it.
+    *
+    * @param uri    the URI of the model
+    * @param action the action on the model
+    */
+   protected void inModelLane(final URI uri, final Runnable action) {
+      if (synchronizer == null) {
+         action.run();
+      } else {
+         synchronizer.asyncExec(uri.toString(), action);
+      }
+   }
+
+   /**
+    * Schedule the {@linkplain #evictIdleModels() eviction} of idle models on the eviction timer, such as after
+    * loading a model, so that the thread that loaded it does not wait for the eviction. An eviction that is
+    * already pending is not scheduled again.
+    */
+   protected void scheduleEviction() {
+      ScheduledExecutorService timer = evictionTimer;
+      if (timer != null && evictionPending.compareAndSet(false, true)) {
+         timer.execute(() -> {
+            evictionPending.set(false);
+            evictIdleModels();
+         });
+      }
+   }
+
+   /**
+    * Query whether a loaded model may be evicted. Must be called while holding the {@link #resourceSetsLock}.
+    *
+    * @param uri         the URI of the model
+    * @param resourceSet the resource set of the model
+    * @return whether the model is neither dirty, nor being edited, nor subscribed to
+    */
+   protected boolean isEvictable(final URI uri, final ResourceSet resourceSet) {
+      ModelServerEditingDomain domain = editingDomains.get(resourceSet);
+      if (domain != null
+         && (domain.isDirty() || domain.isCompoundCommandOpen() || domain.getActiveTransaction() != null)) {
+         return false;
+      }
+      return sessionController == null || !sessionController.get().hasSubscribers(uri.toString());
+   }
+
+   /**
+    * Query whether the heap usage exceeds a threshold.
+    *
+    * @param threshold the threshold in percent of the maximal heap size, or {@code 0} for no threshold
+    * @return whether the used heap exceeds the threshold
+    */
+   protected boolean isHeapOverThreshold(final int threshold) {
+      if (threshold <= 0) {
+         return false;
+      }
+      Runtime runtime = Runtime.getRuntime();
+      long used = runtime.totalMemory() - runtime.freeMemory();
+      return used * 100 > runtime.maxMemory() * threshold;
+   }
+
+   /**
+    * Load a model that is only indexed, yet, in its own resource set with its editing domain.
+    *
+    * @param uri the URI of an indexed model
+    * @return the resource set of the model
+    */
+   protected ResourceSet materialize(final URI uri) {
+      if (resourceSetsLock.isHeldByCurrentThread()) {
+         // Waiting for another thread loading the model would deadlock if it needs the lock that we hold
+         return basicMaterialize(uri);
+      }
+
+      synchronized (materializationLocks.computeIfAbsent(uri, key -> new Object())) {
+         return basicMaterialize(uri);
+      }
+   }
+
+   private ResourceSet basicMaterialize(final URI uri) {
+      resourceSetsLock.lock();
+      try {
+         ResourceSet existing = resourceSets.get(uri);
+         if (existing != null || !indexedModelURIs.contains(uri)) {
+            return existing;
+         }
+      } finally {
+         resourceSetsLock.unlock();
+      }
+
+      // Load without holding the lock to not block access to the other models meanwhile. Until it is published,
+      // the resource set is private to this thread, so the journal is replayed before any client sees the model
+      ResourceSet created = resourceSetFactory.createResourceSet(uri);
+      Optional<Resource> resource = loadSourceResource(uri, created);
+      createEditingDomain(created);
+      replayJournal(uri, created);
+
+      resourceSetsLock.lock();
+      try {
+         ResourceSet existing = resourceSets.get(uri);
+         if (existing != null || !indexedModelURIs.contains(uri)) {
+            // The model was added or closed meanwhile
+            safeUnload(created);
+            Optional.ofNullable(editingDomains.remove(created)).ifPresent(ModelServerEditingDomain::dispose);
+            return existing;
+         }
+         // Publish the resource set with its editing domain
+         resourceSets.put(uri, created);
+         indexedModelURIs.remove(uri);
+         touch(uri);
+      } finally {
+         resourceSetsLock.unlock();
+      }
+
+      resource.ifPresent(this::watchResourceModifications);
+      scheduleEviction();
+      return created;
+   }
+
+   /**
+    * Load a model of the workspace into its new resource set. This does not access the {@link #resourceSets},
+    * so models may be loaded concurrently in separate resource sets.
+    *
+    * @param uri         the URI of the model
+    * @param resourceSet the resource set in which to load it
+    * @return the loaded resource, or {@link Optional#empty()} if an error occurred during loading
+    */
+   @SuppressWarnings("checkstyle:IllegalCatch")
+   protected Optional<Resource> loadSourceResource(final URI uri, final ResourceSet resourceSet) {
+      Resource resource = null;
+      try {
+         resource = demandLoadResource(resourceSet, uri);
+      } catch (final Exception e) {
+         // Files of the workspace that are not models are not worth more than a debug message
+         LOG.debug("Could not load resource with URI: " + uri);
+      }
+
+      // any resources loaded with errors are probably not resources in the first place
+      resourceSet.getResources().removeIf(res -> !res.getErrors().isEmpty() || !res.isLoaded());
+      return Optional.ofNullable(resource).filter(resourceSet.getResources()::contains);
+   }
+
+   /**
+    * Query whether a model is only indexed, yet, and so not loaded.
+    *
+    * @param modeluri the URI of the model
+    * @return whether the model is indexed but not loaded
+    */
+   protected boolean isIndexedOnly(final String modeluri) {
+      URI uri = createURI(modeluri);
+      return indexedModelURIs.contains(uri) && !resourceSets.containsKey(uri);
    }
 
    @Override
    public ModelServerEditingDomain getEditingDomain(final ResourceSet resourceSet) {
-      return editingDomains.get(resourceSet);
+      // Editing domains may be created and disposed concurrently for models in different synchronizer stripes,
+      // but the map is concurrent
+      return resourceSet != null ? editingDomains.get(resourceSet) : null;
    }
 
    protected void loadSourceResources(final String directoryPath) {
       if (directoryPath == null || directoryPath.isEmpty()) {
          return;
       }
-      File directory = new File(directoryPath);
-      for (File file : directory.listFiles()) {
-         if (isSourceDirectory(file)) {
-            loadSourceResources(file.getAbsolutePath());
-         } else if (file.isFile()) {
-            URI modelURI = createURI(file.getAbsolutePath());
-            resourceSets.put(modelURI, resourceSetFactory.createResourceSet(modelURI));
-            loadResource(modelURI.toString());
+      List<URI> modelURIs = findSourceResources(Paths.get(directoryPath));
+      if (serverConfiguration.isLazyWorkspaceLoading()) {
+         indexedModelURIs.addAll(modelURIs);
+         return;
+      }
+
+      // Parse the models in parallel, then publish them in the order in which they were found
+      Map<URI, ResourceSet> loaded = loadSourceResources(modelURIs);
+      resourceSets.putAll(loaded);
+      loaded.keySet().forEach(this::touch);
+      loaded.forEach((uri, resourceSet) -> Optional.ofNullable(resourceSet.getResource(uri, false))
+         .ifPresent(this::watchResourceModifications));
+   }
+
+   /**
+    * Find the files in a directory and its source directories that may be models.
+    *
+    * @param directory the directory to scan
+    * @return the URIs of the candidate model files
+    */
+   protected List<URI> findSourceResources(final Path directory) {
+      List<URI> result = new ArrayList<>();
+      try {
+         Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+            new SimpleFileVisitor<>() {
+               @Override
+               public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                  return dir.equals(directory) || isSourceDirectory(dir.toFile()) ? FileVisitResult.CONTINUE
+                     : FileVisitResult.SKIP_SUBTREE;
+               }
+
+               @Override
+               public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                  if (attrs.isRegularFile() && isModelCandidate(file)) {
+                     result.add(createURI(file.toAbsolutePath().toString()));
+                  }
+                  return FileVisitResult.CONTINUE;
+               }
+
+               @Override
+               public FileVisitResult visitFileFailed(final Path file, final IOException exception) {
+                  LOG.debug("Could not visit file: " + file);
+                  return FileVisitResult.CONTINUE;
+               }
+            });
+      } catch (IOException e) {
+         LOG.error("Could not scan directory: " + directory, e);
+      }
+      return result;
+   }
+
+   /**
+    * Query whether a file may be a model, so that it is worth trying to load it. A file is a candidate if a
+    * resource factory is registered for its extension. Otherwise, it falls back to the default resource factory,
+    * which is XMI by default, so then it is only a candidate if its content looks like XML.
+    *
+    * @param file a file in the workspace
+    * @return whether the file may be a model
+    */
+   protected boolean isModelCandidate(final Path file) {
+      String fileName = file.getFileName().toString();
+      String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+      Map<String, Object> extensionToFactoryMap = Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap();
+      if (extension.length() < fileName.length() && extensionToFactoryMap.containsKey(extension)) {
+         return true;
+      }
+
+      Object defaultFactory = extensionToFactoryMap.get(Resource.Factory.Registry.DEFAULT_EXTENSION);
+      if (defaultFactory instanceof XMIResourceFactoryImpl || defaultFactory instanceof XMLResourceFactoryImpl) {
+         return isXMLContent(file);
+      }
+      return defaultFactory != null;
+   }
+
+   /**
+    * Sniff the content of a file for XML: whether its first character, after an optional byte order mark and
+    * white space, is the start of a tag.
+    *
+    * @param file a file
+    * @return whether the file looks like an XML document
+    */
+   protected boolean isXMLContent(final Path file) {
+      byte[] buffer = new byte[XML_SNIFF_LENGTH];
+      try (InputStream input = Files.newInputStream(file)) {
+         int length = input.readNBytes(buffer, 0, buffer.length);
+         int start = 0;
+         if (length >= 2 && (buffer[0] == (byte) 0xFE && buffer[1] == (byte) 0xFF
+            || buffer[0] == (byte) 0xFF && buffer[1] == (byte) 0xFE)) {
+            // UTF-16 is not worth decoding here
+            return true;
+         }
+         if (length >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF) {
+            start = 3;
+         }
+         while (start < length && Character.isWhitespace(buffer[start])) {
+            start++;
          }
+         return start < length && buffer[start] == '<';
+      } catch (IOException e) {
+         LOG.debug("Could not read file: " + file);
+         return false;
+      }
+   }
+
+   /**
+    * Load models of the workspace in parallel, each in its own resource set.
+    *
+    * @param modelURIs the URIs of the models to load
+    * @return the resource sets of the models, in the order of their URIs
+    */
+   protected Map<URI, ResourceSet> loadSourceResources(final List<URI> modelURIs) {
+      Map<URI, ResourceSet> result = Maps.newLinkedHashMap();
+      ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+      try {
+         List<ResourceSet> loaded = pool.submit(() -> modelURIs.parallelStream().map(uri -> {
+            ResourceSet resourceSet = resourceSetFactory.createResourceSet(uri);
+            loadSourceResource(uri, resourceSet);
+            return resourceSet;
+         }).collect(Collectors.toList())).get();
+
+         for (int i = 0; i < modelURIs.size(); i++) {
+            result.put(modelURIs.get(i), loaded.get(i));
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         LOG.error("Interrupted while loading the workspace.", e);
+      } catch (ExecutionException e) {
+         Throwables.throwIfUnchecked(e.getCause());
+         throw new IllegalStateException(e.getCause());
+      } finally {
+         pool.shutdown();
       }
+      return result;
    }
 
    protected boolean isSourceDirectory(final File file) {
@@ -282,7 +784,11 @@ public class DefaultModelResourceManager implements ModelResourceManager {
    }
 
    protected void createEditingDomain(final ResourceSet resourceSet) {
-      editingDomains.put(resourceSet, new ModelServerEditingDomain(adapterFactory, resourceSet));
+      ModelServerEditingDomain domain = new ModelServerEditingDomain(adapterFactory, resourceSet);
+      if (commandJournal.isEnabled()) {
+         domain.addCompoundCommandListener(journalListener);
+      }
+      editingDomains.put(resourceSet, domain);
    }
 
    protected boolean hasModel(final String modeluri) {
@@ -321,8 +827,7 @@ public class DefaultModelResourceManager implements ModelResourceManager {
             return loadedResource;
          }
          // do load the resource and watch for modifications
-         Resource resource = rset.getResource(resourceURI, true);
-         resource.load(Collections.EMPTY_MAP);
+         Resource resource = demandLoadResource(rset, resourceURI);
          watchResourceModifications(resource);
          return Optional.of(resource);
       } catch (final Exception e) {
@@ -331,6 +836,34 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       }
    }
 
+   /**
+    * Get and load a resource, from the {@linkplain BinaryModelCache binary model cache} if it is cached for the
+    * current state of its file, otherwise from its file, in which case it is then cached.
+    *
+    * @param resourceSet the resource set in which to load the resource
+    * @param uri         the URI of the resource
+    * @return the loaded resource
+    * @throws IOException if the resource could not be loaded
+    */
+   protected Resource demandLoadResource(final ResourceSet resourceSet, final URI uri) throws IOException {
+      if (!binaryModelCache.isEnabled()) {
+         return resourceSet.getResource(uri, true);
+      }
+
+      Resource result = resourceSet.getResource(uri, false);
+      if (result == null) {
+         result = resourceSet.createResource(uri);
+         if (result == null) {
+            throw new IOException("Cannot create a resource for " + uri);
+         }
+      }
+      if (!result.isLoaded() && !binaryModelCache.load(result)) {
+         result.load(resourceSet.getLoadOptions());
+         binaryModelCache.store(result);
+      }
+      return result;
+   }
+
    /**
     * Watch for resource modifications.
     *
@@ -392,6 +925,7 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       Resource resource = resourceSet.getResource(createURI(modeluri), false);
       if (resource != null) {
          resource.delete(null);
+         commandJournal.clear(resource);
       }
    }
 
@@ -414,12 +948,18 @@ public class DefaultModelResourceManager implements ModelResourceManager {
    }
 
    protected void basicCloseResource(final String modeluri) {
+      if (isIndexedOnly(modeluri)) {
+         // Nothing loaded, so nothing to forget
+         return;
+      }
       ResourceSet resourceSet = getResourceSet(modeluri);
       if (resourceSet != null) {
          URI uri = createURI(modeluri);
          boolean resourceStillExists = resourceSet.getURIConverter().exists(uri, resourceSet.getLoadOptions());
          Resource resource = resourceSet.getResource(uri, false);
          if (resource != null) {
+            // the changes are discarded
+            commandJournal.clear(resource);
             // remove resource and clear resource set and editing domain when necessary
             boolean wasMainResource = safeUnloadWithResult(resource,
                res -> {
@@ -447,6 +987,7 @@ public class DefaultModelResourceManager implements ModelResourceManager {
             resourceSets.computeIfAbsent(uri, u -> {
                ResourceSet created = resourceSetFactory.createResourceSet(u);
                createEditingDomain(created);
+               touch(u);
                return created;
             });
             // reload
@@ -475,23 +1016,43 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       return resourceSet != null && resourceSet.getResource(createURI(modeluri), false) != null;
    }
 
+   /**
+    * Get the resource sets of all models, loading first those that are only indexed, yet.
+    *
+    * @return the resource sets of all models
+    */
    @Override
    public Collection<ResourceSet> getAllLoadedResourceSets() {
-      resourceSetsLock.lock();
+      getIndexedModelURIs().forEach(uri -> getResourceSet(uri.toString()));
+      return getMaterializedResourceSets();
+   }
 
-      try {
-         return resourceSets.values();
-      } finally {
-         resourceSetsLock.unlock();
-      }
+   /**
+    * Get the models that are only indexed, yet, and so not loaded.
+    *
+    * @return a snapshot of the indexed model URIs
+    */
+   protected Set<URI> getIndexedModelURIs() { return Set.copyOf(indexedModelURIs); }
+
+   /**
+    * Get the resource sets of the models that are loaded, not including the models that are only indexed.
+    *
+    * @return the resource sets of the loaded models
+    */
+   protected Collection<ResourceSet> getMaterializedResourceSets() {
+      // Snapshot, as other synchronizer stripes may load and unload models concurrently
+      return List.copyOf(resourceSets.values());
    }
 
    @Override
    public Set<URI> getAllLoadedModelURIs() {
+      // Models move between the loaded and indexed models under the lock, so it is needed for a consistent snapshot
       resourceSetsLock.lock();
 
       try {
-         return resourceSets.keySet();
+         Set<URI> result = Sets.newLinkedHashSet(resourceSets.keySet());
+         result.addAll(indexedModelURIs);
+         return Collections.unmodifiableSet(result);
       } finally {
          resourceSetsLock.unlock();
       }
@@ -507,18 +1068,23 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       resourceSetsLock.lock();
 
       try {
-         resourceSets.put(resourceURI, resourceSetFactory.createResourceSet(resourceURI));
-         newResourceSet = getResourceSet(modeluri);
+         newResourceSet = resourceSetFactory.createResourceSet(resourceURI);
          resource = newResourceSet.createResource(resourceURI);
          newResourceSet.getResources().add(resource);
          resource.getContents().add(model);
          createEditingDomain(newResourceSet);
+         // Publish the resource set with its editing domain
+         resourceSets.put(resourceURI, newResourceSet);
+         indexedModelURIs.remove(resourceURI);
+         touch(resourceURI);
       } finally {
          resourceSetsLock.unlock();
       }
 
       resource.save(null);
+      commandJournal.clear(resource);
       watchResourceModifications(resource);
+      scheduleEviction();
    }
 
    protected final void removeResourceSet(final URI modelURI, final ResourceSet resourceSet) {
@@ -531,6 +1097,7 @@ public class DefaultModelResourceManager implements ModelResourceManager {
          domain.dispose();
          editingDomains.remove(resourceSet);
          resourceSets.remove(modelURI);
+         lastAccess.remove(modelURI);
       } finally {
          resourceSetsLock.unlock();
       }
@@ -553,7 +1120,10 @@ public class DefaultModelResourceManager implements ModelResourceManager {
 
    @Override
    public Optional<CCommandExecutionResult> undo(final String modeluri) {
-      ResourceSet resourceSet = getResourceSet(modeluri);
+      return undo(getResourceSet(modeluri), modeluri);
+   }
+
+   protected Optional<CCommandExecutionResult> undo(final ResourceSet resourceSet, final String modeluri) {
       ModelServerEditingDomain domain = getEditingDomain(resourceSet);
       Optional<Command> undoCommand = domain.getUndoableCommand();
       if (undoCommand.isEmpty()) {
@@ -565,6 +1135,9 @@ public class DefaultModelResourceManager implements ModelResourceManager {
 
       Optional<CommandExecutionContext> context = undoCommand(domain, undoCommand.get(), clientCommand);
       // Context may also be empty in V2
+      if (context.isPresent()) {
+         getModelResource(resourceSet, modeluri).ifPresent(commandJournal::undone);
+      }
 
       return context.map(ctx -> {
          CCommandExecutionResult result = createExecutionResult(ctx);
@@ -585,7 +1158,10 @@ public class DefaultModelResourceManager implements ModelResourceManager {
 
    @Override
    public Optional<CCommandExecutionResult> redo(final String modeluri) {
-      ResourceSet resourceSet = getResourceSet(modeluri);
+      return redo(getResourceSet(modeluri), modeluri);
+   }
+
+   protected Optional<CCommandExecutionResult> redo(final ResourceSet resourceSet, final String modeluri) {
       ModelServerEditingDomain domain = getEditingDomain(resourceSet);
       Optional<Command> redoCommand = domain.getRedoableCommand();
       if (redoCommand.isEmpty()) {
@@ -597,6 +1173,9 @@ public class DefaultModelResourceManager implements ModelResourceManager {
 
       Optional<CommandExecutionContext> context = redoCommand(domain, redoCommand.get(), clientCommand);
       // Context may also be empty in V2
+      if (context.isPresent()) {
+         getModelResource(resourceSet, modeluri).ifPresent(commandJournal::redone);
+      }
 
       return context.map(ctx -> {
          CCommandExecutionResult result = createExecutionResult(ctx);
@@ -626,9 +1205,12 @@ public class DefaultModelResourceManager implements ModelResourceManager {
 
    @Override
    public CCommandExecutionResult execute(final String modeluri, final CCommand clientCommand) {
-      try {
+      return execute(getResourceSet(modeluri), modeluri, clientCommand);
+   }
 
-         ResourceSet resourceSet = getResourceSet(modeluri);
+   protected CCommandExecutionResult execute(final ResourceSet resourceSet, final String modeluri,
+      final CCommand clientCommand) {
+      try {
          ModelServerEditingDomain domain = getEditingDomain(resourceSet);
          URI uri = createURI(modeluri);
 
@@ -640,8 +1222,13 @@ public class DefaultModelResourceManager implements ModelResourceManager {
          Command command = commandCodec.clientToServer(uri, domain, clientCommand);
          Command modelServerCommand = ModelServerCommand.wrap(command, clientCommand);
 
+         // journal the command as resolved before its execution, while its references are valid
+         Optional<JsonNode> journalEntry = toJournalEntry(clientCommand);
+         Optional<Command> undoable = domain.getUndoableCommand();
+
          // execute command
          CommandExecutionContext context = executeCommand(domain, modelServerCommand, clientCommand);
+         journal(resourceSet, modeluri, domain, undoable, journalEntry);
 
          // create result
          CCommandExecutionResult result = createExecutionResult(context);
@@ -656,12 +1243,48 @@ public class DefaultModelResourceManager implements ModelResourceManager {
    @Override
    public CCommandExecutionResult execute(final String modeluri, final ArrayNode jsonPatch)
       throws JsonPatchTestException, JsonPatchException {
-      ResourceSet resourceSet = getResourceSet(modeluri);
+      return execute(getResourceSet(modeluri), modeluri, jsonPatch);
+   }
+
+   protected CCommandExecutionResult execute(final ResourceSet resourceSet, final String modeluri,
+      final ArrayNode jsonPatch) throws JsonPatchTestException, JsonPatchException {
       ModelServerEditingDomain domain = getEditingDomain(resourceSet);
 
       Command command = jsonPatchHelper.get().getCommand(modeluri, resourceSet, jsonPatch);
+      Optional<JsonNode> journalEntry = commandJournal.isEnabled()
+         ? Optional.of(CommandJournal.patch(jsonPatch.deepCopy()))
+         : Optional.empty();
+      Optional<Command> undoable = domain.getUndoableCommand();
+
       // execute command
       CommandExecutionContext context = executeCommand(domain, command, null);
+      journal(resourceSet, modeluri, domain, undoable, journalEntry);
+
+      // create result
+      ReadResourceSet readResourceSet = new ReadResourceSet(domain);
+      CCommandExecutionResult result = createExecutionResult(context);
+      readResourceSet.resolve(result, "$command.exec.res");
+      return result;
+   }
+
+   @Override
+   public CCommandExecutionResult reconcile(final String modeluri, final Command command) {
+      ResourceSet resourceSet = getResourceSet(modeluri);
+      ModelServerEditingDomain domain = getEditingDomain(resourceSet);
+      if (domain.isCompoundCommandOpen()) {
+         // The reconciliation would become part of the client's compound command
+         throw new IllegalStateException("Cannot reconcile a model while a compound command is open: " + modeluri);
+      }
+
+      // execute command
+      CommandExecutionContext context = executeCommand(domain, command, null);
+
+      // the model now has the persisted content, which the journal does not apply to
+      domain.saveIsDone();
+      getModelResource(resourceSet, modeluri).ifPresent(resource -> {
+         resource.setModified(false);
+         commandJournal.clear(resource);
+      });
 
       // create result
       ReadResourceSet readResourceSet = new ReadResourceSet(domain);
@@ -695,6 +1318,119 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       return result;
    }
 
+   protected Optional<JsonNode> toJournalEntry(final CCommand clientCommand) {
+      if (!commandJournal.isEnabled()) {
+         return Optional.empty();
+      }
+      try {
+         return Optional.of(CommandJournal.command(journalCodec.encode(clientCommand)));
+      } catch (EncodingException e) {
+         LOG.warn("Could not journal command: " + clientCommand, e);
+         return Optional.empty();
+      }
+   }
+
+   /**
+    * Journal the execution of a command, if it was executed.
+    *
+    * @param resourceSet the resource set of the model
+    * @param modeluri    the URI of the model
+    * @param domain      the editing domain of the model
+    * @param undoable    the command that was undoable before the execution
+    * @param entry       the journal entry of the command, or empty if it could not be encoded
+    */
+   protected void journal(final ResourceSet resourceSet, final String modeluri,
+      final ModelServerEditingDomain domain, final Optional<Command> undoable, final Optional<JsonNode> entry) {
+      Optional<Resource> resource = getModelResource(resourceSet, modeluri);
+      if (!commandJournal.isEnabled() || resource.isEmpty()) {
+         return;
+      }
+      if (entry.isEmpty()) {
+         commandJournal.invalidate(resource.get());
+      } else if (domain.isCompoundCommandOpen()) {
+         commandJournal.executed(resource.get(), entry.get(), true);
+      } else if (!domain.getUndoableCommand().equals(undoable)) {
+         // Only commands that were executed are on the stack
+         commandJournal.executed(resource.get(), entry.get(), false);
+      }
+   }
+
+   /**
+    * Recover the unsaved changes of a model that was just loaded from its {@link CommandJournal}, if any. This
+    * must be done before the model is accessible to clients, so that their commands do not interleave with the
+    * replayed commands.
+    *
+    * @param uri         the URI of the model
+    * @param resourceSet the resource set of the model, with its editing domain
+    */
+   protected void replayJournal(final URI uri, final ResourceSet resourceSet) {
+      if (!commandJournal.isEnabled()) {
+         return;
+      }
+      String modeluri = uri.toString();
+      getModelResource(resourceSet, modeluri).ifPresent(
+         resource -> commandJournal.replay(resource, entry -> applyJournalEntry(resourceSet, modeluri, entry)));
+   }
+
+   /**
+    * Apply an entry of the {@link CommandJournal} of a model, executing, undoing, or redoing commands as the
+    * clients do.
+    *
+    * @param resourceSet the resource set of the model
+    * @param modeluri    the URI of the model
+    * @param entry       the journal entry
+    * @return whether the entry was applied
+    */
+   @SuppressWarnings("checkstyle:IllegalCatch")
+   protected boolean applyJournalEntry(final ResourceSet resourceSet, final String modeluri, final JsonNode entry) {
+      try {
+         switch (entry.path(CommandJournal.TYPE).asText()) {
+            case CommandJournal.COMMAND:
+               Optional<CCommand> command = journalCodec.decode(entry.path(CommandJournal.DATA).toString())
+                  .filter(CCommand.class::isInstance).map(CCommand.class::cast);
+               command.ifPresent(clientCommand -> execute(resourceSet, modeluri, clientCommand));
+               return command.isPresent();
+            case CommandJournal.PATCH:
+               execute(resourceSet, modeluri, (ArrayNode) entry.path(CommandJournal.DATA));
+               return true;
+            case CommandJournal.COMPOUND:
+               ModelServerEditingDomain domain = getEditingDomain(resourceSet);
+               domain.openCompoundCommand();
+               for (JsonNode next : entry.path(CommandJournal.DATA)) {
+                  if (!applyJournalEntry(resourceSet, modeluri, next)) {
+                     domain.rollbackCompoundCommand();
+                     return false;
+                  }
+               }
+               domain.closeCompoundCommand();
+               return true;
+            case CommandJournal.UNDO:
+               return undo(resourceSet, modeluri).isPresent();
+            case CommandJournal.REDO:
+               return redo(resourceSet, modeluri).isPresent();
+            default:
+               return false;
+         }
+      } catch (DecodingException | JsonPatchException | JsonPatchTestException | RuntimeException e) {
+         LOG.debug("Could not apply journal entry to " + modeluri, e);
+         return false;
+      }
+   }
+
+   protected Optional<Resource> getModelResource(final ResourceSet resourceSet, final String modeluri) {
+      return Optional.ofNullable(resourceSet).map(rs -> rs.getResource(createURI(modeluri), false));
+   }
+
+   /**
+    * Get the main resource of an editing domain, which is the model resource.
+    *
+    * @param domain an editing domain
+    * @return the main resource, if any
+    */
+   protected Optional<Resource> getMainResource(final ModelServerEditingDomain domain) {
+      return domain.getResourceSet().getResources().stream().findFirst();
+   }
+
    @Override
    public boolean save(final String modeluri) {
       ResourceSet resourceSet = getResourceSet(modeluri);
@@ -705,39 +1441,148 @@ public class DefaultModelResourceManager implements ModelResourceManager {
       boolean result = saveResource(resource);
       if (result) {
          getEditingDomain(resourceSet).saveIsDone();
+         commandJournal.clear(resource);
       }
       return result;
    }
 
    @Override
    public boolean saveAll() {
-      boolean result = false;
-      final Collection<ResourceSet> resourceSets = getAllLoadedResourceSets();
-      for (ResourceSet rs : resourceSets) {
-         boolean tempResult = rs.getResources().stream().allMatch(this::saveResource);
-         if (tempResult) {
-            ModelServerEditingDomain domain = (ModelServerEditingDomain) TransactionUtil.getEditingDomain(rs);
-            domain.saveIsDone();
+      return !saveDirtyModels().containsValue(Boolean.FALSE);
+   }
+
+   /**
+    * Save the dirty models in parallel. Models that are not dirty, including those that are only indexed, are
+    * skipped. All resources of a dirty model are saved, even if some of them fail to save.
+    *
+    * @return whether each dirty model was saved, by model URI
+    */
+   @Override
+   public Map<URI, Boolean> saveDirtyModels() {
+      Map<URI, ModelServerEditingDomain> dirtyModels = Maps.newLinkedHashMap();
+      getAllLoadedModelURIs().forEach(uri -> Optional.ofNullable(resourceSets.get(uri))
+         .map(editingDomains::get)
+         .filter(ModelServerEditingDomain::isDirty)
+         .ifPresent(domain -> dirtyModels.put(uri, domain)));
+
+      Map<URI, CompletableFuture<Boolean>> saving = Maps.newLinkedHashMap();
+      dirtyModels.forEach((uri, domain) -> saving.put(uri, CompletableFuture.supplyAsync(
+         () -> saveResources(domain.getResourceSet()), savingPool.get())));
+
+      Map<URI, Boolean> result = Maps.newLinkedHashMap();
+      saving.forEach((uri, saved) -> {
+         result.put(uri, saved.join());
+         if (result.get(uri)) {
+            dirtyModels.get(uri).saveIsDone();
+            getMainResource(dirtyModels.get(uri)).ifPresent(commandJournal::clear);
          }
-         result = tempResult;
+      });
+      return result;
+   }
+
+   /**
+    * Save all of the resources in a resource set, not stopping at the first that fails to save.
+    *
+    * @param resourceSet the resource set to save
+    * @return whether all of its resources were saved
+    */
+   protected boolean saveResources(final ResourceSet resourceSet) {
+      boolean result = true;
+      for (Resource resource : List.copyOf(resourceSet.getResources())) {
+         result &= saveResource(resource);
       }
       return result;
    }
 
+   /**
+    * Save a resource. A resource in a file is first saved to a temporary file that then atomically replaces it,
+    * so that the file is never left with partial content.
+    *
+    * @param resource the resource to save
+    * @return whether the resource was saved
+    */
+   @SuppressWarnings("checkstyle:IllegalCatch")
    protected boolean saveResource(final Resource resource) {
       if (resource.getURI() != null) {
          try {
-            resource.save(Collections.EMPTY_MAP);
+            Optional<Path> file = getFile(resource);
+            if (file.isPresent()) {
+               saveAtomically(resource, file.get());
+            } else {
+               resource.save(Collections.EMPTY_MAP);
+            }
+            binaryModelCache.store(resource);
             return true;
-         } catch (IOException e) {
+         } catch (IOException | RuntimeException e) {
             LOG.error("Could not save resource: " + resource.getURI(), e);
          }
       }
       return false;
    }
 
+   protected Optional<Path> getFile(final Resource resource) {
+      URI uri = resource.getResourceSet() != null
+         ? resource.getResourceSet().getURIConverter().normalize(resource.getURI())
+         : resource.getURI();
+      return uri.isFile() && uri.toFileString() != null
+         ? Optional.of(Paths.get(uri.toFileString()))
+         : Optional.empty();
+   }
+
+   /**
+    * Save a resource to a temporary file that then atomically replaces its file. If the file is a symbolic link,
+    * then the file that it links to is replaced, keeping the link. The file permissions are preserved.
+    *
+    * @param resource the resource to save
+    * @param file     the file of the resource
+    * @throws IOException on failure to save the resource
+    */
+   protected void saveAtomically(final Resource resource, final Path file) throws IOException {
+      Path target = Files.exists(file) ? file.toRealPath() : file.toAbsolutePath();
+      Path directory = target.getParent();
+      Files.createDirectories(directory);
+      Path tempFile = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+      try {
+         copyPermissions(target, tempFile);
+         MessageDigest digest = FileContentDigest.newMessageDigest();
+         try (OutputStream output = new BufferedOutputStream(
+            new DigestOutputStream(Files.newOutputStream(tempFile), digest))) {
+            resource.save(output, Collections.EMPTY_MAP);
+         }
+         // Before the file watcher can see the new content, so that it recognizes it
+         FileContentDigest.record(resource, file.toFile(), digest.digest());
+         try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+         }
+      } finally {
+         Files.deleteIfExists(tempFile);
+      }
+      resource.setModified(false);
+      // As when saving to the file directly, so that the file watchers know that the model has the file's content
+      resource.setTimeStamp(Files.getLastModifiedTime(target).toMillis());
+   }
+
+   /**
+    * Give the temporary file to which a resource is saved the permissions of the file that it is to replace,
+    * rather than the owner-only permissions with which temporary files are created.
+    *
+    * @param file     the file to be replaced, which may not exist
+    * @param tempFile the temporary file
+    * @throws IOException on failure to copy the permissions
+    */
+   protected void copyPermissions(final Path file, final Path tempFile) throws IOException {
+      if (Files.exists(file) && Files.getFileAttributeView(file, PosixFileAttributeView.class) != null) {
+         Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(file));
+      }
+   }
+
    @Override
    public boolean getDirtyState(final String modeluri) {
+      if (isIndexedOnly(modeluri)) {
+         return false;
+      }
       return getEditingDomain(getResourceSet(modeluri)).isDirty();
    }
 
@@ -10,11 +10,23 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.prop;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.DiagnosticChain;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
@@ -22,23 +34,39 @@ import org.eclipse.emf.ecore.EDataType;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.change.ChangeDescription;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.Diagnostician;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.util.ExtendedMetaData;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.eclipse.emfcloud.modelserver.emf.configuration.FacetConfig;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+import org.jetbrains.annotations.Nullable;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
 public class DefaultModelValidator implements ModelValidator {
    private static final Diagnostician DIAGNOSTICIAN = Diagnostician.INSTANCE;
 
+   /** Validates objects without their contents, so that the diagnostics of every object can be cached. */
+   private static final Diagnostician SHALLOW_DIAGNOSTICIAN = new Diagnostician() {
+      @Override
+      protected boolean doValidateContents(final EObject eObject, final DiagnosticChain diagnostics,
+         final Map<Object, Object> context) {
+         return true;
+      }
+   };
+
    protected final ModelRepository modelRepository;
    protected final FacetConfig facetConfig;
    protected final Provider<ObjectMapper> mapperProvider;
@@ -58,12 +86,256 @@ public class DefaultModelValidator implements ModelValidator {
       if (model.isEmpty() || res.isEmpty()) {
          return Json.text("Model not found!");
       }
+      ObjectMapper mapper = createValidationMapper(res.get());
+      ValidationState state = getValidationState(res.get());
+      synchronized (state) {
+         validateAll(state, model.get());
+         return assembleResult(state, model.get(), mapper);
+      }
+   }
+
+   @Override
+   public JsonNode validateAndReport(final String modeluri) {
+      Optional<EObject> model = this.modelRepository.getModel(modeluri);
+      Optional<Resource> res = this.modelRepository.loadResource(modeluri);
+      if (model.isEmpty() || res.isEmpty()) {
+         return Json.text("Model not found!");
+      }
+      ObjectMapper mapper = createValidationMapper(res.get());
+      ValidationState state = getValidationState(res.get());
+      synchronized (state) {
+         validateAll(state, model.get());
+         state.reported = collectDiagnostics(state, res.get(), mapper);
+         return assembleResult(state, model.get(), mapper);
+      }
+   }
+
+   @Override
+   public Optional<JsonNode> validateChanges(final String modeluri, @Nullable final ChangeDescription changes) {
+      Optional<EObject> model = this.modelRepository.getModel(modeluri);
+      Optional<Resource> res = this.modelRepository.loadResource(modeluri);
+      if (model.isEmpty() || res.isEmpty()) {
+         return Optional.empty();
+      }
+      ValidationState state = getValidationState(res.get());
+      synchronized (state) {
+         if (!state.current || state.reported == null) {
+            return Optional.empty();
+         }
+         if (changes == null || !changes.getResourceChanges().isEmpty()) {
+            validateAll(state, model.get());
+         } else {
+            Map<Object, Object> context = SHALLOW_DIAGNOSTICIAN.createDefaultContext();
+            for (EObject next : getAffectedObjects(state, res.get(), changes)) {
+               if (next.eResource() == res.get()) {
+                  validateObject(state, next, context);
+                  // The serialized diagnostics of the containers include their contents
+                  for (EObject container = next.eContainer(); container != null; container = container
+                     .eContainer()) {
+                     Optional.ofNullable(state.diagnostics.get(container)).ifPresent(ObjectDiagnostics::invalidate);
+                  }
+               }
+            }
+         }
+
+         Map<String, JsonNode> previous = state.reported;
+         state.reported = collectDiagnostics(state, res.get(), createValidationMapper(res.get()));
+         return Optional.of(createDelta(previous, state.reported, getSeverity(state)));
+      }
+   }
+
+   @Override
+   public JsonNode getValidationResult(final String modeluri) {
+      Optional<EObject> model = this.modelRepository.getModel(modeluri);
+      Optional<Resource> res = this.modelRepository.loadResource(modeluri);
+      if (model.isEmpty() || res.isEmpty()) {
+         return Json.text("Model not found!");
+      }
+      ValidationState state = getValidationState(res.get());
+      synchronized (state) {
+         return state.current
+            ? assembleResult(state, model.get(), createValidationMapper(res.get()))
+            : validate(modeluri);
+      }
+   }
+
+   @Override
+   public void invalidate(final String modeluri) {
+      if (modelRepository.hasModel(modeluri)) {
+         modelRepository.loadResource(modeluri).ifPresent(res -> {
+            ValidationState state = getValidationState(res);
+            synchronized (state) {
+               state.current = false;
+               state.reported = null;
+            }
+         });
+      }
+   }
+
+   protected ObjectMapper createValidationMapper(final Resource res) {
       ObjectMapper mapper = mapperProvider.get();
-      mapper.registerModule(new ValidationMapperModule(res.get()));
+      mapper.registerModule(new ValidationMapperModule(res));
       mapper.setVisibility(PropertyAccessor.FIELD, Visibility.PROTECTED_AND_PUBLIC);
-      BasicDiagnostic diagnostics = DIAGNOSTICIAN.createDefaultDiagnostic(model.get());
-      DIAGNOSTICIAN.validate(model.get(), diagnostics, DIAGNOSTICIAN.createDefaultContext());
-      return mapper.valueToTree(diagnostics);
+      return mapper;
+   }
+
+   protected ValidationState getValidationState(final Resource res) {
+      synchronized (res) {
+         ValidationState result = (ValidationState) EcoreUtil.getExistingAdapter(res, ValidationState.class);
+         if (result == null) {
+            result = new ValidationState();
+            res.eAdapters().add(result);
+         }
+         return result;
+      }
+   }
+
+   /**
+    * Validate every object of a model, replacing all cached diagnostics.
+    *
+    * @param state the cached diagnostics of the model
+    * @param model the root object of the model
+    */
+   protected void validateAll(final ValidationState state, final EObject model) {
+      Map<Object, Object> context = SHALLOW_DIAGNOSTICIAN.createDefaultContext();
+      state.clear();
+      validateObject(state, model, context);
+      model.eAllContents().forEachRemaining(next -> validateObject(state, next, context));
+      state.current = true;
+   }
+
+   /**
+    * Validate one object, without its contents, and cache its diagnostics.
+    *
+    * @param state   the cached diagnostics of the model
+    * @param eObject the object to validate
+    * @param context the validation context
+    */
+   protected void validateObject(final ValidationState state, final EObject eObject,
+      final Map<Object, Object> context) {
+      BasicDiagnostic diagnostic = SHALLOW_DIAGNOSTICIAN.createDefaultDiagnostic(eObject);
+      SHALLOW_DIAGNOSTICIAN.validate(eObject, diagnostic, context);
+      state.put(eObject, diagnostic.getChildren().isEmpty() ? null : new ObjectDiagnostics(diagnostic));
+   }
+
+   /**
+    * Get the objects whose diagnostics may be changed by changes to a model: the changed objects and their
+    * containers, the added objects and their contents, the objects that reference changed, added or removed
+    * objects, and the objects whose cached diagnostics mention any of these.
+    *
+    * @param state   the cached diagnostics of the model
+    * @param res     the model resource
+    * @param changes the description of the changes
+    * @return the objects to validate again
+    */
+   protected Set<EObject> getAffectedObjects(final ValidationState state, final Resource res,
+      final ChangeDescription changes) {
+      Set<EObject> result = new LinkedHashSet<>();
+      Consumer<EObject> addWithContainer = eObject -> {
+         result.add(eObject);
+         if (eObject.eContainer() != null) {
+            result.add(eObject.eContainer());
+         }
+      };
+
+      // The objects that other objects may reference, or whose diagnostics may mention
+      Collection<EObject> changed = new LinkedHashSet<>(changes.getObjectChanges().keySet());
+      changed.forEach(addWithContainer);
+      for (EObject added : changes.getObjectsToDetach()) {
+         addWithContainer.accept(added);
+         changed.add(added);
+         added.eAllContents().forEachRemaining(next -> {
+            result.add(next);
+            changed.add(next);
+         });
+      }
+      // References to removed objects are now dangling
+      for (EObject removed : changes.getObjectsToAttach()) {
+         changed.add(removed);
+         removed.eAllContents().forEachRemaining(changed::add);
+      }
+
+      if (!changed.isEmpty()) {
+         TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(res);
+         Map<EObject, Collection<EStructuralFeature.Setting>> usages = domain instanceof ModelServerEditingDomain
+            ? ((ModelServerEditingDomain) domain).findUsages(changed)
+            : EcoreUtil.UsageCrossReferencer.findAll(changed, res);
+         usages.values().stream()
+            .flatMap(Collection::stream)
+            .map(EStructuralFeature.Setting::getEObject)
+            .filter(eObject -> eObject.eResource() == res)
+            .forEach(result::add);
+         changed.forEach(next -> result.addAll(state.getMentioning(next)));
+      }
+
+      return result;
+   }
+
+   /**
+    * Serialize the cached diagnostics by object ID, dropping the diagnostics of objects that
+    * were removed from the model.
+    */
+   protected Map<String, JsonNode> collectDiagnostics(final ValidationState state, final Resource res,
+      final ObjectMapper mapper) {
+      Map<String, JsonNode> result = new HashMap<>();
+      List<EObject> removed = new ArrayList<>();
+      for (Map.Entry<EObject, ObjectDiagnostics> next : state.diagnostics.entrySet()) {
+         if (next.getKey().eResource() == res) {
+            String id = res.getURIFragment(next.getKey());
+            result.put(id, next.getValue().toJson(id, mapper));
+         } else {
+            removed.add(next.getKey());
+         }
+      }
+      removed.forEach(eObject -> state.put(eObject, null));
+      return result;
+   }
+
+   protected int getSeverity(final ValidationState state) {
+      return state.diagnostics.values().stream().mapToInt(next -> next.diagnostic.getSeverity())
+         .max().orElse(Diagnostic.OK);
+   }
+
+   protected JsonNode createDelta(final Map<String, JsonNode> previous, final Map<String, JsonNode> current,
+      final int severity) {
+      ObjectNode changed = Json.object();
+      current.forEach((id, diagnostics) -> {
+         // Unchanged diagnostics are the very same cached nodes, so this is cheap
+         if (!diagnostics.equals(previous.get(id))) {
+            changed.set(id, diagnostics);
+         }
+      });
+      ArrayNode cleared = Json.array();
+      previous.keySet().stream().filter(id -> !current.containsKey(id)).forEach(cleared::add);
+
+      return Json.object(
+         prop(ValidationMapperModule.SEVERITY, IntNode.valueOf(severity)),
+         prop(ValidationMapperModule.CHANGED, changed),
+         prop(ValidationMapperModule.CLEARED, cleared));
+   }
+
+   /**
+    * Assemble the validation result of a model from the cached diagnostics of its objects, in the
+    * same form as a recursive validation of the model.
+    */
+   protected JsonNode assembleResult(final ValidationState state, final EObject model, final ObjectMapper mapper) {
+      List<EObject> objects = new ArrayList<>();
+      objects.add(model);
+      model.eAllContents().forEachRemaining(objects::add);
+
+      ArrayNode children = Json.array();
+      Resource res = model.eResource();
+      for (EObject next : objects) {
+         ObjectDiagnostics diagnostics = state.diagnostics.get(next);
+         if (diagnostics != null) {
+            children.addAll((ArrayNode) diagnostics.toJson(res.getURIFragment(next), mapper));
+         }
+      }
+
+      ObjectNode result = mapper.valueToTree(DIAGNOSTICIAN.createDefaultDiagnostic(model));
+      result.put(ValidationMapperModule.SEVERITY, getSeverity(state));
+      result.set(ValidationMapperModule.CHILDREN, children);
+      return result;
    }
 
    @Override
@@ -156,4 +428,112 @@ public class DefaultModelValidator implements ModelValidator {
       return result;
    }
 
+   /**
+    * The cached diagnostics of the objects of a model, attached to its resource so that they are
+    * discarded with it.
+    */
+   protected static class ValidationState extends AdapterImpl {
+      /** The diagnostics of the objects that have any. */
+      protected final Map<EObject, ObjectDiagnostics> diagnostics = new HashMap<>();
+      /** The objects whose diagnostics mention other objects, by the mentioned objects. */
+      protected final Map<EObject, Set<EObject>> mentions = new HashMap<>();
+      /** The serialized diagnostics last reported, by object ID, or {@code null} if none are. */
+      protected Map<String, JsonNode> reported;
+      /** Whether the diagnostics reflect the current state of the model. */
+      protected boolean current;
+
+      @Override
+      public boolean isAdapterForType(final Object type) {
+         return type == ValidationState.class;
+      }
+
+      /**
+       * Cache the diagnostics of an object, replacing those cached before.
+       *
+       * @param eObject     the validated object
+       * @param diagnostics its diagnostics, or {@code null} if it has none
+       */
+      protected void put(final EObject eObject, @Nullable final ObjectDiagnostics diagnostics) {
+         ObjectDiagnostics previous = diagnostics == null
+            ? this.diagnostics.remove(eObject)
+            : this.diagnostics.put(eObject, diagnostics);
+         if (previous != null) {
+            for (EObject next : previous.mentioned) {
+               Set<EObject> mentioning = mentions.get(next);
+               if (mentioning != null && mentioning.remove(eObject) && mentioning.isEmpty()) {
+                  mentions.remove(next);
+               }
+            }
+         }
+         if (diagnostics != null) {
+            for (EObject next : diagnostics.mentioned) {
+               if (next != eObject) {
+                  mentions.computeIfAbsent(next, key -> new LinkedHashSet<>()).add(eObject);
+               }
+            }
+         }
+      }
+
+      /**
+       * Get the objects whose cached diagnostics mention an object.
+       *
+       * @param eObject an object
+       * @return the objects whose diagnostics mention it
+       */
+      protected Set<EObject> getMentioning(final EObject eObject) {
+         return mentions.getOrDefault(eObject, Collections.emptySet());
+      }
+
+      protected void clear() {
+         diagnostics.clear();
+         mentions.clear();
+      }
+   }
+
+   /**
+    * The diagnostics of one object, and their serialization.
+    */
+   protected static class ObjectDiagnostics {
+      protected final Diagnostic diagnostic;
+      /** The objects that the diagnostics mention in their data. */
+      protected final List<EObject> mentioned;
+      /** The ID of the object and the URIs of the mentioned objects that the serialization includes. */
+      private List<String> key;
+      private JsonNode json;
+
+      public ObjectDiagnostics(final Diagnostic diagnostic) {
+         this.diagnostic = diagnostic;
+         List<EObject> objects = new ArrayList<>();
+         collectMentioned(diagnostic, objects);
+         this.mentioned = objects;
+      }
+
+      private static void collectMentioned(final Diagnostic diagnostic, final List<EObject> result) {
+         for (Diagnostic child : diagnostic.getChildren()) {
+            child.getData().stream().filter(EObject.class::isInstance).map(EObject.class::cast)
+               .filter(eObject -> !result.contains(eObject))
+               .forEach(result::add);
+            collectMentioned(child, result);
+         }
+      }
+
+      public JsonNode toJson(final String objectId, final ObjectMapper mapper) {
+         List<String> currentKey = new ArrayList<>(mentioned.size() + 1);
+         currentKey.add(objectId);
+         mentioned.forEach(eObject -> currentKey.add(EcoreUtil.getURI(eObject).toString()));
+         if (json == null || !currentKey.equals(key)) {
+            // The serialized diagnostics include the object ID and those of the objects they mention
+            ArrayNode result = Json.array();
+            diagnostic.getChildren().forEach(child -> result.add(mapper.<JsonNode> valueToTree(child)));
+            key = currentKey;
+            json = result;
+         }
+         return json;
+      }
+
+      public void invalidate() {
+         json = null;
+      }
+   }
+
 }
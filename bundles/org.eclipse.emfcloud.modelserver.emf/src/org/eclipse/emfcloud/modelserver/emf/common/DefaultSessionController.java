@@ -12,6 +12,8 @@ package org.eclipse.emfcloud.modelserver.emf.common;
 
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.LIVE_VALIDATION;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.TIMEOUT;
+import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2.COALESCE;
+import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2.LIVE_VALIDATION_DELTA;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2.PATHS;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2.PATHS_URI_FRAGMENTS;
 import static org.eclipse.emfcloud.modelserver.emf.common.JsonResponse.dirtyState;
@@ -20,9 +22,6 @@ import static org.eclipse.emfcloud.modelserver.emf.common.JsonResponse.validatio
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest.getBooleanParam;
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest.getLongParam;
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest.isMessageType;
-import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.dirtyState;
-import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.keepAlive;
-import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.success;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,6 +30,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -39,7 +41,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.change.ChangeDescription;
 import org.eclipse.emfcloud.modelserver.command.CCommandExecutionResult;
+import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2;
 import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.codecs.CodecsManager;
 import org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest;
@@ -47,9 +51,11 @@ import org.eclipse.emfcloud.modelserver.emf.util.JsonPatchHelper;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 import org.jetbrains.annotations.Nullable;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 
@@ -75,6 +81,31 @@ public class DefaultSessionController implements SessionController {
    @Inject
    protected JsonPatchHelper patchHelper;
 
+   protected BroadcastDispatcher broadcastDispatcher;
+
+   /** The synchronizer of the model actions, in which sessions are resynced exclusively of commands. */
+   @Inject(optional = true)
+   protected ModelSynchronizer synchronizer;
+
+   /** Pending updates of the sessions that coalesce their updates. */
+   protected final Map<WsContext, CoalescedUpdates> coalescedUpdates = new ConcurrentHashMap<>();
+
+   /** Sessions receiving validation deltas that have received the full validation result to apply them to. */
+   protected final Set<WsContext> validationDeltaBaselines = ConcurrentHashMap.newKeySet();
+
+   private final Supplier<ScheduledExecutorService> coalescingTimer = Suppliers
+      .memoize(() -> Executors.newSingleThreadScheduledExecutor(runnable -> {
+         Thread result = new Thread(runnable, DefaultSessionController.class.getSimpleName() + "-coalescing");
+         result.setDaemon(true);
+         return result;
+      }));
+
+   @Inject(optional = true)
+   public void setBroadcastDispatcher(final BroadcastDispatcher broadcastDispatcher) {
+      this.broadcastDispatcher = broadcastDispatcher;
+      broadcastDispatcher.setResyncHandler(this::resync);
+   }
+
    @Override
    public boolean subscribe(final WsContext client, final String modeluri) {
       if (!this.modelRepository.hasModel(modeluri)) {
@@ -83,8 +114,8 @@ public class DefaultSessionController implements SessionController {
       Long timeout = getLongParam(client, TIMEOUT).orElse(SessionController.NO_TIMEOUT);
       modelUrisToClients.computeIfAbsent(modeluri, clients -> ConcurrentHashMap.newKeySet()).add(client);
       client.session.setIdleTimeout(timeout);
-      success(client);
-      dirtyState(client, modelRepository.getDirtyState(modeluri));
+      send(client, JsonResponse.success(client.getSessionId()));
+      send(client, dirtyState(modelRepository.getDirtyState(modeluri)));
       return true;
    }
 
@@ -94,6 +125,10 @@ public class DefaultSessionController implements SessionController {
          return false;
       }
       Long timeout = getLongParam(client, TIMEOUT).orElse(SessionController.NO_TIMEOUT);
+      boolean dirty = modelRepository.getDirtyState(modeluri);
+      if (getCoalesceWindow(client) > 0) {
+         coalescedUpdates.put(client, new CoalescedUpdates(dirty));
+      }
       modelUrisToClientsV2.computeIfAbsent(modeluri, clients -> ConcurrentHashMap.newKeySet()).add(client);
       client.session.setIdleTimeout(timeout);
 
@@ -101,8 +136,8 @@ public class DefaultSessionController implements SessionController {
       patchHelper.setNeedObjectURIMappings(modelUrisToClientsV2.values().stream()
          .flatMap(Set::stream).anyMatch(this::isPathsAsURIFragments));
 
-      success(client);
-      dirtyState(client, modelRepository.getDirtyState(modeluri));
+      send(client, JsonResponse.success(client.getSessionId()));
+      send(client, dirtyState(dirty));
       return true;
    }
 
@@ -112,7 +147,25 @@ public class DefaultSessionController implements SessionController {
          return false;
       }
 
-      Iterator<Map.Entry<String, Set<WsContext>>> modelUriToClients = modelUrisToClients.entrySet().iterator();
+      removeClient(modelUrisToClients, client);
+      removeClient(modelUrisToClientsV2, client);
+      coalescedUpdates.remove(client);
+      validationDeltaBaselines.remove(client);
+      if (broadcastDispatcher != null) {
+         broadcastDispatcher.close(client);
+      }
+      return true;
+   }
+
+   /**
+    * Remove a client from the subscribers of models, dropping the models that no longer have any subscriber, so
+    * that they are no longer considered to have a session.
+    *
+    * @param subscribers the subscribers of models
+    * @param client      the client to remove
+    */
+   private static void removeClient(final Map<String, Set<WsContext>> subscribers, final WsContext client) {
+      Iterator<Map.Entry<String, Set<WsContext>>> modelUriToClients = subscribers.entrySet().iterator();
       while (modelUriToClients.hasNext()) {
          Set<WsContext> clients = modelUriToClients.next().getValue();
          clients.remove(client);
@@ -120,7 +173,6 @@ public class DefaultSessionController implements SessionController {
             modelUriToClients.remove();
          }
       }
-      return true;
    }
 
    @Override
@@ -128,7 +180,7 @@ public class DefaultSessionController implements SessionController {
       if (!isClientSubscribed(clientMessage) || !isMessageType(clientMessage, JsonResponseType.KEEPALIVE)) {
          return false;
       }
-      keepAlive(clientMessage);
+      send(clientMessage, JsonResponse.keepAlive(clientMessage.getSessionId() + " stayin' alive!"));
       return true;
    }
 
@@ -166,7 +218,7 @@ public class DefaultSessionController implements SessionController {
       }
       broadcastIncrementalUpdates(modeluri, execution);
       broadcastDirtyState(modeluri, modelRepository.getDirtyState(modeluri));
-      broadcastValidation(modeluri);
+      broadcastValidationChanges(modeluri, Suppliers.ofInstance(execution));
    }
 
    @Override
@@ -182,7 +234,7 @@ public class DefaultSessionController implements SessionController {
       broadcastIncrementalUpdatesV2(patches);
 
       broadcastDirtyState(modeluri, modelRepository.getDirtyState(modeluri));
-      broadcastValidation(modeluri);
+      broadcastValidationChanges(modeluri, execution);
    }
 
    private void broadcastIncrementalUpdatesV1(final String modeluri,
@@ -247,25 +299,126 @@ public class DefaultSessionController implements SessionController {
       return modelUrisToClientsV2.containsKey(modeluri);
    }
 
+   @Override
+   public boolean hasSubscribers(final String modeluri) {
+      return hasSession(modeluri) || hasV2Session(modeluri);
+   }
+
    protected void broadcastValidation(final String modeluri) {
       if (hasOpenValidationSessions(modeluri)) {
-         broadcastValidation(modeluri, modelValidator.validate(modeluri));
+         broadcastValidation(modeluri, modelValidator.validateAndReport(modeluri));
+      } else {
+         // Later validation deltas cannot be based on the current validation results
+         modelValidator.invalidate(modeluri);
+      }
+   }
+
+   /**
+    * Broadcast the validation of the changes made by a command execution. Sessions that requested
+    * {@linkplain ModelServerPathParametersV2#LIVE_VALIDATION_DELTA validation deltas} receive only the
+    * diagnostics that changed once they have received a full validation result, and nothing if none changed.
+    *
+    * @param modeluri  the model that changed
+    * @param execution the command execution
+    */
+   protected void broadcastValidationChanges(final String modeluri,
+      final Supplier<? extends CCommandExecutionResult> execution) {
+      if (!hasOpenValidationSessions(modeluri)) {
+         modelValidator.invalidate(modeluri);
+         return;
       }
+
+      CCommandExecutionResult result = execution.get();
+      ChangeDescription changes = result != null && result.getChangeDescription() instanceof ChangeDescription
+         ? (ChangeDescription) result.getChangeDescription()
+         : null;
+      Optional<JsonNode> delta = modelValidator.validateChanges(modeluri, changes);
+      if (delta.isEmpty()) {
+         broadcastValidation(modeluri, modelValidator.validateAndReport(modeluri));
+         return;
+      }
+
+      boolean unchanged = delta.get().path(ValidationMapperModule.CHANGED).isEmpty()
+         && delta.get().path(ValidationMapperModule.CLEARED).isEmpty();
+      final JsonNode deltaMessage = JsonResponse.validationDelta(delta.get());
+      final Supplier<String> deltaFrame = Suppliers.memoize(() -> frame(deltaMessage));
+      final Supplier<JsonNode> fullMessage = Suppliers
+         .memoize(() -> validationResult(modelValidator.getValidationResult(modeluri)));
+      final Supplier<String> fullFrame = Suppliers.memoize(() -> frame(fullMessage.get()));
+
+      getOpenValidationSessions(modeluri).forEach(session -> {
+         boolean sendDelta = validationDeltaBaselines.contains(session);
+         if (sendDelta && unchanged) {
+            return;
+         }
+         if (!sendDelta && isValidationDelta(session)) {
+            validationDeltaBaselines.add(session);
+         }
+
+         CoalescedUpdates coalesced = coalescedUpdates.get(session);
+         if (coalesced == null) {
+            send(session, sendDelta ? deltaFrame.get() : fullFrame.get());
+         } else if (sendDelta ? coalesced.addValidationDelta(deltaMessage)
+            : coalesced.setValidationResult(fullMessage.get())) {
+            scheduleFlush(session);
+         }
+      });
    }
 
    protected void broadcastFullUpdate(final String modeluri, @Nullable final EObject updatedModel) {
       if (modelUrisToClients.containsKey(modeluri) || modelUrisToClientsV2.containsKey(modeluri)) {
-         getAllOpenSessions(modeluri).forEach(session -> broadcastFullUpdate(modeluri, updatedModel, session));
+         // The encoding depends only on the format, so encode once for all sessions sharing a format
+         Map<String, Optional<String>> frames = new HashMap<>();
+         getAllOpenSessions(modeluri).forEach(session -> frames
+            .computeIfAbsent(encoder.findFormat(session), format -> encodeFullUpdate(modeluri, updatedModel, session))
+            .ifPresent(frame -> sendFullUpdate(session, frame)));
+      }
+   }
+
+   protected void sendFullUpdate(final WsContext session, final String fullUpdate) {
+      CoalescedUpdates coalesced = coalescedUpdates.get(session);
+      if (coalesced == null) {
+         send(session, fullUpdate);
+      } else {
+         synchronized (coalesced) {
+            // The full update supersedes the pending incremental updates
+            coalesced.discardPatch();
+            send(session, fullUpdate);
+         }
+      }
+   }
+
+   /**
+    * Encode the full update message for a model in the format requested by a session.
+    *
+    * @param modeluri     the model that was updated
+    * @param updatedModel the updated model, or {@code null} if it was deleted
+    * @param session      a session representative of the format to encode
+    * @return the serialized update message, or empty if the model could not be encoded
+    */
+   protected Optional<String> encodeFullUpdate(final String modeluri, @Nullable final EObject updatedModel,
+      final WsContext session) {
+      try {
+         // Write the model directly into the frame, without encoding it as a JSON tree, first
+         return Optional.of(JsonResponse.serialize(JsonResponseType.FULLUPDATE, updatedModel == null
+            // model has been deleted
+            ? JsonGenerator::writeNull
+            : generator -> encoder.encode(modeluri, session, updatedModel, generator)));
+      } catch (EncodingException e) {
+         LOG.error("Broadcast full update of " + modeluri + " failed", e);
+         return Optional.empty();
       }
    }
 
+   /** @deprecated full updates are encoded once per format by {@link #encodeFullUpdate(String, EObject, WsContext)} */
+   @Deprecated
    protected void broadcastFullUpdate(final String modeluri, final EObject updatedModel, final WsContext session) {
       try {
          if (updatedModel == null) {
             // model has been deleted
-            session.send(fullUpdate(NullNode.getInstance()));
+            send(session, fullUpdate(NullNode.getInstance()));
          } else {
-            session.send(fullUpdate(encoder.encode(modeluri, session, updatedModel)));
+            send(session, fullUpdate(encoder.encode(modeluri, session, updatedModel)));
          }
       } catch (EncodingException e) {
          LOG.error("Broadcast full update of " + modeluri + " failed", e);
@@ -274,19 +427,57 @@ public class DefaultSessionController implements SessionController {
 
    protected void broadcastIncrementalUpdates(final String modeluri, final CCommandExecutionResult execution) {
       Map<String, JsonNode> updates = encodeIfPresent(modeluri, execution);
-      getOpenSessions(modeluri).forEach(session -> broadcastIncrementalUpdate(session, updates));
+      Map<String, String> frames = new HashMap<>();
+      getOpenSessions(modeluri).forEach(session -> broadcastIncrementalUpdate(session, updates, frames));
    }
 
    protected void broadcastIncrementalUpdatesV2(final String modeluri, final JsonNode jsonPatch) {
+      // Sessions differ only in the scheme of the patch paths, so prepare at most one message per scheme
+      Map<Boolean, JsonNode> patches = new HashMap<>(2);
+      Map<Boolean, String> frames = new HashMap<>(2);
       getOpenSessionsV2(modeluri).forEach(session -> {
-         if (isPathsAsURIFragments(session)) {
-            session.send(JsonResponse.incrementalUpdate(rewritePathsAsURIFragments(session, jsonPatch)));
-         } else {
-            session.send(JsonResponse.incrementalUpdate(jsonPatch));
+         boolean uriFragments = isPathsAsURIFragments(session);
+         JsonNode patch = patches.computeIfAbsent(uriFragments,
+            key -> uriFragments ? rewritePathsAsURIFragments(session, jsonPatch) : jsonPatch);
+
+         CoalescedUpdates coalesced = coalescedUpdates.get(session);
+         if (coalesced == null) {
+            send(session, frames.computeIfAbsent(uriFragments, key -> frame(JsonResponse.incrementalUpdate(patch))));
+         } else if (coalesced.addPatch(patch)) {
+            scheduleFlush(session);
          }
       });
    }
 
+   /**
+    * Get the time window over which a session {@linkplain ModelServerPathParametersV2#COALESCE coalesces}
+    * its updates.
+    *
+    * @param session a subscriber session
+    * @return the coalescing window in milliseconds, or zero if the session does not coalesce its updates
+    */
+   protected long getCoalesceWindow(final WsContext session) {
+      return getLongParam(session, COALESCE).filter(window -> window > 0).orElse(0L);
+   }
+
+   protected void scheduleFlush(final WsContext session) {
+      coalescingTimer.get().schedule(() -> flush(session), getCoalesceWindow(session), TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Send the coalesced updates pending for a session.
+    *
+    * @param session a session that coalesces its updates
+    */
+   protected void flush(final WsContext session) {
+      CoalescedUpdates coalesced = coalescedUpdates.get(session);
+      if (coalesced != null && session.session.isOpen()) {
+         synchronized (coalesced) {
+            coalesced.flush().forEach(message -> send(session, frame(message)));
+         }
+      }
+   }
+
    protected boolean isPathsAsURIFragments(final WsContext session) {
       return ContextRequest.getParam(session, PATHS).filter(PATHS_URI_FRAGMENTS::equalsIgnoreCase).isPresent();
    }
@@ -309,23 +500,126 @@ public class DefaultSessionController implements SessionController {
    }
 
    private void broadcastIncrementalUpdate(final WsContext session,
-      final Map<String, JsonNode> updates) {
+      final Map<String, JsonNode> updates, final Map<String, String> frames) {
       String sessionFormat = encoder.findFormat(session);
-      JsonNode update = updates.get(sessionFormat);
-      session.send(JsonResponse.incrementalUpdate(update));
+      send(session, frames.computeIfAbsent(sessionFormat,
+         format -> frame(JsonResponse.incrementalUpdate(updates.get(format)))));
    }
 
    protected void broadcastDirtyState(final String modeluri, final Boolean isDirty) {
-      getAllOpenSessions(modeluri).forEach(session -> session.send(dirtyState(isDirty)));
+      Supplier<String> dirtyStateFrame = Suppliers.memoize(() -> frame(dirtyState(isDirty)));
+      getAllOpenSessions(modeluri).forEach(session -> {
+         CoalescedUpdates coalesced = coalescedUpdates.get(session);
+         if (coalesced == null) {
+            send(session, dirtyStateFrame.get());
+         } else if (coalesced.setDirtyState(isDirty)) {
+            scheduleFlush(session);
+         }
+      });
    }
 
    protected void broadcastValidation(final String modeluri, final JsonNode newResult) {
       if (hasOpenValidationSessions(modeluri)) {
          final JsonNode validationResult = validationResult(newResult);
-         getOpenValidationSessions(modeluri).forEach(session -> session.send(validationResult));
+         final Supplier<String> validationFrame = Suppliers.memoize(() -> frame(validationResult));
+         getOpenValidationSessions(modeluri).forEach(session -> {
+            if (isValidationDelta(session)) {
+               validationDeltaBaselines.add(session);
+            }
+            CoalescedUpdates coalesced = coalescedUpdates.get(session);
+            if (coalesced == null) {
+               send(session, validationFrame.get());
+            } else if (coalesced.setValidationResult(validationResult)) {
+               scheduleFlush(session);
+            }
+         });
+      }
+   }
+
+   /**
+    * Send a message to a session via the {@link BroadcastDispatcher}, if there is one, so that slow
+    * sessions do not hold up the sender.
+    *
+    * @param session the recipient session
+    * @param message the message, either serialized or to be serialized as JSON
+    */
+   protected void send(final WsContext session, final Object message) {
+      if (broadcastDispatcher != null) {
+         broadcastDispatcher.send(session, message);
+      } else if (message instanceof String) {
+         session.send((String) message);
+      } else {
+         session.send(message);
       }
    }
 
+   /**
+    * Bring a session back in sync with its model by sending it the full model, after the
+    * {@link BroadcastDispatcher} dropped the messages that it could not keep up with. The resync is
+    * performed on the model's {@linkplain ModelSynchronizer synchronizer}, so that the updates of any command
+    * on the model are either included in the full model or sent after it.
+    *
+    * @param session the session to resync
+    */
+   protected void resync(final WsContext session) {
+      Optional<String> modeluri = getSubscribedModelURI(session);
+      if (synchronizer != null && modeluri.isPresent()) {
+         synchronizer.syncExec(modeluri.get(), () -> resync(session, modeluri));
+      } else {
+         resync(session, modeluri);
+      }
+   }
+
+   /**
+    * Resync a session with the full model to which it is subscribed, or else disconnect it.
+    *
+    * @param session  the session to resync
+    * @param modeluri the URI of the model to which it is subscribed, if any
+    */
+   protected void resync(final WsContext session, final Optional<String> modeluri) {
+      Optional<String> fullUpdate = modeluri
+         .flatMap(uri -> encodeFullUpdate(uri, modelRepository.getModel(uri).orElse(null), session));
+      if (fullUpdate.isEmpty()) {
+         LOG.error("Could not resync session " + session.getSessionId() + ". Disconnecting it.");
+         broadcastDispatcher.close(session);
+         session.closeSession();
+         return;
+      }
+      // Validation messages may have been dropped, so the next validation must be in full
+      validationDeltaBaselines.remove(session);
+
+      String dirtyState = frame(dirtyState(modelRepository.getDirtyState(modeluri.get())));
+      CoalescedUpdates coalesced = coalescedUpdates.get(session);
+      if (coalesced == null) {
+         broadcastDispatcher.resync(session, fullUpdate.get(), dirtyState);
+      } else {
+         synchronized (coalesced) {
+            // The full update supersedes the pending incremental updates, which must not be flushed after it
+            coalesced.discardPatch();
+            broadcastDispatcher.resync(session, fullUpdate.get(), dirtyState);
+         }
+      }
+   }
+
+   protected Optional<String> getSubscribedModelURI(final WsContext session) {
+      return Stream.concat(modelUrisToClients.entrySet().stream(), modelUrisToClientsV2.entrySet().stream())
+         .filter(entry -> entry.getValue().contains(session))
+         .map(Map.Entry::getKey)
+         .findAny();
+   }
+
+   /**
+    * Serialize a message for broadcast to any number of sessions, so that it is serialized only once
+    * and not again for every recipient.
+    *
+    * @param message a message to broadcast
+    * @return the serialized message
+    */
+   protected String frame(final JsonNode message) {
+      // Jackson nodes serialize themselves as compact JSON
+      return message.toString();
+   }
+
    /**
     * Return a stream of all open sessions (API V1 and API V2) for the specified model.
     *
@@ -367,12 +661,17 @@ public class DefaultSessionController implements SessionController {
    }
 
    protected void broadcastError(final String modeluri, final String errorMessage) {
-      getOpenSessions(modeluri).forEach(session -> session.send(JsonResponse.error(errorMessage)));
-      getOpenSessionsV2(modeluri).forEach(session -> session.send(JsonResponse.error(errorMessage)));
+      Supplier<String> errorFrame = Suppliers.memoize(() -> frame(JsonResponse.error(errorMessage)));
+      getAllOpenSessions(modeluri).forEach(session -> send(session, errorFrame.get()));
    }
 
    protected boolean requiresLiveValidation(final WsContext client) {
-      return getBooleanParam(client, LIVE_VALIDATION).orElse(false);
+      return getBooleanParam(client, LIVE_VALIDATION).orElse(false) || isValidationDelta(client);
+   }
+
+   protected boolean isValidationDelta(final WsContext client) {
+      return ContextRequest.getParam(client, LIVE_VALIDATION).filter(LIVE_VALIDATION_DELTA::equalsIgnoreCase)
+         .isPresent();
    }
 
    protected boolean isClientSubscribed(final WsContext ctx) {
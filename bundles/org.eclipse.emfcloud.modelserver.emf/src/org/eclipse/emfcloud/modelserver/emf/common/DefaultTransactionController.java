@@ -19,11 +19,11 @@ import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.s
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
@@ -74,7 +74,7 @@ public class DefaultTransactionController implements TransactionController {
    protected final JsonPatchHelper jsonPatchHelper;
 
    /** Map of URL path ID portion (e.g., last segment of "/api/v2/transaction/<transaction-id>") to transaction. */
-   private final Map<String, TransactionContext> transactions = new LinkedHashMap<>();
+   private final Map<String, TransactionContext> transactions = new ConcurrentHashMap<>();
 
    @Inject
    public DefaultTransactionController(final ModelRepository modelRepository, final SessionController sessionController,
@@ -197,13 +197,17 @@ public class DefaultTransactionController implements TransactionController {
    }
 
    protected Optional<Message<JsonNode>> readMessage(final WsMessageContext ctx) {
-      return ContextRequest.readMessage(ctx)
+      return ContextRequest.readMessageNode(ctx)
          .flatMap(msg -> {
             switch (msg.getType()) {
                case JsonRequestType.EXECUTE:
                   return msg.as(json -> {
+                     if (!json.isTextual()) {
+                        return json;
+                     }
+                     // The command is JSON embedded in a string
                      try {
-                        return objectMapper.readTree(json);
+                        return objectMapper.readTree(json.textValue());
                      } catch (JsonProcessingException e) {
                         // TODO: Return an error node?
                         return null;
@@ -10,10 +10,18 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+
+import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 import org.jetbrains.annotations.Nullable;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -25,6 +33,14 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public final class JsonResponse {
 
+   /**
+    * Factory of generators that write compact JSON. The generators leave their target open and do not complete
+    * the JSON content on closing, so that a response that fails part way is not mistaken for a complete one.
+    */
+   private static final JsonFactory GENERATOR_FACTORY = new MappingJsonFactory()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
    private JsonResponse() {}
 
    private static ObjectNode type(final String responseType) {
@@ -70,6 +86,10 @@ public final class JsonResponse {
       return Json.merge(validationResult(), data(message));
    }
 
+   public static JsonNode validationDelta(final JsonNode jsonNode) {
+      return Json.merge(type(JsonResponseType.VALIDATIONDELTA), data(jsonNode));
+   }
+
    public static ObjectNode warning() {
       return type(JsonResponseType.WARNING);
    }
@@ -86,6 +106,10 @@ public final class JsonResponse {
       return Json.merge(error(), data(message));
    }
 
+   public static JsonNode error(@Nullable final JsonNode jsonNode) {
+      return Json.merge(error(), data(jsonNode));
+   }
+
    public static JsonNode fullUpdate(@Nullable final JsonNode jsonNode) {
       return Json.merge(type(JsonResponseType.FULLUPDATE), data(jsonNode));
    }
@@ -101,4 +125,69 @@ public final class JsonResponse {
    public static JsonNode keepAlive(final String message) {
       return Json.merge(type(JsonResponseType.KEEPALIVE), data(message));
    }
+
+   /**
+    * Create a generator that writes compact JSON to a {@code stream}. The stream is not closed with the generator.
+    *
+    * @param stream the stream to write
+    * @return the generator
+    * @throws IOException on failure to create the generator
+    */
+   public static JsonGenerator createGenerator(final OutputStream stream) throws IOException {
+      return GENERATOR_FACTORY.createGenerator(stream);
+   }
+
+   /**
+    * Write a response directly to a JSON {@code generator}, with its data written by the given {@code data}
+    * writer so that the data need not be encoded as a JSON tree, first.
+    *
+    * @param generator    the generator to which to write the response
+    * @param responseType the response type
+    * @param data         the writer of the response data
+    * @throws IOException       on failure to write the response
+    * @throws EncodingException on failure to encode the response data
+    */
+   public static void write(final JsonGenerator generator, final String responseType, final DataWriter data)
+      throws IOException, EncodingException {
+      generator.writeStartObject();
+      generator.writeStringField(JsonResponseMember.TYPE, responseType);
+      generator.writeFieldName(JsonResponseMember.DATA);
+      data.write(generator);
+      generator.writeEndObject();
+      generator.flush();
+   }
+
+   /**
+    * Serialize a response as compact JSON, with its data written by the given {@code data} writer so that the
+    * data need not be encoded as a JSON tree, first.
+    *
+    * @param responseType the response type
+    * @param data         the writer of the response data
+    * @return the serialized response
+    * @throws EncodingException on failure to encode the response data
+    */
+   public static String serialize(final String responseType, final DataWriter data) throws EncodingException {
+      StringWriter result = new StringWriter();
+      try (JsonGenerator generator = GENERATOR_FACTORY.createGenerator(result)) {
+         write(generator, responseType, data);
+      } catch (IOException e) {
+         throw new EncodingException(e);
+      }
+      return result.toString();
+   }
+
+   /**
+    * A writer of the data of a response.
+    */
+   @FunctionalInterface
+   public interface DataWriter {
+      /**
+       * Write the response data as a single JSON value.
+       *
+       * @param generator the generator to which to write the data
+       * @throws IOException       on failure to write the data
+       * @throws EncodingException on failure to encode the data
+       */
+      void write(JsonGenerator generator) throws IOException, EncodingException;
+   }
 }
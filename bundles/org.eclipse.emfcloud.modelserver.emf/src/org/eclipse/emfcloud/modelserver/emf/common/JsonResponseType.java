@@ -19,6 +19,7 @@ public interface JsonResponseType {
    String INCREMENTALUPDATE = "incrementalUpdate";
    String DIRTYSTATE = "dirtyState";
    String VALIDATIONRESULT = "validationResult";
+   String VALIDATIONDELTA = "validationDelta";
    String KEEPALIVE = "keepAlive";
 
 }
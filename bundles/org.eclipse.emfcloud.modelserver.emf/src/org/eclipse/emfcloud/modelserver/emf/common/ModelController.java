@@ -10,6 +10,8 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.util.List;
+
 import org.eclipse.emfcloud.modelserver.command.CCommand;
 import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV2;
 
@@ -28,14 +30,48 @@ public interface ModelController {
 
    void getModelElementById(Context ctx, String modeluri, String elementid);
 
+   /**
+    * Get the elements of a model that have any of the given identifiers, mapped by their identifiers.
+    *
+    * @param ctx
+    * @param modeluri
+    * @param elementids
+    */
+   void getModelElementsById(Context ctx, String modeluri, List<String> elementids);
+
    void getModelElementByName(Context ctx, String modeluri, String elementname);
 
+   /**
+    * Get the elements of a model that are of the given type or of its subtypes. The type is given by the name or
+    * the URI of its EClass.
+    *
+    * @param ctx
+    * @param modeluri
+    * @param elementtype
+    */
+   void getModelElementsByType(Context ctx, String modeluri, String elementtype);
+
+   /**
+    * Get the references to an element of a model from other objects, for example to find where it is used
+    * before deleting it.
+    *
+    * @param ctx
+    * @param modeluri
+    * @param elementid
+    */
+   void getModelElementUsages(Context ctx, String modeluri, String elementid);
+
    void getModelUris(Context ctx);
 
    void update(Context ctx, String modeluri);
 
    void save(Context ctx, String modeluri);
 
+   /**
+    * Save all dirty models. The response data map the URI of each dirty model to whether it was saved.
+    *
+    * @param ctx
+    */
    void saveAll(Context ctx);
 
    void validate(Context ctx, String modeluri);
@@ -0,0 +1,211 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * An index of the elements of a model resource by their identifier, name, and type, so that they are looked up
+ * without traversing the model. The index is built when it is first requested and then kept up to date with the
+ * changes of the model, as a content adapter. Only the intrinsic identifiers of the elements, in their ID attribute,
+ * are indexed, as the resource already indexes the identifiers that it assigns, such as {@code xmi:id}s.
+ */
+public class ModelElementIndex extends EContentAdapter {
+
+   /** The name of the feature by which elements are looked up by name. */
+   public static final String NAME_FEATURE = "name";
+
+   private final Map<String, EObject> ids = new HashMap<>();
+   private final Map<String, Set<EObject>> names = new HashMap<>();
+   private final Map<EClass, Set<EObject>> types = new HashMap<>();
+
+   /**
+    * Get the index of a resource, creating it if necessary.
+    *
+    * @param resource a model resource
+    * @return the index of the resource
+    */
+   public static ModelElementIndex getIndex(final Resource resource) {
+      synchronized (resource.eAdapters()) {
+         Adapter existing = EcoreUtil.getExistingAdapter(resource, ModelElementIndex.class);
+         if (existing instanceof ModelElementIndex) {
+            return (ModelElementIndex) existing;
+         }
+         ModelElementIndex result = new ModelElementIndex();
+         resource.eAdapters().add(result);
+         return result;
+      }
+   }
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return type == ModelElementIndex.class;
+   }
+
+   /**
+    * Get the element that has an identifier.
+    *
+    * @param id the identifier
+    * @return the element, if any
+    */
+   public synchronized Optional<EObject> getById(final String id) {
+      return Optional.ofNullable(ids.get(id));
+   }
+
+   /**
+    * Get the elements that have a name, in the order of their containment in the model, as a traversal of its
+    * contents would find them. So the first of them is the one that a look-up by name has always answered.
+    *
+    * @param name the name
+    * @return the elements, possibly none
+    */
+   public synchronized List<EObject> getByName(final String name) {
+      List<EObject> result = new ArrayList<>(names.getOrDefault(name, Collections.emptySet()));
+      if (result.size() > 1) {
+         // The index follows the order of the changes of the model, which is not that of its contents
+         Map<EObject, int[]> paths = new HashMap<>();
+         result.forEach(element -> paths.put(element, getContainmentPath(element)));
+         result.sort((element1, element2) -> Arrays.compare(paths.get(element1), paths.get(element2)));
+      }
+      return Collections.unmodifiableList(result);
+   }
+
+   /**
+    * Get the elements of the types that match a predicate, including the elements of their subtypes.
+    *
+    * @param type the predicate on the types
+    * @return the elements, possibly none
+    */
+   public synchronized List<EObject> getByType(final Predicate<? super EClass> type) {
+      List<EObject> result = new ArrayList<>();
+      types.forEach((eClass, elements) -> {
+         if (type.test(eClass) || eClass.getEAllSuperTypes().stream().anyMatch(type)) {
+            result.addAll(elements);
+         }
+      });
+      return result;
+   }
+
+   @Override
+   protected void setTarget(final EObject target) {
+      index(target);
+      super.setTarget(target);
+   }
+
+   @Override
+   protected void unsetTarget(final EObject target) {
+      super.unsetTarget(target);
+      unindex(target);
+   }
+
+   @Override
+   public void notifyChanged(final Notification notification) {
+      super.notifyChanged(notification);
+
+      Object feature = notification.getFeature();
+      if (notification.getNotifier() instanceof EObject && feature instanceof EAttribute
+         && !notification.isTouch()) {
+         EObject element = (EObject) notification.getNotifier();
+         EAttribute attribute = (EAttribute) feature;
+         if (isNameFeature(attribute)) {
+            synchronized (this) {
+               remove(names, notification.getOldValue(), element);
+               addName(notification.getNewValue(), element);
+            }
+         }
+         if (attribute == element.eClass().getEIDAttribute()) {
+            synchronized (this) {
+               Optional.ofNullable(notification.getOldValue())
+                  .map(id -> EcoreUtil.convertToString(attribute.getEAttributeType(), id))
+                  .ifPresent(id -> ids.remove(id, element));
+               Optional.ofNullable(EcoreUtil.getID(element)).ifPresent(id -> ids.put(id, element));
+            }
+         }
+      }
+   }
+
+   protected synchronized void index(final EObject element) {
+      Optional.ofNullable(EcoreUtil.getID(element)).ifPresent(id -> ids.put(id, element));
+      getName(element).ifPresent(name -> addName(name, element));
+      types.computeIfAbsent(element.eClass(), eClass -> new LinkedHashSet<>()).add(element);
+   }
+
+   protected synchronized void unindex(final EObject element) {
+      Optional.ofNullable(EcoreUtil.getID(element)).ifPresent(id -> ids.remove(id, element));
+      getName(element).ifPresent(name -> remove(names, name, element));
+      remove(types, element.eClass(), element);
+   }
+
+   protected Optional<String> getName(final EObject element) {
+      EStructuralFeature name = element.eClass().getEStructuralFeature(NAME_FEATURE);
+      return name != null && isNameFeature(name)
+         ? Optional.ofNullable(element.eGet(name)).filter(String.class::isInstance).map(String.class::cast)
+         : Optional.empty();
+   }
+
+   protected boolean isNameFeature(final EStructuralFeature feature) {
+      return feature instanceof EAttribute && !feature.isMany() && NAME_FEATURE.equals(feature.getName());
+   }
+
+   /**
+    * Get the positions of an element and of its containers in their containing lists, from the root of the model.
+    * Comparing these paths lexicographically gives the pre-order of the contents of the model.
+    *
+    * @param element an element of the model
+    * @return the containment path of the element
+    */
+   protected static int[] getContainmentPath(final EObject element) {
+      Deque<Integer> result = new ArrayDeque<>();
+      EObject current = element;
+      for (EObject container = current.eContainer(); container != null; container = current.eContainer()) {
+         result.push(container.eContents().indexOf(current));
+         current = container;
+      }
+      Resource resource = current.eResource();
+      result.push(resource != null ? resource.getContents().indexOf(current) : 0);
+      return result.stream().mapToInt(Integer::intValue).toArray();
+   }
+
+   private void addName(final Object name, final EObject element) {
+      if (name instanceof String) {
+         names.computeIfAbsent((String) name, key -> new LinkedHashSet<>()).add(element);
+      }
+   }
+
+   private static <K> void remove(final Map<K, Set<EObject>> index, final Object key, final EObject element) {
+      Set<EObject> elements = index.get(key);
+      if (elements != null && elements.remove(element) && elements.isEmpty()) {
+         index.remove(key);
+      }
+   }
+
+}
@@ -10,6 +10,7 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -63,4 +64,14 @@ public interface ModelListener {
    void modelSaved(String modeluri);
 
    void allModelsSaved();
+
+   /**
+    * Notifies of a bulk change of the models in the workspace, such as by a version control operation, after each
+    * of the models has been notified of its own change.
+    *
+    * @param modeluris the URIs of the changed models
+    */
+   default void modelsChanged(final Collection<String> modeluris) {
+      // Nothing to do by default
+   }
 }
@@ -11,12 +11,17 @@
 package org.eclipse.emfcloud.modelserver.emf.common;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emfcloud.modelserver.command.CCommand;
 import org.eclipse.emfcloud.modelserver.command.CCommandExecutionResult;
@@ -47,8 +52,21 @@ public interface ModelRepository {
 
    Optional<EObject> getModelElementById(String modeluri, String elementid);
 
+   Map<String, EObject> getModelElementsById(String modeluri, List<String> elementids);
+
    Optional<EObject> getModelElementByName(String modeluri, String elementname);
 
+   List<EObject> getModelElementsByType(String modeluri, String elementtype);
+
+   /**
+    * Find the references to an element of a model from the other objects in its resource set.
+    *
+    * @param modeluri  the model URI
+    * @param elementid the ID of the referenced element
+    * @return the references to the element, or an empty optional if there is no such element
+    */
+   Optional<Collection<EStructuralFeature.Setting>> getModelElementUsages(String modeluri, String elementid);
+
    void addModel(String modeluri, EObject model) throws IOException;
 
    void deleteModel(String modeluri) throws IOException;
@@ -65,6 +83,22 @@ public interface ModelRepository {
 
    boolean saveAllModels();
 
+   /**
+    * Save all dirty models, reporting the result for each of them. By default, the dirty models among the
+    * {@linkplain #getAbsoluteModelUris() models} are saved one after the other.
+    *
+    * @return whether each dirty model was saved, by model URI
+    */
+   default Map<URI, Boolean> saveDirtyModels() {
+      Map<URI, Boolean> result = new LinkedHashMap<>();
+      for (String modeluri : getAbsoluteModelUris()) {
+         if (getDirtyState(modeluri)) {
+            result.put(URI.createURI(modeluri), saveModel(modeluri));
+         }
+      }
+      return result;
+   }
+
    boolean getDirtyState(String modeluri);
 
    /**
@@ -98,6 +132,21 @@ public interface ModelRepository {
       throw new UnsupportedOperationException("V2 API is not supported by this implementation");
    }
 
+   /**
+    * Execute a command that applies the changes of the persisted resource of a model, made by another party, to
+    * the model. The command is undoable like any other, but the model is not dirty afterwards, as it then has
+    * the persisted content.
+    *
+    * @param modeluri
+    *                    The URI of the model to reconcile
+    * @param command
+    *                    The command that applies the persisted changes
+    * @return the command execution result
+    */
+   default CCommandExecutionResult reconcileModel(final String modeluri, final Command command) {
+      throw new UnsupportedOperationException("Reconciliation by command is not supported by this implementation");
+   }
+
    Optional<CCommandExecutionResult> undo(String modeluri);
 
    Optional<CCommandExecutionResult> redo(String modeluri);
@@ -12,9 +12,12 @@ package org.eclipse.emfcloud.modelserver.emf.common;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -46,8 +49,30 @@ public interface ModelResourceManager {
 
    ResourceSet getResourceSet(String modeluri);
 
+   /**
+    * Get the resource set of a model only if the model is loaded already, without loading it otherwise.
+    * Implementations that cannot tell whether a model is loaded answer empty.
+    *
+    * @param modeluri the URI of the model
+    * @return the resource set of the loaded model, or empty if the model is not loaded
+    */
+   default Optional<ResourceSet> getMaterializedResourceSet(final String modeluri) {
+      return Optional.empty();
+   }
+
    ModelServerEditingDomain getEditingDomain(ResourceSet resourceSet);
 
+   /**
+    * Get the URI of the main resource of the resource set that owns a model, which identifies the resource set
+    * and its editing domain, without loading the model. Implementations that cannot tell answer the model URI.
+    *
+    * @param modeluri the URI of the model
+    * @return the URI of the main resource of the model's resource set
+    */
+   default String getResourceSetURI(final String modeluri) {
+      return modeluri;
+   }
+
    Collection<ResourceSet> getAllLoadedResourceSets();
 
    Set<URI> getAllLoadedModelURIs();
@@ -80,8 +105,30 @@ public interface ModelResourceManager {
 
    boolean save(String modeluri);
 
+   /**
+    * Save all dirty models.
+    *
+    * @return whether all dirty models were saved
+    */
    boolean saveAll();
 
+   /**
+    * Save all dirty models, reporting the result for each of them. By default, the dirty models among the
+    * {@linkplain #getAllLoadedModelURIs() loaded models} are saved one after the other.
+    *
+    * @return whether each dirty model was saved, by model URI
+    */
+   default Map<URI, Boolean> saveDirtyModels() {
+      Map<URI, Boolean> result = new LinkedHashMap<>();
+      for (URI uri : getAllLoadedModelURIs()) {
+         String modeluri = uri.toString();
+         if (getDirtyState(modeluri)) {
+            result.put(uri, save(modeluri));
+         }
+      }
+      return result;
+   }
+
    boolean getDirtyState(String modeluri);
 
    /**
@@ -122,6 +169,21 @@ public interface ModelResourceManager {
       throw new UnsupportedOperationException("V2 API is not supported by this implementation");
    }
 
+   /**
+    * Execute a command that applies the changes of the persisted resource of a model, made by another party, to
+    * the model. The command is undoable like any other, but the model is not dirty afterwards, as it then has
+    * the persisted content.
+    *
+    * @param modeluri
+    *                    The URI of the model to reconcile
+    * @param command
+    *                    The command that applies the persisted changes
+    * @return the command execution result
+    */
+   default CCommandExecutionResult reconcile(final String modeluri, final Command command) {
+      throw new UnsupportedOperationException("Reconciliation by command is not supported by this implementation");
+   }
+
    /**
     * Run an action that composes one or more operations that change the mapping of managed resource sets,
     * which requires exclusive access to those mappings.
@@ -10,14 +10,26 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.command.CompoundCommand;
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.change.util.ChangeRecorder;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.edit.command.CommandParameter;
+import org.eclipse.emf.edit.command.DeleteCommand;
 import org.eclipse.emf.transaction.Transaction;
 import org.eclipse.emf.transaction.impl.TransactionalEditingDomainImpl;
 import org.eclipse.emfcloud.modelserver.command.CCommand;
@@ -28,6 +40,12 @@ public class ModelServerEditingDomain extends TransactionalEditingDomainImpl {
 
    private CompoundCommand openCompound;
 
+   private ChangeRecorder commandChangeRecorder;
+
+   private ECrossReferenceAdapter crossReferenceAdapter;
+
+   private final List<CompoundCommandListener> compoundCommandListeners = new CopyOnWriteArrayList<>();
+
    public ModelServerEditingDomain(final AdapterFactory adapterFactory, final ResourceSet resourceSet) {
       super(adapterFactory, new ModelServerCommandStack(), resourceSet);
       // turn off validation since we have our own validation mechanism
@@ -83,6 +101,95 @@ public class ModelServerEditingDomain extends TransactionalEditingDomainImpl {
       return false;
    }
 
+   /**
+    * Obtain the change recorder for the changes performed by commands in this editing domain.
+    * It is attached to the resource set on first use and stays attached until the domain is disposed,
+    * so that recording a command only needs to traverse the resource set once.
+    *
+    * @return the command change recorder
+    */
+   public ChangeRecorder getCommandChangeRecorder() {
+      if (commandChangeRecorder == null) {
+         commandChangeRecorder = new ChangeRecorder();
+      }
+      return commandChangeRecorder;
+   }
+
+   /**
+    * Obtain the index of the inverse references of the objects in the resource set of this editing domain.
+    * Like the {@link #getCommandChangeRecorder() command change recorder}, it is attached to the resource set
+    * on first use and then maintained incrementally until the domain is disposed. It does not resolve proxies,
+    * so that looking up references does not load other resources.
+    *
+    * @return the cross-reference adapter of the resource set
+    */
+   public synchronized ECrossReferenceAdapter getCrossReferenceAdapter() {
+      if (crossReferenceAdapter == null) {
+         crossReferenceAdapter = new ECrossReferenceAdapter() {
+            @Override
+            protected boolean resolve() {
+               return false;
+            }
+         };
+         getResourceSet().eAdapters().add(crossReferenceAdapter);
+      }
+      return crossReferenceAdapter;
+   }
+
+   /**
+    * Find the references to some objects from other objects in the resource set, excluding containment.
+    *
+    * @param eObjects the referenced objects
+    * @return the references to each object that is referenced
+    */
+   public Map<EObject, Collection<EStructuralFeature.Setting>> findUsages(final Collection<EObject> eObjects) {
+      ECrossReferenceAdapter adapter = getCrossReferenceAdapter();
+      Map<EObject, Collection<EStructuralFeature.Setting>> result = new LinkedHashMap<>();
+      for (EObject eObject : eObjects) {
+         List<EStructuralFeature.Setting> usages = adapter.getInverseReferences(eObject, false).stream()
+            .filter(setting -> isCrossReference(setting.getEStructuralFeature()))
+            .collect(Collectors.toList());
+         if (!usages.isEmpty()) {
+            result.put(eObject, usages);
+         }
+      }
+      return result;
+   }
+
+   private static boolean isCrossReference(final EStructuralFeature feature) {
+      return feature instanceof EReference && !((EReference) feature).isContainment()
+         && !((EReference) feature).isContainer();
+   }
+
+   @Override
+   public Command createCommand(final Class<? extends Command> commandClass,
+      final CommandParameter commandParameter) {
+      if (commandClass == DeleteCommand.class) {
+         // Find the references to delete in the index instead of the whole resource set
+         return new DeleteCommand(this, commandParameter.getCollection()) {
+            @Override
+            protected Map<EObject, Collection<EStructuralFeature.Setting>> findReferences(
+               final Collection<EObject> eObjects) {
+               return findUsages(eObjects);
+            }
+         };
+      }
+      return super.createCommand(commandClass, commandParameter);
+   }
+
+   @Override
+   public void dispose() {
+      if (commandChangeRecorder != null) {
+         commandChangeRecorder.dispose();
+         commandChangeRecorder = null;
+      }
+      if (crossReferenceAdapter != null) {
+         getResourceSet().eAdapters().remove(crossReferenceAdapter);
+         crossReferenceAdapter = null;
+      }
+      super.dispose();
+   }
+
    public boolean isDirty() { return ((ModelServerCommandStack) commandStack).isSaveNeeded(); }
 
    public void saveIsDone() {
@@ -106,6 +213,21 @@ public class ModelServerEditingDomain extends TransactionalEditingDomainImpl {
       openCompound = new OpenCompoundCommand();
    }
 
+   /**
+    * Query whether a compound command is open, collecting the commands executed meanwhile.
+    *
+    * @return whether a compound command is open
+    */
+   public boolean isCompoundCommandOpen() { return openCompound != null; }
+
+   public void addCompoundCommandListener(final CompoundCommandListener listener) {
+      compoundCommandListeners.add(listener);
+   }
+
+   public void removeCompoundCommandListener(final CompoundCommandListener listener) {
+      compoundCommandListeners.remove(listener);
+   }
+
    /**
     * Close the currently open compound command, pushing it onto the stack.
     *
@@ -136,6 +258,7 @@ public class ModelServerEditingDomain extends TransactionalEditingDomainImpl {
                // We applied a JSON Patch, so there is no client command
                execute(command);
             });
+      compoundCommandListeners.forEach(listener -> listener.compoundCommandClosed(this));
    }
 
    /**
@@ -159,6 +282,7 @@ public class ModelServerEditingDomain extends TransactionalEditingDomainImpl {
       } finally {
          command.dispose();
       }
+      compoundCommandListeners.forEach(listener -> listener.compoundCommandRolledBack(this));
    }
 
    /**
@@ -190,6 +314,25 @@ public class ModelServerEditingDomain extends TransactionalEditingDomainImpl {
    // Nested types
    //
 
+   /**
+    * A listener to the end of the compound commands opened in an editing domain.
+    */
+   public interface CompoundCommandListener {
+      /**
+       * The compound command was closed and pushed onto the stack.
+       *
+       * @param domain the editing domain of the compound command
+       */
+      void compoundCommandClosed(ModelServerEditingDomain domain);
+
+      /**
+       * The compound command was undone and discarded.
+       *
+       * @param domain the editing domain of the compound command
+       */
+      void compoundCommandRolledBack(ModelServerEditingDomain domain);
+   }
+
    /**
     * A specialized compound command for transactions that only supports the
     * {@linkplain #appendAndExecute(Command) append-and-execute} API for composing it.
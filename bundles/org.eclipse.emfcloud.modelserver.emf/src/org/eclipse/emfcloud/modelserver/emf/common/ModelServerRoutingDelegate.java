@@ -13,6 +13,7 @@ package org.eclipse.emfcloud.modelserver.emf.common;
 import static io.javalin.apibuilder.ApiBuilder.path;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.ELEMENT_ID;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.ELEMENT_NAME;
+import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.ELEMENT_TYPE;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.MODEL_URI;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1.SCHEMA_NAME;
 import static org.eclipse.emfcloud.modelserver.common.ModelServerPathsV1.SERVER_CONFIGURE;
@@ -22,6 +23,7 @@ import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.e
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.missingParameter;
 import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.modelNotFound;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -181,6 +183,12 @@ class ModelServerRoutingDelegate {
 
    protected void getModelElement(final Context ctx) {
       uriConverter.withResolvedModelURI(ctx, modelURI -> {
+         List<String> elementIds = ctx.queryParams(ELEMENT_ID);
+         if (elementIds.size() > 1) {
+            modelController.getModelElementsById(ctx, modelURI, elementIds);
+            return;
+         }
+
          Optional<String> elementId = getParam(ctx, ELEMENT_ID);
          if (elementId.isPresent()) {
             modelController.getModelElementById(ctx, modelURI, elementId.get());
@@ -193,10 +201,22 @@ class ModelServerRoutingDelegate {
             return;
          }
 
-         missingParameter(ctx, ELEMENT_ID + "' or '" + ELEMENT_NAME);
+         Optional<String> elementType = getParam(ctx, ELEMENT_TYPE);
+         if (elementType.isPresent()) {
+            modelController.getModelElementsByType(ctx, modelURI, elementType.get());
+            return;
+         }
+
+         missingParameter(ctx, ELEMENT_ID + "', '" + ELEMENT_NAME + "' or '" + ELEMENT_TYPE);
       });
    }
 
+   protected void getModelElementUsages(final Context ctx) {
+      uriConverter.withResolvedModelURI(ctx, modelURI -> getParam(ctx, ELEMENT_ID).ifPresentOrElse(
+         elementId -> modelController.getModelElementUsages(ctx, modelURI, elementId),
+         () -> missingParameter(ctx, ELEMENT_ID)));
+   }
+
    protected void getModel(final Context ctx) {
       uriConverter.resolveModelURI(ctx).map(URI::toString).ifPresentOrElse(
          param -> modelController.getOne(ctx, param),
@@ -92,6 +92,7 @@ public class ModelServerRoutingV2 implements Routing {
       get(ModelServerPathsV2.REDO, delegate::redoCommand);
 
       get(ModelServerPathsV2.MODEL_ELEMENT, delegate::getModelElement);
+      get(ModelServerPathsV2.MODEL_ELEMENT_USAGES, delegate::getModelElementUsages);
 
       get(ModelServerPathsV2.SAVE, delegate::saveModel);
       get(ModelServerPathsV2.SAVE_ALL, delegate::saveAllModels);
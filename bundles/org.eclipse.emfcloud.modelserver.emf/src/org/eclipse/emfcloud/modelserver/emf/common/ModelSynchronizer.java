@@ -16,6 +16,11 @@ import java.util.concurrent.Future;
 /**
  * A service for synchronization of model edits and/or accesses in a serial queue
  * on one or more threads for safe concurrency.
+ * <p>
+ * Actions that pertain to a single model are submitted with the model URI as key. Implementations may run
+ * actions for unrelated models concurrently, but run actions for the same model in order. Actions without a
+ * model URI are workspace-wide and are not run concurrently with any other action.
+ * </p>
  */
 public interface ModelSynchronizer {
 
@@ -50,4 +55,47 @@ public interface ModelSynchronizer {
     */
    <T> Future<T> asyncCall(Callable<T> action);
 
+   /**
+    * Execute a read or write action on the model with the given URI and wait for it to finish.
+    *
+    * @param modeluri the URI of the model that the action reads or writes
+    * @param action   an action on the model
+    */
+   default void syncExec(final String modeluri, final Runnable action) {
+      syncExec(action);
+   }
+
+   /**
+    * Execute a read or write action without result on the model with the given URI.
+    *
+    * @param modeluri the URI of the model that the action reads or writes
+    * @param action   an action on the model
+    * @return a future that will notify when the {@code code} has completed
+    */
+   default Future<Void> asyncExec(final String modeluri, final Runnable action) {
+      return asyncExec(action);
+   }
+
+   /**
+    * Execute a read or write action with a result on the model with the given URI and wait for it to finish.
+    *
+    * @param modeluri the URI of the model that the action reads or writes
+    * @param action   an action on the model
+    * @return the result of the {@code action}, or {@code null} (with a log) if it failed
+    */
+   default <T> T syncCall(final String modeluri, final Callable<T> action) {
+      return syncCall(action);
+   }
+
+   /**
+    * Execute a read or write action with a result on the model with the given URI.
+    *
+    * @param modeluri the URI of the model that the action reads or writes
+    * @param action   an action on the model
+    * @return the future result of the {@code action}
+    */
+   default <T> Future<T> asyncCall(final String modeluri, final Callable<T> action) {
+      return asyncCall(action);
+   }
+
 }
@@ -10,12 +10,67 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.util.Optional;
+
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.jetbrains.annotations.Nullable;
+
 import com.fasterxml.jackson.databind.JsonNode;
 
 public interface ModelValidator {
 
    JsonNode validate(String modeluri);
 
+   /**
+    * Validate a model in full for reporting the result to the clients that receive live validation, so that the
+    * result is the baseline of the next {@linkplain #validateChanges(String, ChangeDescription) validation delta}.
+    * Other validations, such as those requested by clients, must not change that baseline as the clients that
+    * receive deltas do not see their results.
+    *
+    * @param modeluri the model to validate
+    * @return the validation result
+    */
+   default JsonNode validateAndReport(final String modeluri) {
+      return validate(modeluri);
+   }
+
    JsonNode getValidationConstraints(String modeluri);
 
+   /**
+    * Validate only the objects of a model that are affected by changes, reusing the results of the previous
+    * validation of the model for all other objects.
+    * The result describes how the diagnostics changed since the model was last validated, as an object with the
+    * overall {@code severity} of the model, the diagnostics of the objects whose diagnostics {@code changed},
+    * by object ID, and the IDs of the objects whose diagnostics were {@code cleared}.
+    *
+    * @param modeluri the model that changed
+    * @param changes  the description of the changes, or {@code null} if they are not known
+    * @return the validation delta, or empty if there is no previously reported result to compare with, in which
+    *         case the model needs to be {@linkplain #validateAndReport(String) validated and reported} in full
+    */
+   default Optional<JsonNode> validateChanges(final String modeluri, @Nullable final ChangeDescription changes) {
+      return Optional.empty();
+   }
+
+   /**
+    * Get the full validation result of a model, from the results of previous validations where they
+    * are still current.
+    *
+    * @param modeluri the model
+    * @return the validation result
+    */
+   default JsonNode getValidationResult(final String modeluri) {
+      return validate(modeluri);
+   }
+
+   /**
+    * Discard the results of previous validations of a model that changed without being validated,
+    * so that they are not used to compute validation deltas.
+    *
+    * @param modeluri the model that changed
+    */
+   default void invalidate(final String modeluri) {
+      // Nothing to discard by default
+   }
+
 }
@@ -10,6 +10,7 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
@@ -51,10 +52,14 @@ public class RecordingModelResourceManager extends DefaultModelResourceManager {
    @Override
    protected CommandExecutionContext executeCommand(final ModelServerEditingDomain domain, final Command serverCommand,
       final CCommand clientCommand) {
-      ChangeRecorder recorder = new ChangeRecorder(domain.getResourceSet());
-      CommandExecutionContext context = super.executeCommand(domain, serverCommand, clientCommand);
-      ChangeDescription recording = recorder.endRecording();
-      recorder.dispose();
+      ChangeRecorder recorder = beginRecording(domain);
+      CommandExecutionContext context;
+      ChangeDescription recording;
+      try {
+         context = super.executeCommand(domain, serverCommand, clientCommand);
+      } finally {
+         recording = recorder.endRecording();
+      }
       return new RecordingCommandExecutionContext(context, recording);
    }
 
@@ -62,10 +67,14 @@ public class RecordingModelResourceManager extends DefaultModelResourceManager {
    protected Optional<CommandExecutionContext> undoCommand(final ModelServerEditingDomain domain,
       final Command serverCommand,
       final Optional<CCommand> clientCommand) {
-      ChangeRecorder recorder = new ChangeRecorder(domain.getResourceSet());
-      Optional<CommandExecutionContext> context = super.undoCommand(domain, serverCommand, clientCommand);
-      ChangeDescription recording = recorder.endRecording();
-      recorder.dispose();
+      ChangeRecorder recorder = beginRecording(domain);
+      Optional<CommandExecutionContext> context;
+      ChangeDescription recording;
+      try {
+         context = super.undoCommand(domain, serverCommand, clientCommand);
+      } finally {
+         recording = recorder.endRecording();
+      }
       return context.map(existingContext -> new RecordingCommandExecutionContext(existingContext, recording));
    }
 
@@ -73,13 +82,32 @@ public class RecordingModelResourceManager extends DefaultModelResourceManager {
    protected Optional<CommandExecutionContext> redoCommand(final ModelServerEditingDomain domain,
       final Command serverCommand,
       final Optional<CCommand> clientCommand) {
-      ChangeRecorder recorder = new ChangeRecorder(domain.getResourceSet());
-      Optional<CommandExecutionContext> context = super.redoCommand(domain, serverCommand, clientCommand);
-      ChangeDescription recording = recorder.endRecording();
-      recorder.dispose();
+      ChangeRecorder recorder = beginRecording(domain);
+      Optional<CommandExecutionContext> context;
+      ChangeDescription recording;
+      try {
+         context = super.redoCommand(domain, serverCommand, clientCommand);
+      } finally {
+         recording = recorder.endRecording();
+      }
       return context.map(existingContext -> new RecordingCommandExecutionContext(existingContext, recording));
    }
 
+   /**
+    * Start recording the changes of a command in the given editing domain. The domain's
+    * {@linkplain ModelServerEditingDomain#getCommandChangeRecorder() command change recorder} stays attached to
+    * the resource set between commands, so the cost of recording depends on the size of the change rather than
+    * on the size of the model. The caller must end the recording.
+    *
+    * @param domain the editing domain in which a command is to be executed, undone, or redone
+    * @return the recorder, which is recording a new change description
+    */
+   protected ChangeRecorder beginRecording(final ModelServerEditingDomain domain) {
+      ChangeRecorder recorder = domain.getCommandChangeRecorder();
+      recorder.beginRecording(Collections.singleton(domain.getResourceSet()));
+      return recorder;
+   }
+
    @Override
    protected CCommandExecutionResult createExecutionResult(final CommandExecutionContext context) {
       CCommandExecutionResult result = super.createExecutionResult(context);
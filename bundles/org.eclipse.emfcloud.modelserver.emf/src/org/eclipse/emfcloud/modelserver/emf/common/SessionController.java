@@ -26,6 +26,16 @@ public interface SessionController extends ModelListener {
 
    boolean hasSession(String modeluri);
 
+   /**
+    * Query whether any client is subscribed to a model, with any version of the API.
+    *
+    * @param modeluri the URI of the model
+    * @return whether the model has subscribers
+    */
+   default boolean hasSubscribers(final String modeluri) {
+      return hasSession(modeluri);
+   }
+
    /**
     * Subscribes a client to model changes. In V2, model changes will
     * be described via the JsonPatch format, rather than EMF {@link ChangeDescription}.
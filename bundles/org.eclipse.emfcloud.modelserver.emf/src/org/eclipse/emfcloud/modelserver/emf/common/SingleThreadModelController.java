@@ -10,14 +10,32 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import static org.eclipse.emfcloud.modelserver.emf.common.util.ContextResponse.internalError;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.transaction.RunnableWithResult;
+
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
 import io.javalin.http.Context;
 
 /**
- * A {@link ModelController} that executes all requests in the same thread, to
- * ensure we use a consistent resource set state.
+ * A {@link ModelController} that executes all requests for the same model in the same thread, to
+ * ensure we use a consistent resource set state. Requests that are not specific to a model, such as
+ * {@link #getAll(Context)} and {@link #saveAll(Context)}, are executed exclusively of all others.
+ * <p>
+ * Read-only requests on a model that is already loaded, such as {@link #getOne(Context, String)},
+ * are not queued but executed on the calling thread in an exclusive read transaction of the model's
+ * editing domain. They are thus isolated from commands on the same model without waiting for other
+ * requests queued on the synchronizer.
+ * </p>
+ *
+ * @see ModelSynchronizer
  */
 public class SingleThreadModelController implements ModelController {
 
@@ -30,10 +48,15 @@ public class SingleThreadModelController implements ModelController {
     */
    public static final String MODEL_CONTROLLER_DELEGATE = "ModelControllerDelegate";
 
+   private static final Logger LOG = LogManager.getLogger(SingleThreadModelController.class);
+
    protected final ModelController delegate;
 
    protected final ModelSynchronizer synchronizer;
 
+   @Inject
+   protected ModelResourceManager resourceManager;
+
    @Inject
    public SingleThreadModelController(final @Named(MODEL_CONTROLLER_DELEGATE) ModelController delegate,
       final ModelSynchronizer synchronizer) {
@@ -53,18 +76,64 @@ public class SingleThreadModelController implements ModelController {
       // No-op
    }
 
+   /**
+    * Execute a read-only request on a model. If the model is loaded, the request is executed on the
+    * calling thread in a read transaction of its editing domain. Otherwise, as loading the model changes
+    * the state of the server, the request is executed by the {@link ModelSynchronizer}, in the model's lane,
+    * which loads it.
+    *
+    * @param ctx      the request context
+    * @param modeluri the model to read
+    * @param action   the read-only request
+    */
+   protected void readExec(final Context ctx, final String modeluri, final Runnable action) {
+      // Do not load the model on this thread, but in the model's lane
+      ResourceSet resourceSet = resourceManager.getMaterializedResourceSet(modeluri).orElse(null);
+      ModelServerEditingDomain domain = resourceSet == null ? null : resourceManager.getEditingDomain(resourceSet);
+      if (domain == null) {
+         synchronizer.syncExec(modeluri, action);
+         return;
+      }
+
+      Object executed;
+      try {
+         executed = domain.runExclusive(new RunnableWithResult.Impl<Boolean>() {
+            @Override
+            public void run() {
+               // The model may have been closed or unloaded while we were waiting for the transaction
+               if (resourceManager.getMaterializedResourceSet(modeluri).orElse(null) == resourceSet
+                  && resourceManager.isResourceLoaded(modeluri)) {
+                  action.run();
+                  setResult(Boolean.TRUE);
+               } else {
+                  setResult(Boolean.FALSE);
+               }
+            }
+         });
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         LOG.error("Interrupted waiting to read model " + modeluri, e);
+         internalError(ctx, "Interrupted waiting to read model '%s'.", modeluri);
+         return;
+      }
+
+      if (!Boolean.TRUE.equals(executed)) {
+         synchronizer.syncExec(modeluri, action);
+      }
+   }
+
    //
    // Delegate Methods
    //
 
    @Override
    public void create(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.create(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.create(ctx, modeluri));
    }
 
    @Override
    public void delete(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.delete(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.delete(ctx, modeluri));
    }
 
    @Override
@@ -74,32 +143,48 @@ public class SingleThreadModelController implements ModelController {
 
    @Override
    public void getOne(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.getOne(ctx, modeluri));
+      readExec(ctx, modeluri, () -> delegate.getOne(ctx, modeluri));
    }
 
    @Override
    public void getModelElementById(final Context ctx, final String modeluri, final String elementid) {
-      synchronizer.syncExec(() -> delegate.getModelElementById(ctx, modeluri, elementid));
+      readExec(ctx, modeluri, () -> delegate.getModelElementById(ctx, modeluri, elementid));
+   }
+
+   @Override
+   public void getModelElementsById(final Context ctx, final String modeluri, final List<String> elementids) {
+      readExec(ctx, modeluri, () -> delegate.getModelElementsById(ctx, modeluri, elementids));
    }
 
    @Override
    public void getModelElementByName(final Context ctx, final String modeluri, final String elementname) {
-      synchronizer.syncExec(() -> delegate.getModelElementByName(ctx, modeluri, elementname));
+      readExec(ctx, modeluri, () -> delegate.getModelElementByName(ctx, modeluri, elementname));
+   }
+
+   @Override
+   public void getModelElementsByType(final Context ctx, final String modeluri, final String elementtype) {
+      readExec(ctx, modeluri, () -> delegate.getModelElementsByType(ctx, modeluri, elementtype));
+   }
+
+   @Override
+   public void getModelElementUsages(final Context ctx, final String modeluri, final String elementid) {
+      readExec(ctx, modeluri, () -> delegate.getModelElementUsages(ctx, modeluri, elementid));
    }
 
    @Override
    public void getModelUris(final Context ctx) {
-      synchronizer.syncExec(() -> delegate.getModelUris(ctx));
+      // The resource manager provides a snapshot of the loaded models
+      delegate.getModelUris(ctx);
    }
 
    @Override
    public void update(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.update(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.update(ctx, modeluri));
    }
 
    @Override
    public void save(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.save(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.save(ctx, modeluri));
    }
 
    @Override
@@ -109,37 +194,37 @@ public class SingleThreadModelController implements ModelController {
 
    @Override
    public void validate(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.validate(ctx, modeluri));
+      readExec(ctx, modeluri, () -> delegate.validate(ctx, modeluri));
    }
 
    @Override
    public void getValidationConstraints(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.getValidationConstraints(ctx, modeluri));
+      readExec(ctx, modeluri, () -> delegate.getValidationConstraints(ctx, modeluri));
    }
 
    @Override
    public void executeCommand(final Context ctx, final String modelURI) {
-      synchronizer.syncExec(() -> delegate.executeCommand(ctx, modelURI));
+      synchronizer.syncExec(modelURI, () -> delegate.executeCommand(ctx, modelURI));
    }
 
    @Override
    public void executeCommandV2(final Context ctx, final String modelURI) {
-      synchronizer.syncExec(() -> delegate.executeCommandV2(ctx, modelURI));
+      synchronizer.syncExec(modelURI, () -> delegate.executeCommandV2(ctx, modelURI));
    }
 
    @Override
    public void undo(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.undo(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.undo(ctx, modeluri));
    }
 
    @Override
    public void redo(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.redo(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.redo(ctx, modeluri));
    }
 
    @Override
    public void close(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.close(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.close(ctx, modeluri));
    }
 
 }
@@ -25,8 +25,10 @@ import io.javalin.websocket.WsErrorContext;
 import io.javalin.websocket.WsMessageContext;
 
 /**
- * A {@link TransactionController} that executes all requests in the same thread, to
+ * A {@link TransactionController} that executes all requests for the same model in the same thread, to
  * ensure we use a consistent resource set state.
+ *
+ * @see ModelSynchronizer
  */
 public class SingleThreadTransactionController implements TransactionController {
    /**
@@ -59,33 +61,45 @@ public class SingleThreadTransactionController implements TransactionController
 
    @Override
    public void create(final Context ctx, final String modeluri) {
-      synchronizer.syncExec(() -> delegate.create(ctx, modeluri));
+      synchronizer.syncExec(modeluri, () -> delegate.create(ctx, modeluri));
    }
 
    @Override
    public void onOpen(final WsConnectContext ctx) {
-      synchronizer.syncExec(() -> delegate.onOpen(ctx));
+      synchronizer.syncExec(getModelKey(ctx), () -> delegate.onOpen(ctx));
    }
 
    @Override
    public void onClose(final WsCloseContext ctx) {
-      synchronizer.syncExec(() -> delegate.onClose(ctx));
+      synchronizer.syncExec(getModelKey(ctx), () -> delegate.onClose(ctx));
    }
 
    @Override
    public void onError(final WsErrorContext ctx) {
-      synchronizer.syncExec(() -> delegate.onError(ctx));
+      synchronizer.syncExec(getModelKey(ctx), () -> delegate.onError(ctx));
    }
 
    @Override
    public void onMessage(final WsMessageContext ctx) {
-      synchronizer.syncExec(() -> delegate.onMessage(ctx));
+      synchronizer.syncExec(getModelKey(ctx), () -> delegate.onMessage(ctx));
    }
 
    @Override
    public Optional<URI> getModelURI(final WsContext ctx) {
-      Optional<URI> result = synchronizer.syncCall(() -> delegate.getModelURI(ctx));
-      return result == null ? Optional.empty() : result;
+      // This is queried while handling messages in the model's lane, from which the global lane cannot be entered.
+      // Like the model key, it is read from the delegate's concurrent record of transactions
+      return delegate.getModelURI(ctx);
+   }
+
+   /**
+    * Get the key of the model on which the transaction of a websocket is open, to synchronize
+    * its messages with other requests on the same model.
+    *
+    * @param ctx the transaction websocket context
+    * @return the model URI, or {@code null} if there is no such transaction
+    */
+   protected String getModelKey(final WsContext ctx) {
+      return delegate.getModelURI(ctx).map(URI::toString).orElse(null);
    }
 
 }
@@ -0,0 +1,205 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * A model synchronizer that executes actions on different models in parallel. Actions are dispatched by the
+ * {@linkplain ModelResourceManager#getResourceSetURI(String) resource set} of their model to a fixed number of
+ * stripes, each of which executes its actions in order on a single thread, so that actions on the same resource set
+ * and editing domain never run concurrently, whichever URI they name the model by. Workspace-wide actions (those
+ * submitted without a model URI) are executed in a global lane that excludes all stripes while it runs.
+ * <p>
+ * As with the {@link DefaultModelSynchronizer}, synchronous actions submitted while an action is already executing
+ * in the same lane are executed directly on the calling thread, as are synchronous actions submitted from the global
+ * lane, which already excludes all stripes. A synchronous action submitted from a stripe to another lane fails with
+ * an {@link IllegalStateException}, because a stripe cannot wait for the global lane nor for another stripe without
+ * risking deadlock.
+ * </p>
+ *
+ * @see ServerConfiguration#getSynchronizerStripes()
+ */
+public final class StripedModelSynchronizer implements ModelSynchronizer {
+
+   private final Logger log = LogManager.getLogger(StripedModelSynchronizer.class);
+
+   private final DefaultModelSynchronizer globalLane = new DefaultModelSynchronizer();
+   private final DefaultModelSynchronizer[] stripes;
+
+   /** Stripes execute under the read lock and the global lane under the write lock. */
+   private final ReadWriteLock lanesLock = new ReentrantReadWriteLock();
+
+   /** The lane in which the current thread is executing an action, if any. */
+   private final ThreadLocal<DefaultModelSynchronizer> currentLane = new ThreadLocal<>();
+
+   // Inject a provider to break the dependency cycle (the resource manager unloads models in their lanes)
+   private Provider<ModelResourceManager> modelResourceManager;
+
+   @Inject
+   public StripedModelSynchronizer(final ServerConfiguration serverConfiguration) {
+      this(serverConfiguration.getSynchronizerStripes());
+   }
+
+   /**
+    * Initializes me with the given number of stripes.
+    *
+    * @param stripeCount the number of stripes, or zero (or less) for the number of available processors
+    */
+   public StripedModelSynchronizer(final int stripeCount) {
+      super();
+
+      int count = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors();
+      stripes = new DefaultModelSynchronizer[count];
+      for (int i = 0; i < count; i++) {
+         stripes[i] = new DefaultModelSynchronizer();
+      }
+   }
+
+   public int getStripeCount() { return stripes.length; }
+
+   @Inject(optional = true)
+   public void setModelResourceManager(final Provider<ModelResourceManager> modelResourceManager) {
+      this.modelResourceManager = modelResourceManager;
+   }
+
+   /**
+    * Shut down the execution services of all lanes. Not exposed to clients but
+    * used in tests to avoid piling up threads.
+    */
+   public void dispose() {
+      globalLane.dispose();
+      for (DefaultModelSynchronizer stripe : stripes) {
+         stripe.dispose();
+      }
+   }
+
+   //
+   // Global lane
+   //
+
+   @Override
+   public void syncExec(final Runnable action) {
+      syncExec(null, action);
+   }
+
+   @Override
+   public Future<Void> asyncExec(final Runnable action) {
+      return asyncExec(null, action);
+   }
+
+   @Override
+   public <T> T syncCall(final Callable<T> action) {
+      return syncCall(null, action);
+   }
+
+   @Override
+   public <T> Future<T> asyncCall(final Callable<T> action) {
+      return asyncCall(null, action);
+   }
+
+   //
+   // Model lanes
+   //
+
+   @Override
+   public void syncExec(final String modeluri, final Runnable action) {
+      DefaultModelSynchronizer lane = getLane(modeluri);
+      if (isReentrant(lane)) {
+         // We are re-entering an active execution. Do not post but just go
+         action.run();
+      } else {
+         lane.syncCall(() -> inLane(lane, modeluri, DefaultModelSynchronizer.callable(action)));
+      }
+   }
+
+   @Override
+   public Future<Void> asyncExec(final String modeluri, final Runnable action) {
+      return asyncCall(modeluri, DefaultModelSynchronizer.callable(action));
+   }
+
+   @SuppressWarnings("checkstyle:IllegalCatch")
+   @Override
+   public <T> T syncCall(final String modeluri, final Callable<T> action) {
+      DefaultModelSynchronizer lane = getLane(modeluri);
+      if (isReentrant(lane)) {
+         // We are re-entering an active execution. Do not post but just go
+         try {
+            return action.call();
+         } catch (Exception e) {
+            log.error("Synchronous call failed.", e);
+            return null;
+         }
+      }
+      return lane.syncCall(() -> inLane(lane, modeluri, action));
+   }
+
+   @Override
+   public <T> Future<T> asyncCall(final String modeluri, final Callable<T> action) {
+      DefaultModelSynchronizer lane = getLane(modeluri);
+      return lane.asyncCall(() -> inLane(lane, modeluri, action));
+   }
+
+   private DefaultModelSynchronizer getLane(final String modeluri) {
+      if (modeluri == null) {
+         return globalLane;
+      }
+      String key = modelResourceManager == null ? modeluri : modelResourceManager.get().getResourceSetURI(modeluri);
+      return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+   }
+
+   /**
+    * Query whether a synchronous action on the given lane may be executed directly on the current thread.
+    *
+    * @param lane the lane on which to execute an action
+    * @return whether the current thread is already executing in that lane or in the global lane
+    * @throws IllegalStateException if the current thread is executing in another stripe, which holds only the read
+    *                                  lock that cannot be upgraded, so that waiting for the lane could deadlock
+    */
+   private boolean isReentrant(final DefaultModelSynchronizer lane) {
+      DefaultModelSynchronizer current = currentLane.get();
+      if (current == null) {
+         return false;
+      }
+      if (current == lane || current == globalLane) {
+         return true;
+      }
+      throw new IllegalStateException(lane == globalLane
+         ? "Cannot execute a workspace-wide action synchronously from a model lane"
+         : "Cannot execute an action synchronously on another model lane");
+   }
+
+   private <T> T inLane(final DefaultModelSynchronizer lane, final String modeluri, final Callable<T> action)
+      throws Exception {
+      Lock lock = modeluri == null ? lanesLock.writeLock() : lanesLock.readLock();
+      lock.lock();
+      currentLane.set(lane);
+
+      try {
+         return action.call();
+      } finally {
+         currentLane.remove();
+         lock.unlock();
+      }
+   }
+
+}
@@ -39,6 +39,10 @@ public class ValidationMapperModule extends SimpleModule {
    public static final String EXCEPTION = "exception";
    public static final String DATA = "data";
    public static final String CHILDREN = "children";
+   /** The diagnostics that changed, by object ID, in a validation delta. */
+   public static final String CHANGED = "changed";
+   /** The IDs of the objects whose diagnostics were cleared, in a validation delta. */
+   public static final String CLEARED = "cleared";
    /**
     *
     */
@@ -10,6 +10,7 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common.codecs;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 
@@ -22,6 +23,7 @@ import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import io.javalin.http.Context;
@@ -80,6 +82,42 @@ public interface CodecsManager {
     */
    JsonNode encode(String modelUri, WsContext context, EObject eObject) throws EncodingException;
 
+   /**
+    * Encode an EObject directly to a JSON generator, such as one that writes a response stream.
+    *
+    * @param modelUri  The ModelUri of the request, null if not available
+    * @param context   the javalin http context
+    * @param eObject   EObject to encode
+    * @param generator the generator to which to write the encoding
+    * @throws EncodingException when encoding failed
+    */
+   default void encode(final String modelUri, final Context context, final EObject eObject,
+      final JsonGenerator generator) throws EncodingException {
+      writeTree(encode(modelUri, context, eObject), generator);
+   }
+
+   /**
+    * Encode an EObject directly to a JSON generator, such as one that writes a websocket message.
+    *
+    * @param modelUri  The ModelUri of the request, null if not available
+    * @param context   the javalin websocket context
+    * @param eObject   EObject to encode
+    * @param generator the generator to which to write the encoding
+    * @throws EncodingException when encoding failed
+    */
+   default void encode(final String modelUri, final WsContext context, final EObject eObject,
+      final JsonGenerator generator) throws EncodingException {
+      writeTree(encode(modelUri, context, eObject), generator);
+   }
+
+   private static void writeTree(final JsonNode encoded, final JsonGenerator generator) throws EncodingException {
+      try {
+         generator.writeTree(encoded);
+      } catch (IOException e) {
+         throw new EncodingException(e);
+      }
+   }
+
    /**
     * Decode a JsonNode to an EObject.
     *
@@ -126,6 +164,66 @@ public interface CodecsManager {
    Optional<EObject> decode(WsContext context, String payload, URI workspaceURI)
       throws DecodingException;
 
+   /**
+    * Decode an already parsed payload, such as the data of a request, to an EObject.
+    *
+    * @param modelUri The ModelUri of the request, null if not available
+    * @param context  the javalin http context
+    * @param payload  the JSON payload holding EObject definition to decode
+    * @return the decoded EObject
+    * @throws DecodingException when decoding failed
+    */
+   default Optional<EObject> decode(final String modelUri, final Context context, final JsonNode payload)
+      throws DecodingException {
+      return decode(modelUri, context, asText(payload));
+   }
+
+   /**
+    * Decode an already parsed payload, such as the data of a request, to an EObject.
+    *
+    * @param context      the javalin http context
+    * @param payload      the JSON payload holding EObject definition to decode
+    * @param workspaceURI the URI to access to the model from the workspace
+    * @return the decoded EObject
+    * @throws DecodingException when decoding failed
+    */
+   default Optional<EObject> decode(final Context context, final JsonNode payload, final URI workspaceURI)
+      throws DecodingException {
+      return decode(context, asText(payload), workspaceURI);
+   }
+
+   /**
+    * Decode an already parsed payload, such as the data of a message, to an EObject.
+    *
+    * @param modelUri The ModelUri of the request, null if not available
+    * @param context  the javalin websocket context
+    * @param payload  the JSON payload holding EObject definition to decode
+    * @return the decoded EObject
+    * @throws DecodingException when decoding failed
+    */
+   default Optional<EObject> decode(final String modelUri, final WsContext context, final JsonNode payload)
+      throws DecodingException {
+      return decode(modelUri, context, asText(payload));
+   }
+
+   /**
+    * Decode an already parsed payload, such as the data of a message, to an EObject.
+    *
+    * @param context      the javalin websocket context
+    * @param payload      the JSON payload holding EObject definition to decode
+    * @param workspaceURI the URI to access to the model from the workspace
+    * @return the decoded EObject
+    * @throws DecodingException when decoding failed
+    */
+   default Optional<EObject> decode(final WsContext context, final JsonNode payload, final URI workspaceURI)
+      throws DecodingException {
+      return decode(context, asText(payload), workspaceURI);
+   }
+
+   private static String asText(final JsonNode payload) {
+      return payload.isTextual() ? payload.textValue() : payload.toString();
+   }
+
    /**
     * Returns the format (perhaps implicit) of a {@code request}.
     *
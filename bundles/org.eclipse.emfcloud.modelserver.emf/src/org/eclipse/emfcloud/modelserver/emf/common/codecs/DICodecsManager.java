@@ -22,6 +22,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.eclipse.emfcloud.modelserver.common.ModelServerPathParametersV1;
 import org.eclipse.emfcloud.modelserver.common.codecs.Codec;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
@@ -29,6 +31,7 @@ import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.ModelURIConverter;
 import org.eclipse.emfcloud.modelserver.emf.common.util.ContextRequest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
@@ -76,7 +79,7 @@ public class DICodecsManager implements CodecsManager {
       uniqueFormats.stream().forEach(f -> {
          CodecProvider.getCodec(codecProviders, modelUri, f).map(c -> {
             try {
-               return c.encode(eObject);
+               return encode(c, eObject);
             } catch (EncodingException e) {
                LOG.error(e.getMessage(), e);
             }
@@ -89,13 +92,103 @@ public class DICodecsManager implements CodecsManager {
    @Override
    public JsonNode encode(final String modelUri, final Context context, final EObject eObject)
       throws EncodingException {
-      return findCodec(modelUri, context).encode(eObject);
+      return encode(findCodec(modelUri, context), eObject);
    }
 
    @Override
    public JsonNode encode(final String modelUri, final WsContext context, final EObject eObject)
       throws EncodingException {
-      return findCodec(modelUri, context).encode(eObject);
+      return encode(findCodec(modelUri, context), eObject);
+   }
+
+   @Override
+   public void encode(final String modelUri, final Context context, final EObject eObject,
+      final JsonGenerator generator) throws EncodingException {
+      encode(findCodec(modelUri, context), eObject, generator);
+   }
+
+   @Override
+   public void encode(final String modelUri, final WsContext context, final EObject eObject,
+      final JsonGenerator generator) throws EncodingException {
+      encode(findCodec(modelUri, context), eObject, generator);
+   }
+
+   /**
+    * Encode an object with a codec. An object of a model in a transactional editing domain is encoded
+    * {@linkplain Codec.Internal#basicEncode(EObject) in place} where the codec supports it, in a read-only
+    * transaction, instead of encoding a copy of it. Only codecs whose
+    * {@linkplain Codec.Internal#isInPlaceEncoding() in-place encoding} is the same as their regular encoding
+    * are used in this way.
+    *
+    * @param codec   the codec with which to encode the object
+    * @param eObject the object to encode
+    * @return the encoded object
+    * @throws EncodingException when encoding failed
+    */
+   protected JsonNode encode(final Codec codec, final EObject eObject) throws EncodingException {
+      TransactionalEditingDomain domain = getInPlaceEditingDomain(codec, eObject);
+      if (domain == null) {
+         return codec.encode(eObject);
+      }
+      return runExclusive(domain, () -> ((Codec.Internal) codec).basicEncode(eObject));
+   }
+
+   /**
+    * Encode an object with a codec directly to a JSON generator, in place where the codec supports it.
+    *
+    * @param codec     the codec with which to encode the object
+    * @param eObject   the object to encode
+    * @param generator the generator to which to write the encoding
+    * @throws EncodingException when encoding failed
+    *
+    * @see #encode(Codec, EObject)
+    */
+   protected void encode(final Codec codec, final EObject eObject, final JsonGenerator generator)
+      throws EncodingException {
+      TransactionalEditingDomain domain = getInPlaceEditingDomain(codec, eObject);
+      if (domain == null) {
+         codec.encode(eObject, generator);
+         return;
+      }
+      runExclusive(domain, () -> {
+         ((Codec.Internal) codec).basicEncode(eObject, generator);
+         return null;
+      });
+   }
+
+   /**
+    * Get the editing domain in which to encode an object in place.
+    *
+    * @param codec   the codec with which to encode the object
+    * @param eObject the object to encode
+    * @return the editing domain of the object, or {@code null} if it is not to be encoded in place
+    */
+   protected TransactionalEditingDomain getInPlaceEditingDomain(final Codec codec, final EObject eObject) {
+      if (!(codec instanceof Codec.Internal) || !((Codec.Internal) codec).isInPlaceEncoding()
+         || eObject.eResource() == null) {
+         return null;
+      }
+      return TransactionUtil.getEditingDomain(eObject);
+   }
+
+   /**
+    * Run an encoding in a read-only transaction, so that the model does not change while it is encoded.
+    *
+    * @param domain   the editing domain of the model
+    * @param encoding the encoding to run
+    * @return the result of the encoding
+    * @throws EncodingException when encoding failed or was interrupted waiting for the transaction
+    */
+   protected <T> T runExclusive(final TransactionalEditingDomain domain, final Encoding<T> encoding)
+      throws EncodingException {
+      ExclusiveEncoding<T> exclusive = new ExclusiveEncoding<>(encoding);
+      try {
+         domain.runExclusive(exclusive);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new EncodingException("Interrupted waiting to read the model", e);
+      }
+      return exclusive.getResult();
    }
 
    @Override
@@ -126,6 +219,34 @@ public class DICodecsManager implements CodecsManager {
       return findCodec(modelUri.toString(), context).decode(payload, workspaceURI);
    }
 
+   @Override
+   public Optional<EObject> decode(final String modelUri, final Context context, final JsonNode payload)
+      throws DecodingException {
+      return findCodec(modelUri, context).decode(payload);
+   }
+
+   @Override
+   public Optional<EObject> decode(final Context context, final JsonNode payload, final URI workspaceURI)
+      throws DecodingException {
+
+      URI modelUri = uriConverter.resolveModelURI(context).orElse(workspaceURI);
+      return findCodec(modelUri.toString(), context).decode(payload, workspaceURI);
+   }
+
+   @Override
+   public Optional<EObject> decode(final String modelUri, final WsContext context, final JsonNode payload)
+      throws DecodingException {
+      return findCodec(modelUri, context).decode(payload);
+   }
+
+   @Override
+   public Optional<EObject> decode(final WsContext context, final JsonNode payload, final URI workspaceURI)
+      throws DecodingException {
+
+      URI modelUri = uriConverter.resolveModelURI(context).orElse(workspaceURI);
+      return findCodec(modelUri.toString(), context).decode(payload, workspaceURI);
+   }
+
    @Override
    public String findFormat(final WsContext context) {
       String format = context.queryParam(ModelServerPathParametersV1.FORMAT);
@@ -168,4 +289,47 @@ public class DICodecsManager implements CodecsManager {
 
    @Inject(optional = true)
    public void setPreferredFormat(@Named(PREFERRED_FORMAT) final String format) { this.preferredFormat = format; }
+
+   //
+   // Nested types
+   //
+
+   /**
+    * An encoding to run in a read-only transaction.
+    *
+    * @param <T> the result of the encoding
+    */
+   @FunctionalInterface
+   protected interface Encoding<T> {
+      T encode() throws EncodingException;
+   }
+
+   private static final class ExclusiveEncoding<T> implements Runnable {
+      private final Encoding<T> encoding;
+
+      private T result;
+
+      private EncodingException failure;
+
+      ExclusiveEncoding(final Encoding<T> encoding) {
+         this.encoding = encoding;
+      }
+
+      @Override
+      public void run() {
+         try {
+            result = encoding.encode();
+         } catch (EncodingException e) {
+            failure = e;
+         }
+      }
+
+      T getResult() throws EncodingException {
+         if (failure != null) {
+            throw failure;
+         }
+         return result;
+      }
+   }
+
 }
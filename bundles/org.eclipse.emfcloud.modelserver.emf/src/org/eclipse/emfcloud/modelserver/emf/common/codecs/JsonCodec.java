@@ -21,13 +21,13 @@ public class JsonCodec extends DefaultJsonCodec {
 
    public static JsonNode encode(final Object obj) throws EncodingException {
       try {
-         return ProviderDefaults.provideObjectMapper().valueToTree(obj);
+         return ProviderDefaults.getSharedObjectMapper().valueToTree(obj);
       } catch (IllegalArgumentException ex) {
          throw new EncodingException(ex);
       }
    }
 
    @Override
-   protected ObjectMapper getObjectMapper() { return ProviderDefaults.provideObjectMapper(); }
+   protected ObjectMapper getObjectMapper() { return ProviderDefaults.getSharedObjectMapper(); }
 
 }
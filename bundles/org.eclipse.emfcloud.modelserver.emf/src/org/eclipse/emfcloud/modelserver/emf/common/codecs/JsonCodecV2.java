@@ -22,6 +22,7 @@ import org.eclipse.emfcloud.modelserver.common.codecs.EMFJsonConverter;
 import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.codecs.jackson.EMFModuleV2;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -72,4 +73,20 @@ public class JsonCodecV2 extends DefaultJsonCodec {
       return DefaultJsonCodec.encode(obj, getObjectMapper());
    }
 
+   @Override
+   public boolean isInPlaceEncoding() {
+      // Objects in a resource are encoded in place, anyways, as above
+      return true;
+   }
+
+   @Override
+   public void encode(final EObject obj, final JsonGenerator generator) throws EncodingException {
+      if (obj.eResource() == null) {
+         super.encode(obj, generator);
+      } else {
+         // As above, encode the object in its own resource so that its IDs are encoded
+         DefaultJsonCodec.encode(obj, getObjectMapper(), generator);
+      }
+   }
+
 }
@@ -10,9 +10,14 @@
  *******************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common.codecs.jackson;
 
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emfcloud.jackson.annotations.EcoreIdentityInfo;
 import org.eclipse.emfcloud.jackson.annotations.EcoreTypeInfo;
 import org.eclipse.emfcloud.jackson.module.EMFModule;
+import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import org.eclipse.emfcloud.jackson.utils.ValueWriter;
+import org.eclipse.emfcloud.modelserver.common.utils.URIFragmentCache;
 import org.eclipse.emfcloud.modelserver.jsonschema.JsonConstants;
 
 /**
@@ -38,10 +43,27 @@ public class EMFModuleV2 extends EMFModule {
    @Override
    public void setupModule(final SetupContext context) {
       setTypeInfo(new EcoreTypeInfo(TYPE_PROPERTY));
-      setIdentityInfo(new EcoreIdentityInfo(ID_PROPERTY));
+      setIdentityInfo(new EcoreIdentityInfo(ID_PROPERTY, identityWriter(new EcoreIdentityInfo(ID_PROPERTY))));
       // Always serialize $id: attributes
       configure(Feature.OPTION_USE_ID, true);
       super.setupModule(context);
    }
 
+   /**
+    * Write the URI fragments of objects in model resources from their {@link URIFragmentCache}, as computing
+    * them again for every encoding of a large model is expensive.
+    *
+    * @param defaultInfo the default identity info, for objects that are not in a model resource
+    * @return the writer of the "$id" property
+    */
+   protected ValueWriter<EObject, Object> identityWriter(final EcoreIdentityInfo defaultInfo) {
+      return (eObject, context) -> {
+         Resource resource = eObject.eResource();
+         if (resource == null || resource instanceof JsonResource) {
+            return defaultInfo.getValueWriter().writeValue(eObject, context);
+         }
+         return URIFragmentCache.getCache(resource).getURIFragment(eObject);
+      };
+   }
+
 }
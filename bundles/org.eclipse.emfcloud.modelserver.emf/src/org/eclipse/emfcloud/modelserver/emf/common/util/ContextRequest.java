@@ -106,23 +106,35 @@ public final class ContextRequest {
    }
 
    public static Optional<String> readData(final Context ctx) {
+      return readDataNode(ctx).map(node -> !node.asText().isEmpty() ? node.asText() : node.toString());
+   }
+
+   /**
+    * Read the data of a request body, parsing the body only once. Data that is JSON embedded in a string is
+    * returned as the string node.
+    *
+    * @param ctx the request context
+    * @return the data of the request body, or empty if it is missing, in which case a bad request is reported
+    */
+   public static Optional<JsonNode> readDataNode(final Context ctx) {
       try {
-         if (ctx.body() == null) {
+         String body = ctx.body();
+         if (body == null) {
             badRequest(ctx, "Empty Body");
             return Optional.empty();
          }
-         JsonNode json = ProviderDefaults.provideObjectMapper().readTree(ctx.body());
+         JsonNode json = ProviderDefaults.getSharedObjectMapper().readTree(body);
          if (!json.has(JsonResponseMember.DATA)) {
             badRequest(ctx, "Empty JSON");
             return Optional.empty();
          }
          JsonNode jsonDataNode = json.get(JsonResponseMember.DATA);
-         String jsonData = !jsonDataNode.asText().isEmpty() ? jsonDataNode.asText() : jsonDataNode.toString();
-         if (jsonData.equals("{}")) {
+         if (jsonDataNode.isObject() && jsonDataNode.isEmpty()
+            || jsonDataNode.isTextual() && jsonDataNode.textValue().equals("{}")) {
             badRequest(ctx, "Empty JSON");
             return Optional.empty();
          }
-         return Optional.of(jsonData);
+         return Optional.of(jsonDataNode);
       } catch (IOException exception) {
          badRequest(ctx, "Invalid JSON", exception);
       }
@@ -135,7 +147,7 @@ public final class ContextRequest {
 
    public static Optional<String> readMessageType(final WsMessageContext ctx) {
       try {
-         JsonNode json = ProviderDefaults.provideObjectMapper().readTree(ctx.message());
+         JsonNode json = ProviderDefaults.getSharedObjectMapper().readTree(ctx.message());
          return readMessageType(ctx, json);
       } catch (IOException exception) {
          error(ctx, "Invalid JSON", exception);
@@ -144,27 +156,37 @@ public final class ContextRequest {
    }
 
    public static Optional<Message<String>> readMessage(final WsMessageContext ctx) {
+      return readMessageNode(ctx).map(message -> new Message<>(message.getType(),
+         message.getData() != null ? asText(message.getData()) : null));
+   }
+
+   /**
+    * Read a message, parsing it only once. Data that is JSON embedded in a string is returned as the string node.
+    *
+    * @param ctx the message context
+    * @return the message, with {@code null} data if it has none, or empty if it is invalid, in which case an error
+    *         is reported
+    */
+   public static Optional<Message<JsonNode>> readMessageNode(final WsMessageContext ctx) {
       try {
-         JsonNode json = ProviderDefaults.provideObjectMapper().readTree(ctx.message());
+         JsonNode json = ProviderDefaults.getSharedObjectMapper().readTree(ctx.message());
          Optional<String> jsonType = readMessageType(ctx, json);
          if (jsonType.isEmpty()) {
             return Optional.empty();
          }
 
          // Messages do not all require data
-         String jsonData = null;
-         if (json.has(JsonResponseMember.DATA)) {
-            JsonNode jsonDataNode = json.get(JsonResponseMember.DATA);
-            jsonData = jsonDataNode.getNodeType() == JsonNodeType.STRING ? jsonDataNode.asText()
-               : jsonDataNode.toString();
-         }
-         return Optional.of(new Message<>(jsonType.get(), jsonData));
+         return Optional.of(new Message<>(jsonType.get(), json.get(JsonResponseMember.DATA)));
       } catch (IOException exception) {
          error(ctx, "Invalid JSON", exception);
          return Optional.empty();
       }
    }
 
+   private static String asText(final JsonNode jsonDataNode) {
+      return jsonDataNode.getNodeType() == JsonNodeType.STRING ? jsonDataNode.asText() : jsonDataNode.toString();
+   }
+
    private static Optional<String> readMessageType(final WsMessageContext ctx, final JsonNode json) {
       if (!json.has(JsonResponseMember.TYPE)) {
          error(ctx, "Missing message type");
@@ -10,6 +10,8 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.Map;
 
@@ -19,10 +21,13 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.JsonResponse;
+import org.eclipse.emfcloud.modelserver.emf.common.JsonResponseType;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import io.javalin.http.ContentType;
 import io.javalin.http.Context;
 import io.javalin.websocket.WsContext;
 
@@ -43,6 +48,42 @@ public final class ContextResponse {
       response(context, JsonResponse.success(jsonNode));
    }
 
+   /**
+    * Send a 'success' response to the client, with its data encoded directly to the response content.
+    *
+    * @param context the Context representing the client connection
+    * @param data    the writer of the response data
+    * @throws EncodingException on failure to encode the data, in which case nothing is sent, so that an error
+    *                              may be sent instead
+    */
+   public static void success(final Context context, final JsonResponse.DataWriter data) throws EncodingException {
+      stream(context, JsonResponseType.SUCCESS, data);
+   }
+
+   /**
+    * Send a response to the client, with its data encoded directly to the response content, in compact form,
+    * without first building the response as a JSON tree.
+    * The content is written to the client only after the request handler returns, so that a slow client does not
+    * hold the model transactions and synchronizer lanes in which the data are encoded.
+    *
+    * @param context      the Context representing the client connection
+    * @param responseType the response type
+    * @param data         the writer of the response data
+    * @throws EncodingException on failure to encode the data, in which case nothing is sent, so that an error
+    *                              may be sent instead
+    */
+   public static void stream(final Context context, final String responseType, final JsonResponse.DataWriter data)
+      throws EncodingException {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      try (JsonGenerator generator = JsonResponse.createGenerator(content)) {
+         JsonResponse.write(generator, responseType, data);
+      } catch (IOException e) {
+         throw new EncodingException(e);
+      }
+      context.contentType(ContentType.APPLICATION_JSON);
+      context.result(content.toByteArray());
+   }
+
    public static void success(final Context context, final String message) {
       response(context, JsonResponse.success(message));
    }
@@ -110,6 +151,21 @@ public final class ContextResponse {
       context.json(JsonResponse.error(errorMsg));
    }
 
+   /**
+    * Send an 'error' response to the client with data detailing the error. The error message is only logged.
+    *
+    * @param context    the Context representing the client connection
+    * @param statusCode the HTTP status code of the response
+    * @param data       the data detailing the error
+    * @param errorMsg   the error message to log
+    */
+   public static void error(final Context context, final int statusCode, final JsonNode data,
+      final String errorMsg) {
+      LOG.error(errorMsg);
+      context.status(statusCode);
+      context.json(JsonResponse.error(data));
+   }
+
    public static void warn(final Context context, final int statusCode, final String warningMsg) {
       LOG.error(warningMsg);
       context.status(statusCode);
@@ -168,6 +224,11 @@ public final class ContextResponse {
       error(context, HttpURLConnection.HTTP_INTERNAL_ERROR, errorMessage, exception);
    }
 
+   public static void internalError(final Context context, final JsonNode data, final String errorMessageFormat,
+      final Object... args) {
+      error(context, HttpURLConnection.HTTP_INTERNAL_ERROR, data, String.format(errorMessageFormat, args));
+   }
+
    public static void badRequest(final Context context, final Exception exception) {
       error(context, HttpURLConnection.HTTP_BAD_REQUEST, exception);
    }
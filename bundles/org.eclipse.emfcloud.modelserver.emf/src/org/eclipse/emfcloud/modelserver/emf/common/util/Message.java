@@ -98,15 +98,20 @@ public final class Message<T> {
          return Optional.of(new Message<>(type, null));
       }
 
-      String jsonString = (data instanceof String) ? (String) data
-         : (data instanceof JsonNode) ? ((JsonNode) data).toString() : null;
+      if (!(data instanceof String) && !(data instanceof JsonNode)) {
+         return Optional.empty();
+      }
 
-      return Optional.ofNullable(jsonString).flatMap(json -> {
+      return Optional.of(data).flatMap(json -> {
          try {
+            // Decode JSON data as it was parsed, without formatting it as text to parse again
+            if (json instanceof JsonNode) {
+               return codec.decode((JsonNode) json, workspaceURI);
+            }
             if (workspaceURI != null) {
-               return codec.decode(json, workspaceURI);
+               return codec.decode((String) json, workspaceURI);
             }
-            return codec.decode(json);
+            return codec.decode((String) json);
          } catch (DecodingException e) {
             LOG.error("Failed to decode JSON message data.", e);
             return null;
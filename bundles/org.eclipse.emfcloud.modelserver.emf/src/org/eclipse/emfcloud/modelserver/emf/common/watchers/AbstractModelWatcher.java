@@ -27,7 +27,7 @@ import com.google.inject.Inject;
  */
 public abstract class AbstractModelWatcher implements ModelWatcher, Runnable {
 
-   /** The thread running this watcher. */
+   /** The thread running this watcher, or {@code null} if it is notified by a shared service. */
    protected final Thread worker;
 
    /** Whether still on watch. */
@@ -56,8 +56,21 @@ public abstract class AbstractModelWatcher implements ModelWatcher, Runnable {
     * Creates a new watcher to listen to model resource changes.
     */
    protected AbstractModelWatcher() {
-      this.worker = new Thread(this);
-      this.worker.setDaemon(true);
+      this(true);
+   }
+
+   /**
+    * Creates a new watcher to listen to model resource changes.
+    *
+    * @param ownThread whether the watcher polls in its own thread, rather than being notified by a shared service
+    */
+   protected AbstractModelWatcher(final boolean ownThread) {
+      if (ownThread) {
+         this.worker = new Thread(this);
+         this.worker.setDaemon(true);
+      } else {
+         this.worker = null;
+      }
    }
 
    @Override
@@ -73,11 +86,18 @@ public abstract class AbstractModelWatcher implements ModelWatcher, Runnable {
          // watcher is not running, run it (nominal case)
          this.resource = resource;
          this.running = true;
-         this.worker.start();
+         start();
          addStopAdapter();
       }
    }
 
+   /**
+    * Start watching the resource, by default in the thread of this watcher.
+    */
+   protected void start() {
+      this.worker.start();
+   }
+
    /**
     * Add an adapter to the resource to stop watching the resource on closure.
     */
@@ -102,7 +122,9 @@ public abstract class AbstractModelWatcher implements ModelWatcher, Runnable {
     */
    public void stop() {
       this.running = false;
-      this.worker.interrupt();
+      if (this.worker != null) {
+         this.worker.interrupt();
+      }
    }
 
 }
@@ -0,0 +1,324 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common.watchers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Singleton;
+
+/**
+ * Watches the files of {@link FileModelWatcher}s with a single {@link WatchService}. Each directory is
+ * registered only once, however many watched files it contains, and one thread polls for the events of
+ * all directories. The events are dispatched to the watchers of the changed files on a small thread pool.
+ * Events are collected until a quiet period elapses, so that a bulk change of many files, such as a version control
+ * operation, is reconciled at once rather than file by file.
+ */
+@Singleton
+public class DirectoryWatchService {
+
+   /** Logger. */
+   protected static final Logger LOG = LogManager.getLogger(DirectoryWatchService.class);
+
+   /** Delay to receive one event for a file modification and the update of its timestamp. */
+   private static final long DEBOUNCE_MILLIS = 50L;
+
+   /** Period without further events after which the collected events are dispatched. */
+   private static final long QUIET_PERIOD_MILLIS = 200L;
+
+   /** Longest delay for which events are collected while the files keep changing. */
+   private static final long MAX_COLLECT_MILLIS = 2000L;
+
+   private static final AtomicInteger COUNTER = new AtomicInteger();
+
+   /** The watched directories. */
+   private final Map<Path, WatchedDirectory> directories = new HashMap<>();
+
+   /** The watched directories, by their watch key. */
+   private final Map<WatchKey, WatchedDirectory> keys = new HashMap<>();
+
+   /** The watchers with a pending event, and whether their file was deleted. */
+   private final Map<FileModelWatcher, Boolean> pending = new ConcurrentHashMap<>();
+
+   /** The watchers with an event collected since the latest dispatch, and whether their file was deleted. */
+   private final Map<FileModelWatcher, Boolean> collected = new LinkedHashMap<>();
+
+   private final ExecutorService dispatcher;
+
+   private WatchService watchService;
+
+   public DirectoryWatchService() {
+      this(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+   }
+
+   /**
+    * Creates a new service to watch model files.
+    *
+    * @param dispatcherThreads the number of threads on which to dispatch events
+    */
+   protected DirectoryWatchService(final int dispatcherThreads) {
+      this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads,
+         runnable -> newDaemonThread(runnable, "dispatcher"));
+   }
+
+   /**
+    * Watch a file for changes.
+    *
+    * @param watcher the watcher to notify of changes
+    * @param file    the file to watch
+    * @throws IOException if the directory of the file cannot be watched
+    */
+   public synchronized void register(final FileModelWatcher watcher, final File file) throws IOException {
+      Path directory = getDirectory(file);
+      WatchedDirectory watched = directories.get(directory);
+      if (watched == null) {
+         WatchKey key = directory.register(getWatchService(), StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+         watched = new WatchedDirectory(key);
+         directories.put(directory, watched);
+         keys.put(key, watched);
+      }
+      watched.add(file.getName(), watcher);
+   }
+
+   /**
+    * Stop watching a file for changes. The directory of the file is no longer watched when none of its
+    * files are.
+    *
+    * @param watcher the watcher that was notified of changes
+    * @param file    the watched file
+    */
+   public synchronized void unregister(final FileModelWatcher watcher, final File file) {
+      Path directory = getDirectory(file);
+      WatchedDirectory watched = directories.get(directory);
+      if (watched != null && watched.remove(file.getName(), watcher) && watched.isEmpty()) {
+         watched.key.cancel();
+         directories.remove(directory);
+         keys.remove(watched.key);
+      }
+      pending.remove(watcher);
+      collected.remove(watcher);
+   }
+
+   /**
+    * Get the number of directories currently watched.
+    *
+    * @return the number of watched directories
+    */
+   public synchronized int getWatchedDirectoryCount() { return directories.size(); }
+
+   /**
+    * Notify a watcher that its file may have changed, on the dispatcher threads. Notifications that are still
+    * pending for the same watcher are merged, so that it is notified once.
+    *
+    * @param watcher the watcher to notify
+    * @param deleted whether the file was deleted
+    */
+   public void dispatch(final FileModelWatcher watcher, final boolean deleted) {
+      boolean[] schedule = new boolean[1];
+      pending.compute(watcher, (key, previous) -> {
+         schedule[0] = previous == null;
+         return previous == null ? deleted : previous || deleted;
+      });
+      if (schedule[0]) {
+         dispatcher.execute(() -> {
+            Boolean wasDeleted = pending.remove(watcher);
+            if (wasDeleted != null) {
+               watcher.fileChanged(wasDeleted);
+            }
+         });
+      }
+   }
+
+   /**
+    * Dispatch the events collected since the latest dispatch. The events of a single watcher are dispatched as
+    * usual, otherwise the watchers are notified of their changes together.
+    */
+   protected void dispatchCollected() {
+      Map<FileModelWatcher, Boolean> changes;
+      synchronized (this) {
+         changes = new LinkedHashMap<>(collected);
+         collected.clear();
+      }
+      if (changes.size() == 1) {
+         changes.forEach(this::dispatch);
+      } else if (!changes.isEmpty()) {
+         changes.keySet().forEach(pending::remove);
+         dispatcher.execute(() -> FileModelWatcher.filesChanged(changes));
+      }
+   }
+
+   /**
+    * Stop watching all files. Not exposed to clients but used in tests to avoid piling up threads.
+    */
+   public synchronized void dispose() {
+      dispatcher.shutdown();
+      if (watchService != null) {
+         try {
+            watchService.close();
+         } catch (IOException e) {
+            LOG.warn("Failed to close the watch service", e);
+         }
+      }
+      directories.clear();
+      keys.clear();
+      collected.clear();
+   }
+
+   private WatchService getWatchService() throws IOException {
+      if (watchService == null) {
+         watchService = FileSystems.getDefault().newWatchService();
+         newDaemonThread(() -> poll(watchService), "poller").start();
+      }
+      return watchService;
+   }
+
+   private static Thread newDaemonThread(final Runnable runnable, final String role) {
+      Thread result = new Thread(runnable,
+         DirectoryWatchService.class.getSimpleName() + "-" + role + "-" + COUNTER.incrementAndGet());
+      result.setDaemon(true);
+      return result;
+   }
+
+   private static Path getDirectory(final File file) {
+      return file.getAbsoluteFile().getParentFile().toPath();
+   }
+
+   /**
+    * Poll for the events of all watched directories.
+    *
+    * @param service the watch service
+    */
+   protected void poll(final WatchService service) {
+      try {
+         while (true) {
+            WatchKey key = service.take();
+            /*
+             * Sleep to prevent receiving two separate ENTRY_MODIFY events:
+             * one for file modified and one for timestamp updated
+             * Instead, receive one event with two counts.
+             * The other directories changed meanwhile are handled at once.
+             */
+            Thread.sleep(DEBOUNCE_MILLIS);
+            long deadline = System.currentTimeMillis() + MAX_COLLECT_MILLIS;
+            while (key != null) {
+               for (; key != null; key = service.poll()) {
+                  handleEvents(key);
+               }
+               // Collect the events of a bulk change until it settles
+               long remaining = deadline - System.currentTimeMillis();
+               if (remaining > 0) {
+                  key = service.poll(Math.min(QUIET_PERIOD_MILLIS, remaining), TimeUnit.MILLISECONDS);
+               }
+            }
+            dispatchCollected();
+         }
+      } catch (ClosedWatchServiceException | InterruptedException e) {
+         // the service is disposed, nothing to do
+      }
+   }
+
+   /**
+    * Collect the events of a watched directory for the watchers of the changed files.
+    *
+    * @param key the watch key of the directory
+    */
+   protected synchronized void handleEvents(final WatchKey key) {
+      List<WatchEvent<?>> events = key.pollEvents();
+      boolean valid = key.reset();
+      WatchedDirectory watched = keys.get(key);
+      if (watched == null) {
+         return;
+      }
+
+      if (!valid) {
+         // the directory itself is no longer accessible
+         directories.values().remove(watched);
+         keys.remove(key);
+         watched.getAll().forEach(watcher -> collect(watcher, false));
+         return;
+      }
+      for (WatchEvent<?> event : events) {
+         Object ctx = event.context();
+         if (StandardWatchEventKinds.OVERFLOW.equals(event.kind())) {
+            // events were lost, check all files
+            watched.getAll().forEach(watcher -> collect(watcher, false));
+         } else if (ctx instanceof Path) {
+            boolean deleted = StandardWatchEventKinds.ENTRY_DELETE.equals(event.kind());
+            watched.get(((Path) ctx).getFileName().toString()).forEach(watcher -> collect(watcher, deleted));
+         }
+      }
+   }
+
+   private void collect(final FileModelWatcher watcher, final boolean deleted) {
+      collected.merge(watcher, deleted, Boolean::logicalOr);
+   }
+
+   /**
+    * A watched directory and the watchers of its files.
+    */
+   private static final class WatchedDirectory {
+      private final WatchKey key;
+      private final Map<String, Set<FileModelWatcher>> watchers = new HashMap<>();
+
+      WatchedDirectory(final WatchKey key) {
+         this.key = key;
+      }
+
+      void add(final String fileName, final FileModelWatcher watcher) {
+         watchers.computeIfAbsent(fileName, name -> new HashSet<>()).add(watcher);
+      }
+
+      boolean remove(final String fileName, final FileModelWatcher watcher) {
+         Set<FileModelWatcher> fileWatchers = watchers.get(fileName);
+         boolean result = fileWatchers != null && fileWatchers.remove(watcher);
+         if (fileWatchers != null && fileWatchers.isEmpty()) {
+            watchers.remove(fileName);
+         }
+         return result;
+      }
+
+      boolean isEmpty() { return watchers.isEmpty(); }
+
+      Set<FileModelWatcher> get(final String fileName) {
+         return watchers.getOrDefault(fileName, Collections.emptySet());
+      }
+
+      Set<FileModelWatcher> getAll() {
+         Set<FileModelWatcher> result = new HashSet<>();
+         watchers.values().forEach(result::addAll);
+         return result;
+      }
+   }
+
+}
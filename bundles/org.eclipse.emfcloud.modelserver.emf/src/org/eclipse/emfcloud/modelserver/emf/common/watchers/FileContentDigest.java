@@ -0,0 +1,139 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common.watchers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * The digest of the content of a model file, as the model server last loaded or saved it. A change of the file that
+ * results in the same content, such as the model server saving the model itself, need not be reconciled.
+ */
+public class FileContentDigest extends AdapterImpl {
+
+   protected static final Logger LOG = LogManager.getLogger(FileContentDigest.class);
+
+   private static final String ALGORITHM = "SHA-256";
+
+   private static final int BUFFER_SIZE = 8192;
+
+   private volatile File file;
+
+   private volatile byte[] digest;
+
+   @Override
+   public boolean isAdapterForType(final Object type) {
+      return type == FileContentDigest.class;
+   }
+
+   /**
+    * Create a message digest with which to compute the digest of a model file.
+    *
+    * @return a new message digest
+    */
+   public static MessageDigest newMessageDigest() {
+      try {
+         return MessageDigest.getInstance(ALGORITHM);
+      } catch (NoSuchAlgorithmException e) {
+         // Every Java platform supports SHA-256
+         throw new IllegalStateException(e);
+      }
+   }
+
+   /**
+    * Record the digest of the content of the file of a model resource.
+    *
+    * @param resource a model resource
+    * @param file     its file
+    * @param digest   the digest of the content of the file
+    */
+   public static void record(final Resource resource, final File file, final byte[] digest) {
+      FileContentDigest adapter;
+      synchronized (resource.eAdapters()) {
+         adapter = (FileContentDigest) EcoreUtil.getExistingAdapter(resource, FileContentDigest.class);
+         if (adapter == null) {
+            adapter = new FileContentDigest();
+            resource.eAdapters().add(adapter);
+         }
+      }
+      adapter.file = file;
+      adapter.digest = digest;
+   }
+
+   /**
+    * Record the digest of the current content of the file of a model resource.
+    *
+    * @param resource a model resource
+    * @param file     its file
+    */
+   public static void record(final Resource resource, final File file) {
+      byte[] digest = digest(file);
+      if (digest != null) {
+         record(resource, file, digest);
+      }
+   }
+
+   /**
+    * Update the digest of the content of the file of a model resource, if one is recorded, such as when the model
+    * has been brought up to date with new content of its file.
+    *
+    * @param resource a model resource
+    * @param digest   the digest of the new content of its file
+    */
+   public static void update(final Resource resource, final byte[] digest) {
+      FileContentDigest adapter = (FileContentDigest) EcoreUtil.getExistingAdapter(resource,
+         FileContentDigest.class);
+      if (adapter != null) {
+         adapter.digest = digest;
+      }
+   }
+
+   /**
+    * Query whether the file of a model resource still has the content that the model server last loaded or saved.
+    *
+    * @param resource a model resource
+    * @return whether its file is unchanged, or {@code false} if unknown
+    */
+   public static boolean isUnchanged(final Resource resource) {
+      FileContentDigest adapter = (FileContentDigest) EcoreUtil.getExistingAdapter(resource,
+         FileContentDigest.class);
+      if (adapter == null || adapter.digest == null) {
+         return false;
+      }
+      return Arrays.equals(adapter.digest, digest(adapter.file));
+   }
+
+   protected static byte[] digest(final File file) {
+      MessageDigest result = newMessageDigest();
+      try (InputStream input = Files.newInputStream(file.toPath())) {
+         byte[] buffer = new byte[BUFFER_SIZE];
+         for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+            result.update(buffer, 0, read);
+         }
+         return result.digest();
+      } catch (IOException e) {
+         LOG.debug("Could not read model file: " + file, e);
+         return null;
+      }
+   }
+
+}
@@ -12,15 +12,11 @@ package org.eclipse.emfcloud.modelserver.emf.common.watchers;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileSystems;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardWatchEventKinds;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,6 +31,7 @@ import com.google.inject.Injector;
 
 /**
  * Watches for changes on model files to adopt a strategy to update models.
+ * The files are watched by the shared {@link DirectoryWatchService}, rather than in a thread of each watcher.
  *
  * @author vhemery
  */
@@ -70,11 +67,18 @@ public class FileModelWatcher extends AbstractModelWatcher {
    /** The file to watch for. */
    private File fileToWatch;
 
+   /** The latest modification time of the file that was found not to change its content. */
+   private long unchangedTimeStamp;
+
+   /** The service watching the files. */
+   @Inject
+   private DirectoryWatchService watchService;
+
    /**
     * Creates a new watcher to listen to model file changes.
     */
    public FileModelWatcher() {
-      super();
+      super(false);
    }
 
    @Override
@@ -83,8 +87,16 @@ public class FileModelWatcher extends AbstractModelWatcher {
       uri = resource.getResourceSet().getURIConverter().normalize(uri);
       File file = toFile(uri);
       if (file != null) {
+         File previous = this.fileToWatch;
          this.fileToWatch = file;
-         super.watch(resource);
+         if (running && previous != null && !previous.equals(file)) {
+            // watcher is already running on another file, change file
+            watchService.unregister(this, previous);
+            super.watch(resource);
+            start();
+         } else {
+            super.watch(resource);
+         }
       }
    }
 
@@ -110,63 +122,89 @@ public class FileModelWatcher extends AbstractModelWatcher {
    }
 
    @Override
-   public void run() {
-      try (WatchService ws = FileSystems.getDefault().newWatchService()) {
-         Path path = Paths.get(fileToWatch.getParent());
-         path.register(ws, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
-         handleInitial();
-         // run loop
-         while (running) {
-            WatchKey key = ws.take();
-            /*
-             * Sleep to prevent receiving two separate ENTRY_MODIFY events:
-             * one for file modified and one for timestamp updated
-             * Instead, receive one event with two counts.
-             */
-            Thread.sleep(50);
-            List<WatchEvent<?>> events = key.pollEvents();
-            for (WatchEvent<?> event : events) {
-               handleEvent(event);
-            }
-            running = running && key.reset();
-         }
+   protected void start() {
+      if (fileToWatch.lastModified() <= resource.getTimeStamp()) {
+         // The file has the loaded content
+         FileContentDigest.record(resource, fileToWatch);
+      }
+      try {
+         watchService.register(this, fileToWatch);
+         // watch service may have been initialized late, after a first update. Check it once...
+         watchService.dispatch(this, false);
       } catch (IOException e) {
          String msg = MessageFormat.format("Failed while watching for file {0}", this.fileToWatch.toURI());
          LOG.error(msg, e);
-      } catch (InterruptedException e) {
-         // assume it is to stop, nothing to do
+      }
+   }
+
+   @Override
+   public void stop() {
+      super.stop();
+      if (fileToWatch != null) {
+         watchService.unregister(this, fileToWatch);
       }
    }
 
    /**
-    * Handle a difference occurring before the first watch loop.
+    * Check the watched file for changes that were not notified.
     */
-   private void handleInitial() {
-      // watch service may have been initialized late, after a first update. Check it once...
-      if (!fileToWatch.exists() || fileToWatch.lastModified() > resource.getTimeStamp()) {
+   @Override
+   public void run() {
+      fileChanged(false);
+   }
+
+   /**
+    * Handle a change notified by the {@link DirectoryWatchService}, trigerring the reconciliation when necessary.
+    * A modification that does not change the content of the file, such as the model server saving the model
+    * itself, is not reconciled.
+    *
+    * @param deleted whether the file was deleted
+    */
+   protected void fileChanged(final boolean deleted) {
+      if (isReconcileNeeded(deleted)) {
          // reconcile model on file change
          reconcile(this.resource);
       }
    }
 
    /**
-    * Handle a file watch event, trigerring the reconciliation when necessary.
+    * Handle the changes notified by the {@link DirectoryWatchService} to several watchers at once, such as on a
+    * bulk change of the workspace, reconciling the changed models together.
+    *
+    * @param changes the watchers to notify, and whether their file was deleted
+    */
+   protected static void filesChanged(final Map<FileModelWatcher, Boolean> changes) {
+      Map<ReconcilingStrategy, List<Resource>> toReconcile = new LinkedHashMap<>();
+      changes.forEach((watcher, deleted) -> {
+         if (watcher.isReconcileNeeded(deleted)) {
+            toReconcile.computeIfAbsent(watcher.strategy, strategy -> new ArrayList<>()).add(watcher.resource);
+         }
+      });
+      toReconcile.forEach(ReconcilingStrategy::reconcileModels);
+   }
+
+   /**
+    * Query whether a change of the watched file needs the model to be reconciled.
     *
-    * @param event the file watch event
+    * @param deleted whether the file was deleted
+    * @return whether to reconcile the model
     */
-   private void handleEvent(final WatchEvent<?> event) {
-      Object ctx = event.context();
-      boolean changeOnWatchedFile = ctx instanceof Path
-         && ((Path) ctx).getFileName().toString().equals(fileToWatch.getName());
-      if (changeOnWatchedFile) {
-         if (StandardWatchEventKinds.ENTRY_DELETE.equals(event.kind())
-            || fileToWatch.lastModified() > resource.getTimeStamp()
-            // when parent folder is trashed, we may receive only a modify event...
-            || !fileToWatch.exists()) {
-            // reconcile model on file change
-            reconcile(this.resource);
+   protected boolean isReconcileNeeded(final boolean deleted) {
+      if (!running) {
+         return false;
+      }
+      if (deleted || !fileToWatch.exists()) {
+         return true;
+      }
+      long lastModified = fileToWatch.lastModified();
+      if (lastModified > Math.max(resource.getTimeStamp(), unchangedTimeStamp)) {
+         if (FileContentDigest.isUnchanged(resource)) {
+            unchangedTimeStamp = lastModified;
+         } else {
+            return true;
          }
       }
+      return false;
    }
 
 }
@@ -0,0 +1,343 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common.watchers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emfcloud.modelserver.common.utils.URIFragmentCache;
+import org.eclipse.emfcloud.modelserver.emf.common.ModelElementIndex;
+
+/**
+ * <p>
+ * Merges the content of a resource, such as a model freshly loaded from its file, into another resource with the
+ * same model, such as the model that the clients are editing, with the smallest changes that make them equal.
+ * Objects keep their identity where they can be matched, so that the changes are the same as an edit of the model,
+ * rather than a replacement of everything.
+ * </p>
+ * <p>
+ * The objects of each containment are matched by their type and their identifier, or else their name, or else
+ * their position amongst the remaining objects of the same type. The objects of the source that have no match are
+ * copied.
+ * Derived, transient, and unchangeable features are not merged. Feature maps are not supported.
+ * </p>
+ * <p>
+ * The merge changes the target resource, so it must be performed in a write transaction where the target resource
+ * is in a transactional editing domain. The IDs of the objects of an XML resource are not recorded by the
+ * transaction, so a command that merges must also {@linkplain #undoIDs() undo} and {@linkplain #redoIDs() redo}
+ * the changes of IDs.
+ * </p>
+ */
+public class ModelMerger {
+
+   private static final String ID = "id";
+
+   private static final String NAME = "name";
+
+   private final Resource target;
+
+   private final Resource source;
+
+   /** The objects of the target that the objects of the source were merged into. */
+   private final Map<EObject, EObject> merged = new LinkedHashMap<>();
+
+   /** The changes of the IDs of objects of the target, which are not recorded by change recorders. */
+   private final List<IDChange> idChanges = new ArrayList<>();
+
+   /**
+    * Initialize me with the resources to merge.
+    *
+    * @param target the resource to update
+    * @param source the resource whose content to merge into the target
+    */
+   public ModelMerger(final Resource target, final Resource source) {
+      this.target = target;
+      this.source = source;
+   }
+
+   /**
+    * Query whether the resources already have the same content, in which case there is nothing to merge.
+    *
+    * @return whether the content of the resources is equal
+    */
+   public boolean isEqual() {
+      return new EcoreUtil.EqualityHelper().equals(target.getContents(), source.getContents());
+   }
+
+   /**
+    * Merge the content of the source resource into the target resource.
+    *
+    * @throws UnsupportedOperationException if the model has features that cannot be merged
+    */
+   public void merge() {
+      merged.clear();
+      idChanges.clear();
+      mergeContents(target.getContents(), source.getContents());
+      merged.forEach((sourceObject, targetObject) -> mergeReferences(targetObject, sourceObject));
+      if (source instanceof XMLResource && target instanceof XMLResource) {
+         merged.forEach((sourceObject, targetObject) -> mergeID(targetObject, sourceObject));
+      }
+   }
+
+   protected void mergeContents(final EList<EObject> targets, final List<EObject> sources) {
+      Map<List<Object>, Deque<EObject>> candidates = new HashMap<>();
+      for (EObject next : targets) {
+         candidates.computeIfAbsent(getKey(next), key -> new ArrayDeque<>()).add(next);
+      }
+      List<EObject> result = new ArrayList<>(sources.size());
+      Set<EObject> matched = new HashSet<>();
+      for (EObject next : sources) {
+         Deque<EObject> matches = candidates.get(getKey(next));
+         EObject match = matches != null ? matches.poll() : null;
+         result.add(match);
+         if (match != null) {
+            matched.add(match);
+         }
+      }
+
+      // The objects whose key changed, such as by a rename, are matched by their position
+      Map<EClass, Deque<EObject>> remaining = new HashMap<>();
+      for (EObject next : targets) {
+         if (!matched.contains(next)) {
+            remaining.computeIfAbsent(next.eClass(), eClass -> new ArrayDeque<>()).add(next);
+         }
+      }
+      for (int i = 0; i < sources.size(); i++) {
+         EObject next = sources.get(i);
+         EObject match = result.get(i);
+         if (match == null) {
+            Deque<EObject> matches = remaining.get(next.eClass());
+            match = matches != null && !matches.isEmpty() ? matches.poll() : EcoreUtil.create(next.eClass());
+            result.set(i, match);
+         }
+         mergeObject(match, next);
+      }
+      if (!result.equals(targets)) {
+         ECollections.setEList(targets, result);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   protected void mergeObject(final EObject targetObject, final EObject sourceObject) {
+      merged.put(sourceObject, targetObject);
+      for (EStructuralFeature feature : sourceObject.eClass().getEAllStructuralFeatures()) {
+         if (!isMerged(feature)) {
+            continue;
+         }
+         if (feature instanceof EAttribute) {
+            mergeAttribute(targetObject, sourceObject, (EAttribute) feature);
+         } else if (((EReference) feature).isContainment()) {
+            if (feature.isMany()) {
+               mergeContents((EList<EObject>) targetObject.eGet(feature), (List<EObject>) sourceObject.eGet(feature));
+            } else {
+               mergeContent(targetObject, sourceObject, (EReference) feature);
+            }
+         }
+      }
+   }
+
+   protected void mergeContent(final EObject targetObject, final EObject sourceObject, final EReference feature) {
+      EObject sourceValue = (EObject) sourceObject.eGet(feature);
+      EObject targetValue = (EObject) targetObject.eGet(feature);
+      if (sourceValue == null) {
+         mergeUnset(targetObject, sourceObject, feature);
+         return;
+      }
+      EObject match = targetValue != null && targetValue.eClass() == sourceValue.eClass() ? targetValue
+         : EcoreUtil.create(sourceValue.eClass());
+      mergeObject(match, sourceValue);
+      if (match != targetValue) {
+         targetObject.eSet(feature, match);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   protected void mergeAttribute(final EObject targetObject, final EObject sourceObject, final EAttribute feature) {
+      if (FeatureMapUtil.isFeatureMap(feature)) {
+         throw new UnsupportedOperationException("Feature maps are not supported: " + feature.getName());
+      }
+      Object sourceValue = sourceObject.eGet(feature);
+      if (feature.isMany()) {
+         EList<Object> targetValue = (EList<Object>) targetObject.eGet(feature);
+         if (!targetValue.equals(sourceValue)) {
+            ECollections.setEList(targetValue, (List<Object>) sourceValue);
+         }
+      } else if (!sourceObject.eIsSet(feature)) {
+         mergeUnset(targetObject, sourceObject, feature);
+      } else if (!targetObject.eIsSet(feature) || !Objects.equals(targetObject.eGet(feature), sourceValue)) {
+         targetObject.eSet(feature, sourceValue);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   protected void mergeReferences(final EObject targetObject, final EObject sourceObject) {
+      for (EReference reference : sourceObject.eClass().getEAllReferences()) {
+         if (!isMerged(reference) || reference.isContainment()) {
+            continue;
+         }
+         if (reference.isMany()) {
+            List<EObject> sourceValue = ((InternalEList<EObject>) sourceObject.eGet(reference)).basicList();
+            List<EObject> targetValue = ((InternalEList<EObject>) targetObject.eGet(reference)).basicList();
+            List<EObject> result = new ArrayList<>(sourceValue.size());
+            boolean changed = sourceValue.size() != targetValue.size();
+            for (int i = 0; i < sourceValue.size(); i++) {
+               EObject value = getTargetObject(sourceValue.get(i));
+               changed = changed || !isSame(value, targetValue.get(i));
+               result.add(value);
+            }
+            if (changed) {
+               ECollections.setEList((EList<EObject>) targetObject.eGet(reference), result);
+            }
+         } else if (!sourceObject.eIsSet(reference)) {
+            mergeUnset(targetObject, sourceObject, reference);
+         } else {
+            EObject value = getTargetObject((EObject) sourceObject.eGet(reference, false));
+            if (!targetObject.eIsSet(reference) || !isSame(value, (EObject) targetObject.eGet(reference, false))) {
+               targetObject.eSet(reference, value);
+            }
+         }
+      }
+   }
+
+   protected void mergeUnset(final EObject targetObject, final EObject sourceObject,
+      final EStructuralFeature feature) {
+      if (targetObject.eIsSet(feature)) {
+         targetObject.eUnset(feature);
+      }
+   }
+
+   protected void mergeID(final EObject targetObject, final EObject sourceObject) {
+      String id = ((XMLResource) source).getID(sourceObject);
+      String oldID = ((XMLResource) target).getID(targetObject);
+      if (id != null && !id.equals(oldID)) {
+         idChanges.add(new IDChange(targetObject, oldID, id));
+         setID(targetObject, id);
+      }
+   }
+
+   /**
+    * Revert the changes of the IDs of the objects of the target resource by the last merge, such as when the
+    * command that merged is undone.
+    */
+   public void undoIDs() {
+      for (int i = idChanges.size() - 1; i >= 0; i--) {
+         IDChange change = idChanges.get(i);
+         setID(change.object, change.oldID);
+      }
+   }
+
+   /**
+    * Apply again the changes of the IDs of the objects of the target resource by the last merge, such as when the
+    * command that merged is redone.
+    */
+   public void redoIDs() {
+      idChanges.forEach(change -> setID(change.object, change.newID));
+   }
+
+   protected void setID(final EObject targetObject, final String id) {
+      ((XMLResource) target).setID(targetObject, id);
+      // Setting the ID is not notified, so the cache would not otherwise know that the URI fragment changed
+      URIFragmentCache.invalidate(target, targetObject);
+   }
+
+   /**
+    * Get the object of the target that a reference to an object of the source should refer to.
+    *
+    * @param sourceValue an object referenced in the source
+    * @return the corresponding object of the target
+    */
+   protected EObject getTargetObject(final EObject sourceValue) {
+      if (sourceValue == null) {
+         return null;
+      }
+      EObject result = merged.get(sourceValue);
+      if (result != null) {
+         return result;
+      }
+      if (!sourceValue.eIsProxy()) {
+         // Only the source resource is loaded in its resource set, so this is an object of another model
+         throw new UnsupportedOperationException("Cannot merge a reference to " + EcoreUtil.getURI(sourceValue));
+      }
+      // A reference to another resource, which may be loaded already with the target
+      URI uri = ((InternalEObject) sourceValue).eProxyURI();
+      ResourceSet resourceSet = target.getResourceSet();
+      result = resourceSet != null ? resourceSet.getEObject(uri, false) : null;
+      return result != null ? result : sourceValue;
+   }
+
+   protected boolean isMerged(final EStructuralFeature feature) {
+      return !feature.isDerived() && !feature.isTransient() && feature.isChangeable()
+         && !(feature instanceof EReference && ((EReference) feature).isContainer());
+   }
+
+   /**
+    * Get the key by which an object is matched with the objects of the other resource.
+    *
+    * @param eObject an object of either resource
+    * @return its key
+    */
+   protected List<Object> getKey(final EObject eObject) {
+      String id = EcoreUtil.getID(eObject);
+      if (id == null && eObject.eResource() instanceof XMLResource) {
+         id = ((XMLResource) eObject.eResource()).getID(eObject);
+      }
+      if (id != null) {
+         return Arrays.asList(eObject.eClass(), ID, id);
+      }
+      EStructuralFeature name = eObject.eClass().getEStructuralFeature(ModelElementIndex.NAME_FEATURE);
+      if (name != null && !name.isMany() && eObject.eGet(name) instanceof String) {
+         return Arrays.asList(eObject.eClass(), NAME, eObject.eGet(name));
+      }
+      return Arrays.asList(eObject.eClass());
+   }
+
+   protected static boolean isSame(final EObject value, final EObject other) {
+      return value == other || value != null && other != null && value.eIsProxy() && other.eIsProxy()
+         && ((InternalEObject) value).eProxyURI().equals(((InternalEObject) other).eProxyURI());
+   }
+
+   private static final class IDChange {
+      final EObject object;
+      final String oldID;
+      final String newID;
+
+      IDChange(final EObject object, final String oldID, final String newID) {
+         this.object = object;
+         this.oldID = oldID;
+         this.newID = newID;
+      }
+   }
+
+}
@@ -10,14 +10,39 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common.watchers;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.emfcloud.modelserver.command.CCommandExecutionResult;
+import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.ModelRepository;
+import org.eclipse.emfcloud.modelserver.emf.common.ModelSynchronizer;
 import org.eclipse.emfcloud.modelserver.emf.common.SessionController;
+import org.eclipse.emfcloud.modelserver.emf.util.JsonPatchHelper;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Suppliers;
 import com.google.inject.Inject;
 
 /**
@@ -35,6 +60,16 @@ public interface ReconcilingStrategy {
     */
    void reconcileModel(Resource modelResource);
 
+   /**
+    * Reconcile several model resources with the underlying persistence at once, such as when a version control
+    * operation changed many of them. By default, they are reconciled one after the other.
+    *
+    * @param modelResources the model resources to reconcile
+    */
+   default void reconcileModels(final Collection<? extends Resource> modelResources) {
+      modelResources.forEach(this::reconcileModel);
+   }
+
    /**
     * A strategy to always reload the model from persisted resource, loosing local modifications.
     *
@@ -45,11 +80,11 @@ public interface ReconcilingStrategy {
 
       /** The injected model repository which can be used to reload models. */
       @Inject
-      private ModelRepository repository;
+      protected ModelRepository repository;
 
       /** The session controller to inform about model reconciliation. */
       @Inject
-      private SessionController sessionController;
+      protected SessionController sessionController;
 
       /**
        * Reconcile by reloading the model resource. Reconciliation is implemented in
@@ -65,6 +100,24 @@ public interface ReconcilingStrategy {
          });
       }
 
+      /**
+       * Reconcile by reloading the model resources that changed, all in one exclusive action on the model
+       * repository, and then inform of the bulk change.
+       *
+       * @param modelResources the model resources to reconcile
+       */
+      @Override
+      public void reconcileModels(final Collection<? extends Resource> modelResources) {
+         // Checking the content of many files is worth doing in parallel
+         List<Resource> changed = modelResources.parallelStream()
+            .filter(modelResource -> !FileContentDigest.isUnchanged(modelResource))
+            .collect(Collectors.toList());
+         if (!changed.isEmpty()) {
+            repository.runResourceSetAction(() -> changed.forEach(this::reloadModel));
+            sessionController.modelsChanged(getModelUris(changed));
+         }
+      }
+
       /**
        * The basic implementation of reconciliation by reloading the model resource.
        * Extend this method instead of {@link #reconcileModel(Resource)} to use the
@@ -73,6 +126,20 @@ public interface ReconcilingStrategy {
        * @param modelResource the model resource to reconcile
        */
       protected void basicReconcileModel(final Resource modelResource) {
+         if (FileContentDigest.isUnchanged(modelResource)) {
+            // Most likely our own save, which completed while this reconciliation was pending
+            LOG.debug("Model resource is unchanged: " + modelResource.getURI());
+            return;
+         }
+         reloadModel(modelResource);
+      }
+
+      /**
+       * Reload a model resource that has changed, in the exclusive action of the reconciliation.
+       *
+       * @param modelResource the model resource to reload
+       */
+      protected void reloadModel(final Resource modelResource) {
          // close and reload the resource
          String modelUri = modelResource.getURI().toString();
          LOG.debug("Reconciling model resource: " + modelUri);
@@ -100,6 +167,255 @@ public interface ReconcilingStrategy {
          }
       }
 
+      protected static List<String> getModelUris(final Collection<? extends Resource> modelResources) {
+         return modelResources.stream().map(modelResource -> modelResource.getURI().toString())
+            .collect(Collectors.toList());
+      }
+
+   }
+
+   /**
+    * A strategy to apply the changes of the persisted resource to the model with an undoable command, which is
+    * broadcast to the clients as an incremental update like any other command, rather than reloading the model.
+    * The command stack and the subscriptions to the model are preserved. Local modifications are lost as with the
+    * {@link AlwaysReload} strategy, which this strategy falls back to when the persisted changes cannot be applied,
+    * such as when the persisted resource was deleted or cannot be loaded.
+    *
+    * @see ModelMerger
+    */
+   class ApplyChanges extends AlwaysReload {
+
+      /** The JSON patch helper to generate the incremental update of the clients. */
+      @Inject
+      protected JsonPatchHelper jsonPatchHelper;
+
+      /** The synchronizer of the models, in whose lanes the changes are applied. */
+      @Inject(optional = true)
+      protected ModelSynchronizer synchronizer;
+
+      /**
+       * Reconcile by loading the persisted resource apart from the model, and then applying its changes to the
+       * model in the model's lane of the {@linkplain ModelSynchronizer synchronizer}, if possible.
+       *
+       * @param modelResource the model resource to reconcile
+       */
+      @Override
+      public void reconcileModel(final Resource modelResource) {
+         if (FileContentDigest.isUnchanged(modelResource)) {
+            LOG.debug("Model resource is unchanged: " + modelResource.getURI());
+            return;
+         }
+         PersistedContent content = loadPersistedContent(modelResource);
+         inModelLane(modelResource, () -> applyChanges(modelResource, content));
+      }
+
+      /**
+       * Reconcile by applying the changes of the persisted resource to the model, if possible.
+       *
+       * @param modelResource the model resource to reconcile
+       */
+      @Override
+      protected void basicReconcileModel(final Resource modelResource) {
+         if (FileContentDigest.isUnchanged(modelResource)) {
+            LOG.debug("Model resource is unchanged: " + modelResource.getURI());
+            return;
+         }
+         applyChanges(modelResource, loadPersistedContent(modelResource));
+      }
+
+      /**
+       * Reconcile by loading the persisted resources that changed in parallel, which is most of the work and does
+       * not need exclusive access to the models, and then applying their changes to the models in turn, each in
+       * its model's lane.
+       *
+       * @param modelResources the model resources to reconcile
+       */
+      @Override
+      public void reconcileModels(final Collection<? extends Resource> modelResources) {
+         Map<Resource, PersistedContent> changed = modelResources.parallelStream()
+            .filter(modelResource -> !FileContentDigest.isUnchanged(modelResource))
+            .collect(Collectors.toMap(Function.identity(), this::loadPersistedContent, (first, second) -> first,
+               LinkedHashMap::new));
+         if (!changed.isEmpty()) {
+            changed.forEach((modelResource, content) -> inModelLane(modelResource,
+               () -> applyChanges(modelResource, content)));
+            sessionController.modelsChanged(getModelUris(changed.keySet()));
+         }
+      }
+
+      /**
+       * Run an action on a model resource in the model's lane of the synchronizer, so that it neither overlaps
+       * the commands of clients on the same model nor reorders their updates. No lock on the resource sets is
+       * held while waiting for the lane.
+       *
+       * @param modelResource the model resource
+       * @param action        the action on the model resource
+       */
+      protected void inModelLane(final Resource modelResource, final Runnable action) {
+         if (synchronizer == null) {
+            action.run();
+         } else {
+            synchronizer.syncExec(modelResource.getURI().toString(), action);
+         }
+      }
+
+      /**
+       * Apply the changes of the persisted content to a model resource, or else reload it. This runs in the
+       * model's lane, so the compare, the merge and the broadcast of the changes are ordered with the commands
+       * of clients on the model.
+       *
+       * @param modelResource the model resource to reconcile
+       * @param content       its persisted content
+       */
+      @SuppressWarnings("checkstyle:IllegalCatch")
+      protected void applyChanges(final Resource modelResource, final PersistedContent content) {
+         String modelUri = modelResource.getURI().toString();
+         if (!modelResource.isLoaded() || modelResource.getResourceSet() == null) {
+            // Closed or evicted while the persisted content was loading: it will be loaded afresh when needed
+            LOG.debug("Model resource is no longer loaded: " + modelUri);
+            if (content.resource != null) {
+               content.resource.unload();
+            }
+            return;
+         }
+         if (content.resource == null) {
+            repository.runResourceSetAction(() -> reloadModel(modelResource));
+            return;
+         }
+         TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(modelResource);
+         try {
+            ModelMerger merger = new ModelMerger(modelResource, content.resource);
+            if (!merger.isEqual()) {
+               LOG.debug("Applying persisted changes to model resource: " + modelUri);
+               CCommandExecutionResult result = repository.reconcileModel(modelUri,
+                  new RecordingCommand(domain, "Reconcile " + modelResource.getURI().lastSegment()) {
+                     @Override
+                     protected void doExecute() {
+                        merger.merge();
+                     }
+
+                     @Override
+                     public void undo() {
+                        super.undo();
+                        merger.undoIDs();
+                     }
+
+                     @Override
+                     public void redo() {
+                        super.redo();
+                        merger.redoIDs();
+                     }
+                  });
+               broadcast(modelUri, modelResource, result);
+            }
+            FileContentDigest.update(modelResource, content.digest);
+            modelResource.setTimeStamp(Math.max(modelResource.getTimeStamp(), content.resource.getTimeStamp()));
+         } catch (RuntimeException e) {
+            LOG.debug("Cannot apply persisted changes to model resource, reloading it: " + modelUri, e);
+            repository.runResourceSetAction(() -> reloadModel(modelResource));
+         } finally {
+            content.resource.unload();
+         }
+      }
+
+      /**
+       * Load the persisted content of a model resource apart from the model.
+       *
+       * @param modelResource the model resource to reconcile
+       * @return its persisted content, without a resource if it cannot be loaded
+       */
+      @SuppressWarnings("checkstyle:IllegalCatch")
+      protected PersistedContent loadPersistedContent(final Resource modelResource) {
+         MessageDigest digest = FileContentDigest.newMessageDigest();
+         try {
+            Resource resource = loadPersistedResource(modelResource, digest);
+            return new PersistedContent(resource, digest.digest());
+         } catch (IOException | RuntimeException e) {
+            LOG.debug("Cannot load persisted model resource, reloading it: " + modelResource.getURI(), e);
+            return new PersistedContent(null, null);
+         }
+      }
+
+      /**
+       * Load the persisted content of a model resource into a new resource set, apart from the model.
+       *
+       * @param modelResource the model resource to reconcile
+       * @param digest        the digest to update with the persisted content
+       * @return the loaded resource
+       * @throws IOException if the persisted resource cannot be read or loaded
+       */
+      protected Resource loadPersistedResource(final Resource modelResource, final MessageDigest digest)
+         throws IOException {
+         ResourceSet resourceSet = modelResource.getResourceSet();
+         URIConverter uriConverter = resourceSet.getURIConverter();
+         URI uri = modelResource.getURI();
+         // Before reading the content, so that any later change is more recent
+         Object timeStamp = uriConverter.getAttributes(uri,
+            Map.of(URIConverter.OPTION_REQUESTED_ATTRIBUTES, Set.of(URIConverter.ATTRIBUTE_TIME_STAMP)))
+            .get(URIConverter.ATTRIBUTE_TIME_STAMP);
+         byte[] content;
+         try (InputStream input = uriConverter.createInputStream(uri)) {
+            content = input.readAllBytes();
+         }
+         digest.update(content);
+
+         ResourceSet scratch = new ResourceSetImpl();
+         scratch.setPackageRegistry(resourceSet.getPackageRegistry());
+         scratch.setResourceFactoryRegistry(resourceSet.getResourceFactoryRegistry());
+         scratch.setURIConverter(uriConverter);
+         scratch.getLoadOptions().putAll(resourceSet.getLoadOptions());
+         Resource result = scratch.createResource(uri);
+         if (result == null) {
+            throw new IOException("No resource factory for " + uri);
+         }
+         result.load(new ByteArrayInputStream(content), scratch.getLoadOptions());
+         if (timeStamp instanceof Long) {
+            result.setTimeStamp((Long) timeStamp);
+         }
+         return result;
+      }
+
+      /**
+       * Inform the clients of the changes applied to the model, as of the execution of any other command.
+       *
+       * @param modelUri      the URI of the model
+       * @param modelResource the model resource
+       * @param result        the result of the reconciling command
+       */
+      protected void broadcast(final String modelUri, final Resource modelResource,
+         final CCommandExecutionResult result) {
+         Map<URI, JsonNode> patches = null;
+         if (!modelResource.getContents().isEmpty()) {
+            EObject root = modelResource.getContents().get(0);
+            try {
+               patches = jsonPatchHelper.getJsonPatches(root, result);
+            } catch (EncodingException e) {
+               LOG.warn("Failed to generate the patch of reconciled model resource: " + modelUri, e);
+            }
+         }
+         if (patches == null) {
+            sessionController.modelUpdated(modelUri);
+         } else {
+            sessionController.commandExecuted(modelUri, Suppliers.ofInstance(result), Suppliers.ofInstance(patches));
+         }
+      }
+
+      /**
+       * The persisted content of a model resource, loaded apart from the model.
+       */
+      protected static final class PersistedContent {
+         /** The loaded resource, or {@code null} if it could not be loaded. */
+         private final Resource resource;
+
+         /** The digest of the persisted content. */
+         private final byte[] digest;
+
+         PersistedContent(final Resource resource, final byte[] digest) {
+            this.resource = resource;
+            this.digest = digest;
+         }
+      }
+
    }
 
    /**
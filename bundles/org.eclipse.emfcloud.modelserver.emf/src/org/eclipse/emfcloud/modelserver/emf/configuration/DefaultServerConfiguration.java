@@ -23,6 +23,7 @@ import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emfcloud.modelserver.emf.common.BroadcastDispatcher.OverflowPolicy;
 import org.eclipse.emfcloud.modelserver.emf.common.UriHelper;
 
 import com.google.inject.Inject;
@@ -38,6 +39,15 @@ public class DefaultServerConfiguration implements ServerConfiguration {
    private URI workspaceRootURI = URI.createURI("");
    private URI uiSchemaFolderURI = URI.createURI("");
    private int serverPort = 8081;
+   private int synchronizerStripes;
+   private int broadcastQueueCapacity = 1024;
+   private int broadcastThreads;
+   private OverflowPolicy broadcastOverflowPolicy = OverflowPolicy.RESYNC;
+   private boolean lazyWorkspaceLoading;
+   private int maxLoadedModels;
+   private int evictionHeapThreshold;
+   private URI binaryCacheFolderURI;
+   private URI commandJournalFolderURI;
 
    private final UriHelper uriHelper;
 
@@ -52,6 +62,58 @@ public class DefaultServerConfiguration implements ServerConfiguration {
    @Override
    public void setServerPort(final int serverPort) { this.serverPort = serverPort; }
 
+   @Override
+   public int getSynchronizerStripes() { return synchronizerStripes; }
+
+   @Override
+   public void setSynchronizerStripes(final int synchronizerStripes) {
+      this.synchronizerStripes = synchronizerStripes;
+   }
+
+   @Override
+   public int getBroadcastQueueCapacity() { return broadcastQueueCapacity; }
+
+   @Override
+   public void setBroadcastQueueCapacity(final int broadcastQueueCapacity) {
+      this.broadcastQueueCapacity = broadcastQueueCapacity;
+   }
+
+   @Override
+   public int getBroadcastThreads() { return broadcastThreads; }
+
+   @Override
+   public void setBroadcastThreads(final int broadcastThreads) { this.broadcastThreads = broadcastThreads; }
+
+   @Override
+   public OverflowPolicy getBroadcastOverflowPolicy() { return broadcastOverflowPolicy; }
+
+   @Override
+   public void setBroadcastOverflowPolicy(final OverflowPolicy broadcastOverflowPolicy) {
+      this.broadcastOverflowPolicy = broadcastOverflowPolicy;
+   }
+
+   @Override
+   public boolean isLazyWorkspaceLoading() { return lazyWorkspaceLoading; }
+
+   @Override
+   public void setLazyWorkspaceLoading(final boolean lazyWorkspaceLoading) {
+      this.lazyWorkspaceLoading = lazyWorkspaceLoading;
+   }
+
+   @Override
+   public int getMaxLoadedModels() { return maxLoadedModels; }
+
+   @Override
+   public void setMaxLoadedModels(final int maxLoadedModels) { this.maxLoadedModels = maxLoadedModels; }
+
+   @Override
+   public int getEvictionHeapThreshold() { return evictionHeapThreshold; }
+
+   @Override
+   public void setEvictionHeapThreshold(final int evictionHeapThreshold) {
+      this.evictionHeapThreshold = evictionHeapThreshold;
+   }
+
    @Override
    public URI getWorkspaceRootURI() { return workspaceRootURI; }
 
@@ -76,6 +138,28 @@ public class DefaultServerConfiguration implements ServerConfiguration {
       uriHelper.toDirectoryUri(uiSchemaFolder).ifPresent(this::setUiSchemaFolderURI);
    }
 
+   @Override
+   public URI getBinaryCacheFolderURI() { return binaryCacheFolderURI; }
+
+   @Override
+   public void setBinaryCacheFolderURI(final URI uri) { this.binaryCacheFolderURI = uri; }
+
+   @Override
+   public void setBinaryCacheFolder(final String binaryCacheFolder) {
+      uriHelper.toDirectoryUri(binaryCacheFolder).ifPresent(this::setBinaryCacheFolderURI);
+   }
+
+   @Override
+   public URI getCommandJournalFolderURI() { return commandJournalFolderURI; }
+
+   @Override
+   public void setCommandJournalFolderURI(final URI uri) { this.commandJournalFolderURI = uri; }
+
+   @Override
+   public void setCommandJournalFolder(final String commandJournalFolder) {
+      uriHelper.toDirectoryUri(commandJournalFolder).ifPresent(this::setCommandJournalFolderURI);
+   }
+
    @Override
    public boolean isUiSchemaFolder(final String folder) {
       return uriHelper.toDirectoryUri(folder).map(getUiSchemaFolderURI()::equals).orElse(false);
@@ -108,7 +192,15 @@ public class DefaultServerConfiguration implements ServerConfiguration {
       StringBuilder builder = new StringBuilder();
       builder.append("DefaultServerConfiguration [workspaceRootURI=").append(workspaceRootURI)
          .append(", uiSchemaFolderURI=").append(uiSchemaFolderURI).append(", serverPort=").append(serverPort)
-         .append("]");
+         .append(", synchronizerStripes=").append(synchronizerStripes)
+         .append(", broadcastQueueCapacity=").append(broadcastQueueCapacity)
+         .append(", broadcastThreads=").append(broadcastThreads)
+         .append(", broadcastOverflowPolicy=").append(broadcastOverflowPolicy)
+         .append(", lazyWorkspaceLoading=").append(lazyWorkspaceLoading)
+         .append(", maxLoadedModels=").append(maxLoadedModels)
+         .append(", evictionHeapThreshold=").append(evictionHeapThreshold)
+         .append(", binaryCacheFolderURI=").append(binaryCacheFolderURI)
+         .append(", commandJournalFolderURI=").append(commandJournalFolderURI).append("]");
       return builder.toString();
    }
 }
@@ -13,6 +13,7 @@ package org.eclipse.emfcloud.modelserver.emf.configuration;
 import java.util.Set;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emfcloud.modelserver.emf.common.BroadcastDispatcher.OverflowPolicy;
 
 /**
  * Singleton class that holds configurations parameters for a model server
@@ -39,4 +40,95 @@ public interface ServerConfiguration {
    int getServerPort();
 
    void setServerPort(int serverPort);
+
+   /**
+    * Get the number of stripes in which model actions are executed in parallel.
+    *
+    * @return the number of stripes, or zero for the number of available processors
+    */
+   int getSynchronizerStripes();
+
+   void setSynchronizerStripes(int synchronizerStripes);
+
+   /**
+    * Get the number of messages that may be queued for each subscriber before the
+    * {@linkplain #getBroadcastOverflowPolicy() overflow policy} applies.
+    *
+    * @return the queue capacity, or zero to send messages to subscribers synchronously
+    */
+   int getBroadcastQueueCapacity();
+
+   void setBroadcastQueueCapacity(int broadcastQueueCapacity);
+
+   /**
+    * Get the number of threads on which the queued messages are sent to subscribers and slow subscribers are
+    * resynchronized.
+    *
+    * @return the number of threads, or zero for the number of available processors (but at least two)
+    */
+   int getBroadcastThreads();
+
+   void setBroadcastThreads(int broadcastThreads);
+
+   /**
+    * Get the policy for subscribers that do not receive their messages as fast as they are sent.
+    *
+    * @return the overflow policy
+    */
+   OverflowPolicy getBroadcastOverflowPolicy();
+
+   void setBroadcastOverflowPolicy(OverflowPolicy broadcastOverflowPolicy);
+
+   /**
+    * Query whether the models in the workspace are only indexed on start-up and loaded when first accessed,
+    * rather than all loaded on start-up.
+    *
+    * @return whether workspace models are loaded on demand
+    */
+   boolean isLazyWorkspaceLoading();
+
+   void setLazyWorkspaceLoading(boolean lazyWorkspaceLoading);
+
+   /**
+    * Query the maximal number of models to keep loaded. Beyond it, the least recently used models that are
+    * neither dirty nor subscribed to are unloaded, to be loaded again when next accessed.
+    *
+    * @return the maximal number of loaded models, or {@code 0} for no limit
+    */
+   int getMaxLoadedModels();
+
+   void setMaxLoadedModels(int maxLoadedModels);
+
+   /**
+    * Query the percentage of the maximal heap size above which all models that are neither dirty nor subscribed
+    * to, and not recently used, are unloaded, to be loaded again when next accessed.
+    *
+    * @return the heap usage threshold in percent, or {@code 0} to not unload models on heap usage
+    */
+   int getEvictionHeapThreshold();
+
+   void setEvictionHeapThreshold(int evictionHeapThreshold);
+
+   /**
+    * Query the folder in which models are cached in the EMF binary serialization, to load them faster.
+    *
+    * @return the binary model cache folder, or {@code null} if models are not cached
+    */
+   URI getBinaryCacheFolderURI();
+
+   void setBinaryCacheFolderURI(URI uri);
+
+   void setBinaryCacheFolder(String binaryCacheFolder);
+
+   /**
+    * Query the folder in which the commands executed on models are journaled until they are saved, to recover the
+    * unsaved changes after a crash.
+    *
+    * @return the command journal folder, or {@code null} if commands are not journaled
+    */
+   URI getCommandJournalFolderURI();
+
+   void setCommandJournalFolderURI(URI uri);
+
+   void setCommandJournalFolder(String commandJournalFolder);
 }
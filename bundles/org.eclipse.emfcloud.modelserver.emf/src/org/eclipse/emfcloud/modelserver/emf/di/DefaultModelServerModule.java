@@ -27,9 +27,10 @@ import org.eclipse.emfcloud.modelserver.edit.CommandCodec;
 import org.eclipse.emfcloud.modelserver.edit.CommandContribution;
 import org.eclipse.emfcloud.modelserver.edit.DICommandCodec;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultFacetConfig;
+import org.eclipse.emfcloud.modelserver.emf.common.BroadcastDispatcher;
+import org.eclipse.emfcloud.modelserver.emf.common.DefaultBroadcastDispatcher;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelController;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelRepository;
-import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelSynchronizer;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelURIConverter;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelValidator;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultResourceSetFactory;
@@ -53,6 +54,7 @@ import org.eclipse.emfcloud.modelserver.emf.common.ServerController;
 import org.eclipse.emfcloud.modelserver.emf.common.SessionController;
 import org.eclipse.emfcloud.modelserver.emf.common.SingleThreadModelController;
 import org.eclipse.emfcloud.modelserver.emf.common.SingleThreadTransactionController;
+import org.eclipse.emfcloud.modelserver.emf.common.StripedModelSynchronizer;
 import org.eclipse.emfcloud.modelserver.emf.common.TransactionController;
 import org.eclipse.emfcloud.modelserver.emf.common.UriHelper;
 import org.eclipse.emfcloud.modelserver.emf.common.codecs.CodecProvider;
@@ -112,6 +114,7 @@ public class DefaultModelServerModule extends ModelServerModule {
       bind(ResourceSetFactory.class).to(bindResourceSetFactory()).in(Singleton.class);
       bind(URIConverter.class).to(Key.get(ModelURIConverter.class));
       bind(ModelSynchronizer.class).to(bindModelSynchronizer()).in(Singleton.class);
+      bind(BroadcastDispatcher.class).to(bindBroadcastDispatcher()).in(Singleton.class);
 
       // Configure instance bindings
       bind(ObjectMapper.class).toProvider(this::provideObjectMapper).in(Singleton.class);
@@ -139,7 +142,11 @@ public class DefaultModelServerModule extends ModelServerModule {
    }
 
    protected Class<? extends ModelSynchronizer> bindModelSynchronizer() {
-      return DefaultModelSynchronizer.class;
+      return StripedModelSynchronizer.class;
+   }
+
+   protected Class<? extends BroadcastDispatcher> bindBroadcastDispatcher() {
+      return DefaultBroadcastDispatcher.class;
    }
 
    protected Class<? extends ModelController> bindModelController() {
@@ -17,6 +17,7 @@ import org.eclipse.emf.edit.provider.ComposedAdapterFactory;
 import org.eclipse.emfcloud.jackson.module.EMFModule;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.javalin.Javalin;
 import io.javalin.plugin.json.JavalinJackson;
@@ -36,6 +37,15 @@ public final class ProviderDefaults {
       return EMFModule.setupDefaultMapper();
    }
 
+   /**
+    * Get an object mapper configured as by {@link #provideObjectMapper()} that is shared by all clients,
+    * because a mapper is costly to create and configure. Clients that need to configure the mapper
+    * must {@linkplain #provideObjectMapper() create their own}.
+    *
+    * @return the shared object mapper
+    */
+   public static ObjectMapper getSharedObjectMapper() { return SharedObjectMapper.INSTANCE; }
+
    public static void enableDevLogging() {
       ProviderDefaults.isDevLoggingEnabled = true;
    }
@@ -48,7 +58,9 @@ public final class ProviderDefaults {
             LOG.info(ctx.method() + " " + requestPath + " -> Status: " + ctx.status() + " (took " + ms + " ms)");
          });
          config.asyncRequestTimeout = 5000L;
-         config.jsonMapper(new JavalinJackson(ProviderDefaults.provideObjectMapper()));
+         // Responses are read by clients, not people, so they need not be indented
+         config.jsonMapper(new JavalinJackson(
+            ProviderDefaults.provideObjectMapper().disable(SerializationFeature.INDENT_OUTPUT)));
          config.wsLogger(ws -> {
             ws.onConnect(ctx -> LOG.info("WS Connected: " + ctx.getSessionId()));
             ws.onMessage(ctx -> LOG.info("WS Received: " + ctx.message() + " by " + ctx.getSessionId()));
@@ -60,4 +72,8 @@ public final class ProviderDefaults {
          }
       });
    }
+
+   private static final class SharedObjectMapper {
+      static final ObjectMapper INSTANCE = provideObjectMapper();
+   }
 }
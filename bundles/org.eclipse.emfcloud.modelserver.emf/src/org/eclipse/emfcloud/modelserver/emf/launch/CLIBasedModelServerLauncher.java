@@ -62,6 +62,15 @@ public class CLIBasedModelServerLauncher extends ModelServerLauncher {
             configuration.setServerPort(parser.parsePort());
             parser.parseWorkspaceRoot().ifPresent(configuration::setWorkspaceRoot);
             parser.parseUiSchemaFolder().ifPresent(configuration::setUiSchemaFolder);
+            parser.parseSynchronizerStripes().ifPresent(configuration::setSynchronizerStripes);
+            parser.parseBroadcastQueueCapacity().ifPresent(configuration::setBroadcastQueueCapacity);
+            parser.parseBroadcastThreads().ifPresent(configuration::setBroadcastThreads);
+            parser.parseBroadcastOverflowPolicy().ifPresent(configuration::setBroadcastOverflowPolicy);
+            parser.parseLazyLoading().ifPresent(configuration::setLazyWorkspaceLoading);
+            parser.parseMaxLoadedModels().ifPresent(configuration::setMaxLoadedModels);
+            parser.parseEvictionHeapThreshold().ifPresent(configuration::setEvictionHeapThreshold);
+            parser.parseBinaryCacheFolder().ifPresent(configuration::setBinaryCacheFolder);
+            parser.parseCommandJournalFolder().ifPresent(configuration::setCommandJournalFolder);
             return true;
          }
       } catch (UnrecognizedOptionException e) {
@@ -21,6 +21,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.UnrecognizedOptionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.emfcloud.modelserver.emf.common.BroadcastDispatcher.OverflowPolicy;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultUriHelper;
 import org.eclipse.emfcloud.modelserver.emf.common.UriHelper;
 
@@ -34,6 +35,15 @@ public final class CLIParser {
    public static final String OPTION_HELP = "h";
    public static final String OPTION_LOG_CONFIGURATION = "l";
    public static final String OPTION_ENABLE_DEV_LOGGING = "e";
+   public static final String OPTION_SYNCHRONIZER_STRIPES = "s";
+   public static final String OPTION_BROADCAST_QUEUE = "q";
+   public static final String OPTION_BROADCAST_THREADS = "b";
+   public static final String OPTION_DISCONNECT_SLOW_SUBSCRIBERS = "d";
+   public static final String OPTION_LAZY_LOADING = "z";
+   public static final String OPTION_MAX_LOADED_MODELS = "m";
+   public static final String OPTION_EVICTION_HEAP_THRESHOLD = "t";
+   public static final String OPTION_BINARY_CACHE = "c";
+   public static final String OPTION_COMMAND_JOURNAL = "j";
 
    private static final UriHelper URI_HELPER = new DefaultUriHelper();
 
@@ -107,6 +117,86 @@ public final class CLIParser {
       return port >= 0 && port <= 65535;
    }
 
+   /**
+    * Parses and validates the synchronizer stripes argument.
+    *
+    * @return the parsed number of stripes if present
+    * @throws ParseException is thrown if the parsed argument is not a valid number of stripes
+    */
+   public Optional<Integer> parseSynchronizerStripes() throws ParseException {
+      return parseCount(OPTION_SYNCHRONIZER_STRIPES, "synchronizer stripes");
+   }
+
+   /**
+    * Parses and validates the broadcast queue capacity argument.
+    *
+    * @return the parsed queue capacity if present
+    * @throws ParseException is thrown if the parsed argument is not a valid capacity
+    */
+   public Optional<Integer> parseBroadcastQueueCapacity() throws ParseException {
+      return parseCount(OPTION_BROADCAST_QUEUE, "queued messages");
+   }
+
+   /**
+    * Parses and validates the broadcast threads argument.
+    *
+    * @return the parsed number of threads if present
+    * @throws ParseException is thrown if the parsed argument is not a valid number of threads
+    */
+   public Optional<Integer> parseBroadcastThreads() throws ParseException {
+      return parseCount(OPTION_BROADCAST_THREADS, "broadcast threads");
+   }
+
+   public Optional<OverflowPolicy> parseBroadcastOverflowPolicy() {
+      return optionExists(OPTION_DISCONNECT_SLOW_SUBSCRIBERS)
+         ? Optional.of(OverflowPolicy.DISCONNECT)
+         : Optional.empty();
+   }
+
+   public Optional<Boolean> parseLazyLoading() {
+      return optionExists(OPTION_LAZY_LOADING) ? Optional.of(Boolean.TRUE) : Optional.empty();
+   }
+
+   /**
+    * Parses and validates the maximal number of loaded models argument.
+    *
+    * @return the parsed number of models if present
+    * @throws ParseException is thrown if the parsed argument is not a valid number of models
+    */
+   public Optional<Integer> parseMaxLoadedModels() throws ParseException {
+      return parseCount(OPTION_MAX_LOADED_MODELS, "models");
+   }
+
+   /**
+    * Parses and validates the heap usage threshold argument.
+    *
+    * @return the parsed percentage if present
+    * @throws ParseException is thrown if the parsed argument is not a valid percentage
+    */
+   public Optional<Integer> parseEvictionHeapThreshold() throws ParseException {
+      Optional<Integer> result = parseCount(OPTION_EVICTION_HEAP_THRESHOLD, "percent");
+      if (result.isPresent() && result.get() > 100) {
+         throw new ParseException(String.format("'%s' is not a valid percentage!", result.get()));
+      }
+      return result;
+   }
+
+   protected Optional<Integer> parseCount(final String cliOption, final String description) throws ParseException {
+      String countArg = cmd.getOptionValue(cliOption);
+      if (countArg != null) {
+         try {
+            int count = Integer.parseInt(countArg);
+            if (count < 0) {
+               throw new NumberFormatException();
+            }
+            return Optional.of(count);
+         } catch (NumberFormatException e) {
+            throw new ParseException(String.format("'%s' is not a valid number of %s!", countArg, description));
+         }
+      }
+      return Optional.empty();
+   }
+
    public Optional<String> parseWorkspaceRoot() throws ParseException {
       return parsePath(OPTION_WORKSPACE_ROOT, "Could not set workspace!");
    }
@@ -115,6 +205,14 @@ public final class CLIParser {
       return parsePath(OPTION_UI_SCHEMA_ROOT, "Could not set UI schema folder!");
    }
 
+   public Optional<String> parseBinaryCacheFolder() throws ParseException {
+      return parsePath(OPTION_BINARY_CACHE, "Could not set binary model cache folder!");
+   }
+
+   public Optional<String> parseCommandJournalFolder() throws ParseException {
+      return parsePath(OPTION_COMMAND_JOURNAL, "Could not set command journal folder!");
+   }
+
    public Optional<String> parseLogConfigurationPath() throws ParseException {
       return parsePath(OPTION_LOG_CONFIGURATION, "Could not use path to log configuration file!");
    }
@@ -150,6 +248,24 @@ public final class CLIParser {
       options.addOption(OPTION_LOG_CONFIGURATION, "logConfig", true, "Set path to Log4j configuration file (*.xml)");
       options.addOption(OPTION_ENABLE_DEV_LOGGING, "enableDevLogging", false,
          "Enable Javalin dev logging (extensive request/response logging meant for development)");
+      options.addOption(OPTION_SYNCHRONIZER_STRIPES, "synchronizerStripes", true,
+         "Set the number of threads on which different models are edited in parallel (default: number of processors)");
+      options.addOption(OPTION_BROADCAST_QUEUE, "broadcastQueue", true,
+         "Set the number of updates queued for each subscriber, or 0 to send updates synchronously (default: 1024)");
+      options.addOption(OPTION_BROADCAST_THREADS, "broadcastThreads", true,
+         "Set the number of threads on which queued updates are sent to subscribers (default: number of processors)");
+      options.addOption(OPTION_DISCONNECT_SLOW_SUBSCRIBERS, "disconnectSlowSubscribers", false,
+         "Disconnect subscribers that do not keep up with updates instead of sending them the full model");
+      options.addOption(OPTION_LAZY_LOADING, "lazyLoading", false,
+         "Only index the workspace models on start-up and load each model when it is first accessed");
+      options.addOption(OPTION_MAX_LOADED_MODELS, "maxLoadedModels", true,
+         "Set the number of models kept loaded, beyond which idle models are unloaded (default: 0, no limit)");
+      options.addOption(OPTION_EVICTION_HEAP_THRESHOLD, "evictionHeapThreshold", true,
+         "Set the percentage of the maximal heap above which idle models are unloaded (default: 0, never)");
+      options.addOption(OPTION_BINARY_CACHE, "binaryCache", true,
+         "Set the folder in which to cache models in binary form for faster loading (default: no cache)");
+      options.addOption(OPTION_COMMAND_JOURNAL, "journal", true,
+         "Set the folder in which to journal unsaved commands for crash recovery (default: no journal)");
       return options;
    }
 }
@@ -21,9 +21,7 @@ import org.eclipse.emfcloud.modelserver.common.patch.PatchCommand;
 import org.eclipse.emfcloud.modelserver.emf.common.ModelURIConverter;
 import org.eclipse.emfcloud.modelserver.emf.common.codecs.CodecsManager;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
 
 import io.javalin.http.Context;
@@ -57,8 +55,7 @@ public class EMFCommandHandler implements PatchCommandHandler {
    private <C> PatchCommand<CCommand> getPatchCommand(final C ctx, final String modelUri, final JsonNode payload,
       final Decoder<C> decoder) {
       try {
-         Optional<EObject> decodedCCommand = decoder.decode(modelUri, ctx,
-            new ObjectMapper().writeValueAsString(payload));
+         Optional<EObject> decodedCCommand = decoder.decode(modelUri, ctx, payload);
          if (decodedCCommand.isPresent() && decodedCCommand.get() instanceof CCommand) {
             return new PatchCommand<>() {
 
@@ -71,7 +68,7 @@ public class EMFCommandHandler implements PatchCommandHandler {
             };
 
          }
-      } catch (JsonProcessingException | DecodingException e) {
+      } catch (DecodingException e) {
          e.printStackTrace();
       }
 
@@ -89,7 +86,7 @@ public class EMFCommandHandler implements PatchCommandHandler {
        * @return the EObject of the payload if decodable, empty otherwise
        * @throws DecodingException
        */
-      Optional<EObject> decode(String modelUri, C context, String payload) throws DecodingException;
+      Optional<EObject> decode(String modelUri, C context, JsonNode payload) throws DecodingException;
    }
 
 }
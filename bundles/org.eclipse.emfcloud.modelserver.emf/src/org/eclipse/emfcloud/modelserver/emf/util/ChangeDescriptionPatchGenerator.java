@@ -0,0 +1,540 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.util;
+
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.prop;
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.text;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.FeatureChange;
+import org.eclipse.emf.ecore.change.ListChange;
+import org.eclipse.emf.ecore.change.ResourceChange;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emfcloud.modelserver.common.codecs.Codec;
+import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
+import org.eclipse.emfcloud.modelserver.common.patch.PatchUtil;
+import org.eclipse.emfcloud.modelserver.common.utils.URIFragmentCache;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+import org.eclipse.emfcloud.modelserver.jsonschema.JsonConstants;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * <p>
+ * Generates JSON Patches directly from a recorded {@link ChangeDescription}, without encoding and diffing
+ * the complete old and new states of a resource. The cost of generating a patch therefore depends on the
+ * size of the change rather than on the size of the model.
+ * </p>
+ * <p>
+ * The generated patches use the JSON pointers of the V2 JSON format and are applicable to the state of
+ * the model before the change. Changes that cannot be expressed reliably in this way (resource-level changes,
+ * feature maps, derived or volatile features, references to other resources, data types without a native JSON
+ * representation, or object IDs that may be changed by the change) are reported as an empty result,
+ * in which case clients should fall back to diffing the old and new states.
+ * </p>
+ */
+public class ChangeDescriptionPatchGenerator {
+
+   /**
+    * Upper bound of the LCS table computed to diff a changed list. Bigger lists are patched by removing and
+    * adding all elements between their common prefix and suffix.
+    */
+   protected static final long MAX_LCS_TABLE_SIZE = 1L << 20;
+
+   private final ChangeDescription changeDescription;
+   private final Codec.Internal codec;
+
+   /**
+    * Initializes me with the change description to translate and the codec to use for the encoding of
+    * objects that are added to the model.
+    *
+    * @param changeDescription the recorded change, describing how to revert the model to its old state
+    * @param codec             the V2 JSON codec
+    */
+   public ChangeDescriptionPatchGenerator(final ChangeDescription changeDescription, final Codec.Internal codec) {
+      super();
+
+      this.changeDescription = changeDescription;
+      this.codec = codec;
+   }
+
+   /**
+    * Generate the JSON Patch for the changes recorded in the given {@code resource}.
+    *
+    * @param resource   the resource for which to generate a patch
+    * @param objectURIs a map to fill with the URIs of the objects (in the old state of the model) to which
+    *                      the generated operations apply, as described by
+    *                      {@link JsonPatchHelper#mapObjectURIs(JsonNode, JsonNode, URI)}
+    * @return the JSON Patch (which is empty if the resource was not changed), or an empty optional if the
+    *         recorded changes cannot be translated directly
+    */
+   public Optional<ArrayNode> generate(final Resource resource, final Map<JsonNode, URI> objectURIs) {
+      try {
+         return Optional.of(doGenerate(resource, objectURIs));
+      } catch (UnsupportedChangeException | EncodingException e) {
+         return Optional.empty();
+      }
+   }
+
+   protected ArrayNode doGenerate(final Resource resource, final Map<JsonNode, URI> objectURIs)
+      throws UnsupportedChangeException, EncodingException {
+
+      for (ResourceChange resourceChange : changeDescription.getResourceChanges()) {
+         if (resourceChange.getResource() == resource) {
+            throw new UnsupportedChangeException();
+         }
+      }
+      if (resource.getContents().isEmpty()) {
+         throw new UnsupportedChangeException();
+      }
+      EObject root = resource.getContents().get(0);
+
+      // Compute the edits of all changed features, and the objects that are added (or moved) by them
+      Map<EObject, Map<EStructuralFeature, FeatureEdit>> edits = new LinkedHashMap<>();
+      Set<EObject> addedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (Map.Entry<EObject, EList<FeatureChange>> entry : changeDescription.getObjectChanges()) {
+         EObject owner = entry.getKey();
+         if (owner.eResource() != resource) {
+            // Removed objects are covered by their removal from the old container
+            continue;
+         }
+         for (FeatureChange featureChange : entry.getValue()) {
+            EStructuralFeature feature = featureChange.getFeature();
+            if (isSerialized(feature)) {
+               FeatureEdit edit = new FeatureEdit(owner, feature, featureChange);
+               edit.collectAddedObjects(addedObjects);
+               edits.computeIfAbsent(owner, key -> new LinkedHashMap<>()).put(feature, edit);
+            }
+         }
+      }
+
+      // Only objects that are not (re-)added carry their own operations. The others are encoded completely
+      List<FeatureEdit> stableEdits = new ArrayList<>();
+      for (Map.Entry<EObject, Map<EStructuralFeature, FeatureEdit>> entry : edits.entrySet()) {
+         OldLocation location = getOldLocation(entry.getKey(), root, edits, addedObjects);
+         if (location != null) {
+            for (FeatureEdit edit : entry.getValue().values()) {
+               edit.location = location;
+               edit.checkIDsUnchanged(resource);
+               stableEdits.add(edit);
+            }
+         }
+      }
+
+      // Apply the edits of nested objects first, so that the pointers computed in the old state of
+      // the model remain valid when the operations are applied in sequence
+      stableEdits.sort(Comparator.comparingInt((FeatureEdit edit) -> edit.location.depth).reversed());
+
+      ArrayNode patch = Json.array();
+      for (FeatureEdit edit : stableEdits) {
+         edit.createOperations(resource, patch, objectURIs);
+      }
+      return patch;
+   }
+
+   /**
+    * Query whether a feature is represented in the V2 JSON format.
+    *
+    * @throws UnsupportedChangeException if the feature is serialized, but changes to it cannot be translated
+    */
+   protected boolean isSerialized(final EStructuralFeature feature) throws UnsupportedChangeException {
+      if (feature.isTransient()) {
+         return false;
+      }
+      if (feature instanceof EReference && ((EReference) feature).isContainer()) {
+         // Covered by the opposite containment
+         return false;
+      }
+      if (feature.isDerived() || feature.isVolatile() || FeatureMapUtil.isFeatureMap(feature)
+         || feature.isMany() && feature.isUnsettable()) {
+         // We can't tell how the old value was serialized
+         throw new UnsupportedChangeException();
+      }
+      return true;
+   }
+
+   /**
+    * Compute the location of an object in the old state of the model.
+    *
+    * @return the old location, or {@code null} if the object or any of its containers was added to the model
+    *         or if it isn't part of the encoded model
+    */
+   protected OldLocation getOldLocation(final EObject object, final EObject root,
+      final Map<EObject, Map<EStructuralFeature, FeatureEdit>> edits, final Set<EObject> addedObjects)
+      throws UnsupportedChangeException {
+
+      StringBuilder pointer = new StringBuilder();
+      int depth = 0;
+      EObject current = object;
+      while (current != root) {
+         if (addedObjects.contains(current)) {
+            return null;
+         }
+         EObject container = current.eContainer();
+         if (container == null) {
+            return null;
+         }
+         EReference containment = current.eContainmentFeature();
+         if (containment.isMany()) {
+            FeatureEdit edit = edits.getOrDefault(container, Collections.emptyMap()).get(containment);
+            List<?> oldList = edit != null ? edit.oldList : (List<?>) container.eGet(containment);
+            int index = indexOf(oldList, current);
+            if (index < 0) {
+               throw new UnsupportedChangeException();
+            }
+            pointer.insert(0, "/" + index);
+         }
+         pointer.insert(0, "/" + containment.getName());
+         depth++;
+         current = container;
+      }
+      return new OldLocation(pointer.toString(), depth);
+   }
+
+   protected JsonNode encodeValue(final Resource resource, final EStructuralFeature feature, final Object value)
+      throws UnsupportedChangeException, EncodingException {
+
+      if (value == null) {
+         return JsonNodeFactory.instance.nullNode();
+      }
+      if (feature instanceof EReference) {
+         EObject object = (EObject) value;
+         return ((EReference) feature).isContainment() ? codec.basicEncode(object)
+            : encodeReference(resource, object);
+      }
+      return encodeDataValue((EDataType) feature.getEType(), value);
+   }
+
+   protected JsonNode encodeReference(final Resource resource, final EObject object)
+      throws UnsupportedChangeException {
+      if (object.eIsProxy() || object.eResource() != resource) {
+         // Cross-document references are deresolved by the codec
+         throw new UnsupportedChangeException();
+      }
+      return Json.object(
+         prop(JsonConstants.TYPE_ATTR, text(EcoreUtil.getURI(object.eClass()).toString())),
+         prop(JsonConstants.REF_ATTR, text(URIFragmentCache.getCache(resource).getURIFragment(object))));
+   }
+
+   @SuppressWarnings("checkstyle:CyclomaticComplexity")
+   protected JsonNode encodeDataValue(final EDataType dataType, final Object value)
+      throws UnsupportedChangeException {
+      JsonNodeFactory factory = JsonNodeFactory.instance;
+      if (dataType instanceof EEnum) {
+         return factory.textNode(EcoreUtil.convertToString(dataType, value));
+      } else if (value instanceof String) {
+         return factory.textNode((String) value);
+      } else if (value instanceof Boolean) {
+         return factory.booleanNode((Boolean) value);
+      } else if (value instanceof Integer) {
+         return factory.numberNode((Integer) value);
+      } else if (value instanceof Long) {
+         return factory.numberNode((Long) value);
+      } else if (value instanceof Short) {
+         return factory.numberNode((Short) value);
+      } else if (value instanceof Double) {
+         return factory.numberNode((Double) value);
+      } else if (value instanceof Float) {
+         return factory.numberNode((Float) value);
+      } else if (value instanceof BigInteger) {
+         return factory.numberNode((BigInteger) value);
+      } else if (value instanceof BigDecimal) {
+         return factory.numberNode((BigDecimal) value);
+      }
+      throw new UnsupportedChangeException();
+   }
+
+   private static int indexOf(final List<?> list, final Object object) {
+      for (int i = 0; i < list.size(); i++) {
+         if (list.get(i) == object) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * The location of an object in the old state of the model.
+    */
+   protected static final class OldLocation {
+      private final String pointer;
+      private final int depth;
+
+      OldLocation(final String pointer, final int depth) {
+         this.pointer = pointer;
+         this.depth = depth;
+      }
+   }
+
+   /**
+    * The edit of one feature of an object, from its old value to its current value.
+    */
+   protected final class FeatureEdit {
+      private final EObject owner;
+      private final EStructuralFeature feature;
+      private final boolean oldPresent;
+      private final boolean newPresent;
+
+      // Single-valued features
+      private Object oldValue;
+      private Object newValue;
+
+      // Many-valued features
+      private List<Object> oldList;
+      private List<Object> newList;
+      private final List<Integer> removedIndices = new ArrayList<>();
+      private final List<Integer> addedIndices = new ArrayList<>();
+      private final List<Integer> shiftedIndices = new ArrayList<>();
+
+      private OldLocation location;
+
+      @SuppressWarnings("unchecked")
+      FeatureEdit(final EObject owner, final EStructuralFeature feature, final FeatureChange featureChange) {
+         this.owner = owner;
+         this.feature = feature;
+
+         if (feature.isMany()) {
+            newList = new ArrayList<>((List<Object>) owner.eGet(feature));
+            if (featureChange.getListChanges().isEmpty()) {
+               Object value = featureChange.getValue();
+               oldList = value == null ? Collections.emptyList() : new ArrayList<>((List<Object>) value);
+            } else {
+               // The list changes transform the current list into the old one
+               EList<Object> list = new BasicEList<>(newList);
+               for (ListChange listChange : featureChange.getListChanges()) {
+                  listChange.apply(list);
+               }
+               oldList = list;
+            }
+            oldPresent = !oldList.isEmpty();
+            newPresent = !newList.isEmpty();
+            diffLists();
+         } else {
+            oldValue = featureChange.getValue();
+            newValue = owner.eGet(feature);
+            oldPresent = feature.isUnsettable() ? featureChange.isSet() : isNonDefault(oldValue);
+            newPresent = owner.eIsSet(feature);
+         }
+      }
+
+      private boolean isNonDefault(final Object value) {
+         Object defaultValue = feature.getDefaultValue();
+         return defaultValue == null ? value != null : !defaultValue.equals(value);
+      }
+
+      private boolean same(final Object a, final Object b) {
+         return feature instanceof EReference ? a == b : Objects.equals(a, b);
+      }
+
+      private boolean isContainment() {
+         return feature instanceof EReference && ((EReference) feature).isContainment();
+      }
+
+      private void diffLists() {
+         int oldSize = oldList.size();
+         int newSize = newList.size();
+         int prefix = 0;
+         while (prefix < oldSize && prefix < newSize && same(oldList.get(prefix), newList.get(prefix))) {
+            prefix++;
+         }
+         int suffix = 0;
+         while (suffix < oldSize - prefix && suffix < newSize - prefix
+            && same(oldList.get(oldSize - 1 - suffix), newList.get(newSize - 1 - suffix))) {
+            suffix++;
+         }
+
+         int oldCount = oldSize - prefix - suffix;
+         int newCount = newSize - prefix - suffix;
+         boolean[] oldKept = new boolean[oldCount];
+         boolean[] newKept = new boolean[newCount];
+         if (oldCount > 0 && newCount > 0 && (long) oldCount * newCount <= MAX_LCS_TABLE_SIZE) {
+            computeLCS(prefix, oldCount, newCount, oldKept, newKept);
+         }
+
+         for (int i = 0; i < oldCount; i++) {
+            if (!oldKept[i]) {
+               removedIndices.add(prefix + i);
+            }
+         }
+         int oldIndex = 0;
+         for (int i = 0; i < newCount; i++) {
+            if (newKept[i]) {
+               while (!oldKept[oldIndex]) {
+                  oldIndex++;
+               }
+               if (oldIndex != i) {
+                  shiftedIndices.add(prefix + i);
+               }
+               oldIndex++;
+            } else {
+               addedIndices.add(prefix + i);
+            }
+         }
+         if (oldSize != newSize) {
+            for (int i = newSize - suffix; i < newSize; i++) {
+               shiftedIndices.add(i);
+            }
+         }
+      }
+
+      private void computeLCS(final int offset, final int oldCount, final int newCount, final boolean[] oldKept,
+         final boolean[] newKept) {
+         int[][] lengths = new int[oldCount + 1][newCount + 1];
+         for (int i = oldCount - 1; i >= 0; i--) {
+            for (int j = newCount - 1; j >= 0; j--) {
+               lengths[i][j] = same(oldList.get(offset + i), newList.get(offset + j))
+                  ? lengths[i + 1][j + 1] + 1
+                  : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+         }
+         int i = 0;
+         int j = 0;
+         while (i < oldCount && j < newCount) {
+            if (same(oldList.get(offset + i), newList.get(offset + j))) {
+               oldKept[i++] = true;
+               newKept[j++] = true;
+            } else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
+               i++;
+            } else {
+               j++;
+            }
+         }
+      }
+
+      void collectAddedObjects(final Set<EObject> addedObjects) {
+         if (!isContainment()) {
+            return;
+         }
+         if (feature.isMany()) {
+            if (!oldPresent) {
+               newList.forEach(object -> addedObjects.add((EObject) object));
+            } else {
+               addedIndices.forEach(index -> addedObjects.add((EObject) newList.get(index)));
+            }
+         } else if (newValue != null && newValue != oldValue) {
+            addedObjects.add((EObject) newValue);
+         }
+      }
+
+      /**
+       * The IDs of objects are their URI fragments, which may depend on their position in their container
+       * or on the values of their attributes. If any ID is changed, the model must be diffed to update
+       * them all, including references.
+       */
+      void checkIDsUnchanged(final Resource resource) throws UnsupportedChangeException {
+         if (feature instanceof EAttribute) {
+            if (((EAttribute) feature).isID() || newValue instanceof String
+               && URIFragmentCache.getCache(resource).getURIFragment(owner).contains((String) newValue)) {
+               throw new UnsupportedChangeException();
+            }
+            return;
+         }
+         if (!isContainment() || !oldPresent || !newPresent) {
+            return;
+         }
+         // Objects that are kept in a list, but at another index
+         for (int index : shiftedIndices) {
+            String fragment = URIFragmentCache.getCache(resource).getURIFragment((EObject) newList.get(index));
+            if (fragment.endsWith("@" + feature.getName() + "." + index)) {
+               throw new UnsupportedChangeException();
+            }
+         }
+      }
+
+      void createOperations(final Resource resource, final ArrayNode patch, final Map<JsonNode, URI> objectURIs)
+         throws UnsupportedChangeException, EncodingException {
+
+         String path = location.pointer + "/" + feature.getName();
+         URI ownerURI = resource.getURI().appendFragment(resource.getURIFragment(owner) + "/" + feature.getName());
+
+         if (!feature.isMany()) {
+            if (oldPresent && !newPresent) {
+               addOperation(patch, objectURIs, ownerURI, PatchUtil.REMOVE, path, null);
+            } else if (newPresent && !oldPresent) {
+               addOperation(patch, objectURIs, ownerURI, PatchUtil.ADD, path, encodeValue(resource, feature, newValue));
+            } else if (newPresent && !same(oldValue, newValue)) {
+               addOperation(patch, objectURIs, ownerURI, PatchUtil.REPLACE, path,
+                  encodeValue(resource, feature, newValue));
+            }
+         } else if (oldPresent && !newPresent) {
+            addOperation(patch, objectURIs, ownerURI, PatchUtil.REMOVE, path, null);
+         } else if (newPresent && !oldPresent) {
+            ArrayNode values = Json.array();
+            for (Object value : newList) {
+               values.add(encodeValue(resource, feature, value));
+            }
+            addOperation(patch, objectURIs, ownerURI, PatchUtil.ADD, path, values);
+         } else if (newPresent) {
+            for (int i = removedIndices.size() - 1; i >= 0; i--) {
+               String index = "/" + removedIndices.get(i);
+               addOperation(patch, objectURIs, ownerURI.appendFragment(ownerURI.fragment() + index),
+                  PatchUtil.REMOVE, path + index, null);
+            }
+            int size = oldList.size() - removedIndices.size();
+            for (int added : addedIndices) {
+               String index = "/" + (added == size ? PatchUtil.ANY_INDEX : String.valueOf(added));
+               addOperation(patch, objectURIs, ownerURI.appendFragment(ownerURI.fragment() + index),
+                  PatchUtil.ADD, path + index, encodeValue(resource, feature, newList.get(added)));
+               size++;
+            }
+         }
+      }
+
+      private void addOperation(final ArrayNode patch, final Map<JsonNode, URI> objectURIs, final URI objectURI,
+         final String op, final String path, final JsonNode value) {
+         ObjectNode operation = Json.object(prop(PatchUtil.OP, text(op)), prop(PatchUtil.PATH, text(path)));
+         if (value != null) {
+            operation.set(PatchUtil.VALUE, value);
+         }
+         patch.add(operation);
+         objectURIs.put(operation, objectURI);
+      }
+   }
+
+   /**
+    * Signals a change that cannot be translated directly to a JSON Patch.
+    */
+   protected static final class UnsupportedChangeException extends Exception {
+      private static final long serialVersionUID = 1L;
+
+      UnsupportedChangeException() {
+         super(null, null, false, false);
+      }
+   }
+
+}
@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.util;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -48,6 +50,7 @@ import org.eclipse.emfcloud.modelserver.emf.common.codecs.JsonCodecV2;
 import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.github.fge.jsonpatch.diff.JsonDiff;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.MapMaker;
@@ -156,21 +159,42 @@ public class JsonPatchHelper extends AbstractJsonPatchHelper {
          return null;
       }
 
-      // Collect new state for all resources
       ResourceSet resourceSet = root.eResource().getResourceSet();
-      List<Resource> resources = resourceSet.getResources();
+      Map<URI, JsonNode> patches = new HashMap<>();
 
+      // Translate the recorded changes directly, where possible
+      List<Resource> resources = new ArrayList<>(resourceSet.getResources());
+      ChangeDescription cd = (ChangeDescription) result.getChangeDescription();
+      if (cd != null) {
+         for (Iterator<Resource> iter = resources.iterator(); iter.hasNext();) {
+            Resource resource = iter.next();
+            Map<JsonNode, URI> objectURIs = Maps.newHashMap();
+            Optional<ArrayNode> resourcePatch = generatePatch(cd, resource, objectURIs);
+            if (resourcePatch.isPresent()) {
+               iter.remove();
+               if (!resourcePatch.get().isEmpty()) {
+                  URI normalizedURI = modelURIConverter.normalize(resource.getURI());
+                  URI_PATH_MAPPINGS.put(resourcePatch.get(), objectURIs);
+                  patches.put(normalizedURI, resourcePatch.get());
+               }
+            }
+         }
+      }
+      if (resources.isEmpty()) {
+         return patches;
+      }
+
+      // Collect new state for the remaining resources
       Map<Resource, JsonNode> newState = collectStates(resources);
       Map<Resource, JsonNode> initialState;
 
-      // Revert the changes and collect the initial state for all resources
-      initialState = revertChangesAndGetState(resourceSet, result);
+      // Revert the changes and collect the initial state for the remaining resources
+      initialState = revertChangesAndGetState(resourceSet, resources, result);
       if (initialState == null) {
          return null;
       }
 
       // Create a diff patch between the initial and new state for each resource
-      Map<URI, JsonNode> patches = new HashMap<>();
       for (Resource resource : resources) {
          JsonNode newModel = newState.get(resource);
          JsonNode oldModel = initialState.get(resource);
@@ -186,12 +210,34 @@ public class JsonPatchHelper extends AbstractJsonPatchHelper {
       return patches;
    }
 
+   /**
+    * Generate the JSON Patch for a resource directly from the recorded changes, without diffing its old and new
+    * states. This is only supported for resources encoded by the default {@link JsonCodecV2}.
+    *
+    * @param changeDescription the recorded changes
+    * @param resource          the resource for which to generate a patch
+    * @param objectURIs        a map to fill with the object URIs of the generated operations
+    * @return the JSON Patch, or an empty optional if the changes must be computed by a diff
+    *
+    * @see ChangeDescriptionPatchGenerator
+    */
+   protected Optional<ArrayNode> generatePatch(final ChangeDescription changeDescription, final Resource resource,
+      final Map<JsonNode, URI> objectURIs) {
+      Codec codec = CodecProvider
+         .getCodec(this.codecProviders, resource.getURI().toString(), ModelServerPathParametersV2.FORMAT_JSON_V2)
+         .orElse(fallback);
+      if (!(codec instanceof JsonCodecV2)) {
+         return Optional.empty();
+      }
+      return new ChangeDescriptionPatchGenerator(changeDescription, (JsonCodecV2) codec).generate(resource,
+         objectURIs);
+   }
+
    private Map<Resource, JsonNode> revertChangesAndGetState(final ResourceSet resourceSet,
-      final CCommandExecutionResult result) throws EncodingException {
+      final List<Resource> resources, final CCommandExecutionResult result) throws EncodingException {
 
       ChangeDescription cd = (ChangeDescription) result.getChangeDescription();
       ModelServerEditingDomain editingDomain = modelManager.getEditingDomain(resourceSet);
-      List<Resource> resources = resourceSet.getResources();
 
       Map<Resource, JsonNode> states;
 
@@ -0,0 +1,105 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.common.tests.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emfcloud.modelserver.common.utils.URIFragmentCache;
+import org.junit.Before;
+import org.junit.Test;
+
+public class URIFragmentCacheTest {
+
+   private Resource resource;
+
+   private EPackage model;
+
+   private EClass first;
+
+   private EClass second;
+
+   private URIFragmentCache cache;
+
+   @Test
+   public void getFragmentsInBothDirections() {
+      assertThat(cache.getURIFragment(first), is("//A"));
+      assertThat(cache.getURIFragment(second), is("//A.1"));
+      assertThat(cache.getEObject("//A.1"), is(second));
+      assertThat(cache.getEObject("//B"), nullValue());
+   }
+
+   @Test
+   public void updateOnContainmentChange() {
+      assertThat(cache.getURIFragment(second), is("//A.1"));
+
+      model.getEClassifiers().remove(first);
+      assertThat(cache.getURIFragment(second), is("//A"));
+      assertThat(cache.getEObject("//A"), is(second));
+      assertThat(cache.getEObject("//A.1"), nullValue());
+   }
+
+   @Test
+   public void updateOnRename() {
+      assertThat(cache.getURIFragment(first), is("//A"));
+      assertThat(cache.getURIFragment(second), is("//A.1"));
+
+      first.setName("B");
+      assertThat(cache.getURIFragment(first), is("//B"));
+      assertThat(cache.getURIFragment(second), is("//A"));
+      assertThat(cache.getEObject(resource.getURIFragment(first)), is(first));
+   }
+
+   @Test
+   public void updateOnInvalidateID() {
+      XMLResource xmlResource = new XMIResourceImpl(URI.createURI("model.xmi"));
+      xmlResource.getContents().add(model);
+      cache = URIFragmentCache.getCache(xmlResource);
+      assertThat(cache.getURIFragment(first), is("//A"));
+
+      // Setting an ID is not notified
+      xmlResource.setID(first, "first");
+      URIFragmentCache.invalidate(xmlResource, first);
+      assertThat(cache.getURIFragment(first), is("first"));
+      assertThat(cache.getEObject("first"), is(first));
+      assertThat(cache.getURIFragment(second), is("//A.1"));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() {
+      model = EcoreFactory.eINSTANCE.createEPackage();
+      model.setName("model");
+      first = EcoreFactory.eINSTANCE.createEClass();
+      first.setName("A");
+      second = EcoreFactory.eINSTANCE.createEClass();
+      second.setName("A");
+      model.getEClassifiers().add(first);
+      model.getEClassifiers().add(second);
+
+      resource = new ResourceImpl(URI.createURI("model.ecore"));
+      resource.getContents().add(model);
+      cache = URIFragmentCache.getCache(resource);
+   }
+
+}
@@ -14,16 +14,30 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.common.util.URI;
@@ -36,6 +50,9 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.util.EcoreAdapterFactory;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.common.di.AbstractModuleWithInitializers;
 import org.eclipse.emfcloud.modelserver.common.patch.JsonPatchException;
@@ -44,10 +61,14 @@ import org.eclipse.emfcloud.modelserver.edit.CommandCodec;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelRepository;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelResourceManager;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultResourceSetFactory;
+import org.eclipse.emfcloud.modelserver.emf.common.DefaultSessionController;
 import org.eclipse.emfcloud.modelserver.emf.common.DefaultModelURIConverter;
 import org.eclipse.emfcloud.modelserver.emf.common.ModelRepository;
 import org.eclipse.emfcloud.modelserver.emf.common.ModelResourceManager;
+import org.eclipse.emfcloud.modelserver.emf.common.ModelServerEditingDomain;
+import org.eclipse.emfcloud.modelserver.emf.common.ModelValidator;
 import org.eclipse.emfcloud.modelserver.emf.common.ResourceSetFactory;
+import org.eclipse.emfcloud.modelserver.emf.common.codecs.CodecsManager;
 import org.eclipse.emfcloud.modelserver.emf.common.watchers.ModelWatchersManager;
 import org.eclipse.emfcloud.modelserver.emf.configuration.CommandPackageConfiguration;
 import org.eclipse.emfcloud.modelserver.emf.configuration.EPackageConfiguration;
@@ -55,25 +76,44 @@ import org.eclipse.emfcloud.modelserver.emf.configuration.EcorePackageConfigurat
 import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
 import org.eclipse.emfcloud.modelserver.emf.util.JsonPatchHelper;
 import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+import org.eclipse.emfcloud.modelserver.tests.util.MockitoUtil;
+import org.eclipse.jetty.websocket.api.Session;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.inject.AbstractModule;
 import com.google.common.collect.Lists;
 import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
 import com.google.inject.Scopes;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
 
+import io.javalin.websocket.WsContext;
+
 @RunWith(MockitoJUnitRunner.class)
 public class DefaultModelResourceManagerTest extends AbstractResourceTest {
 
+   private static final String ECORE_CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<ecore:EPackage xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\"\n"
+      + "    xmlns:ecore=\"http://www.eclipse.org/emf/2002/Ecore\" name=\"test\"/>\n";
+
    private static ModelResourceManager modelResourceManager;
 
+   private Injector injector;
+
+   @Rule
+   public final TemporaryFolder folder = new TemporaryFolder();
+
    @Mock
    private ModelWatchersManager watchersManager;
 
@@ -86,6 +126,18 @@ public class DefaultModelResourceManagerTest extends AbstractResourceTest {
    @Mock(answer = Answers.RETURNS_MOCKS)
    private JsonPatchHelper jsonPatchHelper;
 
+   @Mock
+   private CodecsManager codecs;
+
+   @Mock
+   private ModelValidator modelValidator;
+
+   @Mock
+   private WsContext client;
+
+   @Mock
+   private Session session;
+
    public DefaultModelResourceManagerTest() {
       super();
    }
@@ -94,7 +146,7 @@ public class DefaultModelResourceManagerTest extends AbstractResourceTest {
    public void beforeTests() throws DecodingException {
       when(serverConfig.getWorkspaceRootURI())
          .thenReturn(URI.createFileURI(getCWD().getAbsolutePath() + "/" + RESOURCE_PATH));
-      modelResourceManager = Guice.createInjector(new AbstractModuleWithInitializers() {
+      injector = Guice.createInjector(new AbstractModuleWithInitializers() {
 
          private Multibinder<EPackageConfiguration> ePackageConfigurationBinder;
          private ArrayList<Class<? extends EPackageConfiguration>> ePackageConfigurations;
@@ -119,7 +171,8 @@ public class DefaultModelResourceManagerTest extends AbstractResourceTest {
             bind(ResourceSetFactory.class).to(DefaultResourceSetFactory.class).in(Scopes.SINGLETON);
             bind(URIConverter.class).to(DefaultModelURIConverter.class).in(Singleton.class);
          }
-      }).getInstance(DefaultModelResourceManager.class);
+      });
+      modelResourceManager = injector.getInstance(DefaultModelResourceManager.class);
    }
 
    @Test
@@ -200,6 +253,96 @@ public class DefaultModelResourceManagerTest extends AbstractResourceTest {
       assertFalse(modelResourceManager.save(adaptModelUri("NotExisting.ecore").toString()));
    }
 
+   @Test
+   public void saveAllSkipsCleanModels() {
+      assertTrue(modelResourceManager.saveDirtyModels().isEmpty());
+      assertTrue(modelResourceManager.saveAll());
+   }
+
+   @Test
+   public void saveAllSavesDirtyModels() {
+      SavingModelResourceManager manager = injector.getInstance(SavingModelResourceManager.class);
+      String modelUri = adaptModelUri("Coffee.ecore");
+      makeDirty(manager, modelUri);
+
+      assertEquals(Map.of(URI.createURI(modelUri), true), manager.saveDirtyModels());
+      assertEquals(List.of(modelUri), manager.saved);
+      assertFalse(manager.getDirtyState(modelUri));
+   }
+
+   @Test
+   public void saveAllReportsPartialFailure() {
+      SavingModelResourceManager manager = injector.getInstance(SavingModelResourceManager.class);
+      String savedUri = adaptModelUri("Coffee.ecore");
+      String failedUri = adaptModelUri("Test1.ecore");
+      makeDirty(manager, savedUri);
+      makeDirty(manager, failedUri);
+      manager.failing.add(failedUri);
+
+      assertEquals(Map.of(URI.createURI(savedUri), true, URI.createURI(failedUri), false),
+         manager.saveDirtyModels());
+      assertFalse(manager.getDirtyState(savedUri));
+      assertTrue(manager.getDirtyState(failedUri));
+      assertFalse(manager.saveAll());
+   }
+
+   @Test
+   public void saveAtomicallyPreservesLinkAndPermissions() throws IOException {
+      Path file = folder.newFile("model.xmi").toPath();
+      assumeTrue(Files.getFileAttributeView(file, PosixFileAttributeView.class) != null);
+      Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+      Files.setPosixFilePermissions(file, permissions);
+      Path link = Files.createSymbolicLink(folder.getRoot().toPath().resolve("link.xmi"), file);
+      Resource resource = new XMIResourceImpl(URI.createFileURI(link.toString()));
+      resource.getContents().add(EcoreFactory.eINSTANCE.createEPackage());
+
+      injector.getInstance(SavingModelResourceManager.class).saveAtomically(resource, link);
+
+      assertTrue(Files.isSymbolicLink(link));
+      assertEquals(permissions, Files.getPosixFilePermissions(file));
+      assertTrue(Files.size(file) > 0);
+   }
+
+   @Test
+   public void scanSkipsNonXMLFileWithUnregisteredExtension() throws IOException {
+      Path notes = writeFile("notes.txt", "Not a model");
+      Path model = writeFile("model.ecore", ECORE_CONTENT);
+
+      ScanningModelResourceManager manager = scanWorkspace();
+
+      assertFalse(manager.parsed.contains(URI.createFileURI(notes.toString())));
+      assertFalse(manager.getAllLoadedModelURIs().contains(URI.createFileURI(notes.toString())));
+      assertTrue(manager.getAllLoadedModelURIs().contains(URI.createFileURI(model.toString())));
+   }
+
+   @Test
+   public void scanLoadsXMLFileWithUnregisteredExtension() throws IOException {
+      Path model = writeFile("model.coffee", ECORE_CONTENT);
+
+      ScanningModelResourceManager manager = scanWorkspace();
+
+      URI modelURI = URI.createFileURI(model.toString());
+      assertTrue(manager.parsed.contains(modelURI));
+      assertTrue(manager.getAllLoadedModelURIs().contains(modelURI));
+      assertEquals("test", manager.loadModel(modelURI.toString(), EPackage.class).orElseThrow().getName());
+   }
+
+   @Test
+   public void scanLoadsModelsInDiscoveryOrder() throws IOException {
+      for (int i = 0; i < 16; i++) {
+         writeFile("model" + i + ".ecore", ECORE_CONTENT);
+      }
+      ScanningModelResourceManager manager = injector.getInstance(ScanningModelResourceManager.class);
+
+      List<URI> found = manager.findSourceResources(folder.getRoot().toPath());
+      assertEquals(16, found.size());
+      List<URI> reversed = Lists.reverse(found);
+      Map<URI, ResourceSet> loaded = manager.loadSourceResources(reversed);
+
+      assertEquals(reversed, new ArrayList<>(loaded.keySet()));
+      loaded.forEach((uri, resourceSet) -> assertNotNull(resourceSet.getResource(uri, false)));
+   }
+
    @Test
    public void hasResourceNot() {
       assertFalse(modelResourceManager.isResourceLoaded("SuperBrewer3000.json"));
@@ -217,6 +360,69 @@ public class DefaultModelResourceManagerTest extends AbstractResourceTest {
          () -> assertTrue("Model not found in repository", false));
    }
 
+   @Test
+   public void lazyWorkspaceLoading() {
+      when(serverConfig.isLazyWorkspaceLoading()).thenReturn(true);
+      clearInvocations(watchersManager);
+      modelResourceManager.initialize();
+
+      String modelUri = adaptModelUri("Test1.ecore");
+      assertTrue(modelResourceManager.getAllLoadedModelURIs().contains(URI.createURI(modelUri)));
+      assertFalse(modelResourceManager.getDirtyState(modelUri));
+      verify(watchersManager, never()).watch(any());
+
+      Optional<EPackage> result = modelResourceManager.loadModel(modelUri, EPackage.class);
+      assertTrue(result.isPresent());
+      assertEquals("test1", result.get().getName());
+      verify(watchersManager).watch(argThat(resource -> resource.getURI().toString().equals(modelUri)));
+   }
+
+   @Test
+   public void evictIdleModels() {
+      when(serverConfig.getMaxLoadedModels()).thenReturn(1);
+      IdleModelResourceManager manager = injector.getInstance(IdleModelResourceManager.class);
+      String modelUri = adaptModelUri("Test1.ecore");
+      manager.loadResource(adaptModelUri("Coffee.ecore"));
+
+      manager.evictIdleModels();
+      assertEquals(1, manager.getMaterializedResourceSets().size());
+      assertTrue(manager.getAllLoadedModelURIs().contains(URI.createURI(modelUri)));
+
+      // Evicted models are loaded again on access
+      Optional<EPackage> result = manager.loadModel(modelUri, EPackage.class);
+      assertTrue(result.isPresent());
+      assertEquals("test1", result.get().getName());
+   }
+
+   @Test
+   public void evictIdleModelsAfterV2SessionCloses() throws NoSuchFieldException {
+      when(serverConfig.getMaxLoadedModels()).thenReturn(1);
+      IdleModelResourceManager manager = injector.getInstance(IdleModelResourceManager.class);
+      DefaultSessionController sessionController = injector.createChildInjector(new AbstractModule() {
+         @Override
+         protected void configure() {
+            bind(CodecsManager.class).toInstance(codecs);
+            bind(ModelValidator.class).toInstance(modelValidator);
+         }
+      }).getInstance(DefaultSessionController.class);
+      manager.setSessionController(() -> sessionController);
+      MockitoUtil.setField(client, WsContext.class.getDeclaredField("session"), session);
+
+      String modelUri = adaptModelUri("Test1.ecore");
+      assertTrue(sessionController.subscribeV2(client, modelUri));
+      manager.loadResource(modelUri);
+      manager.loadResource(adaptModelUri("Coffee.ecore"));
+
+      // The subscribed model is kept although it is the least recently used
+      manager.evictIdleModels();
+      assertTrue(manager.getMaterializedResourceSet(modelUri).isPresent());
+
+      assertTrue(sessionController.unsubscribe(client));
+      manager.loadResource(adaptModelUri("Coffee.ecore"));
+      manager.evictIdleModels();
+      assertFalse(manager.getMaterializedResourceSet(modelUri).isPresent());
+   }
+
    // The JsonPatchHelper is injected via a Provider because the base implementation
    // has a dependency on the ModelResourceManager (mutually dependent)
    @Test
@@ -233,6 +439,110 @@ public class DefaultModelResourceManagerTest extends AbstractResourceTest {
    }
 
    // Test framework
+   static class IdleModelResourceManager extends DefaultModelResourceManager {
+      @Inject
+      IdleModelResourceManager(final Set<EPackageConfiguration> configurations, final AdapterFactory adapterFactory,
+         final ServerConfiguration serverConfiguration, final ModelWatchersManager watchersManager,
+         final Provider<JsonPatchHelper> jsonPatchHelper) {
+         super(configurations, adapterFactory, serverConfiguration, watchersManager, jsonPatchHelper);
+      }
+
+      @Override
+      protected long getEvictionIdleTime() { return 0L; }
+
+      @Override
+      public Collection<ResourceSet> getMaterializedResourceSets() { return super.getMaterializedResourceSets(); }
+   }
+
+   static class SavingModelResourceManager extends DefaultModelResourceManager {
+      final List<String> saved = Collections.synchronizedList(new ArrayList<>());
+      final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+      @Inject
+      SavingModelResourceManager(final Set<EPackageConfiguration> configurations,
+         final AdapterFactory adapterFactory, final ServerConfiguration serverConfiguration,
+         final ModelWatchersManager watchersManager, final Provider<JsonPatchHelper> jsonPatchHelper) {
+         super(configurations, adapterFactory, serverConfiguration, watchersManager, jsonPatchHelper);
+      }
+
+      @Override
+      protected boolean saveResource(final Resource resource) {
+         // Don't overwrite the test models
+         String uri = resource.getURI().toString();
+         if (failing.contains(uri)) {
+            return false;
+         }
+         saved.add(uri);
+         return true;
+      }
+
+      @Override
+      public void saveAtomically(final Resource resource, final Path file) throws IOException {
+         super.saveAtomically(resource, file);
+      }
+   }
+
+   static class ScanningModelResourceManager extends DefaultModelResourceManager {
+      final Set<URI> parsed = ConcurrentHashMap.newKeySet();
+
+      @Inject
+      ScanningModelResourceManager(final Set<EPackageConfiguration> configurations,
+         final AdapterFactory adapterFactory, final ServerConfiguration serverConfiguration,
+         final ModelWatchersManager watchersManager, final Provider<JsonPatchHelper> jsonPatchHelper) {
+         super(configurations, adapterFactory, serverConfiguration, watchersManager, jsonPatchHelper);
+      }
+
+      @Override
+      protected Optional<Resource> loadSourceResource(final URI uri, final ResourceSet resourceSet) {
+         parsed.add(uri);
+         return super.loadSourceResource(uri, resourceSet);
+      }
+
+      @Override
+      public List<URI> findSourceResources(final Path directory) {
+         return super.findSourceResources(directory);
+      }
+
+      @Override
+      public Map<URI, ResourceSet> loadSourceResources(final List<URI> modelURIs) {
+         return super.loadSourceResources(modelURIs);
+      }
+   }
+
+   private ScanningModelResourceManager scanWorkspace() {
+      ScanningModelResourceManager manager = injector.getInstance(ScanningModelResourceManager.class);
+      Map<String, Object> extensionToFactoryMap = Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap();
+      Object defaultFactory = extensionToFactoryMap.put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+         new XMIResourceFactoryImpl());
+      try {
+         when(serverConfig.getWorkspaceRootURI()).thenReturn(URI.createFileURI(folder.getRoot().getAbsolutePath()));
+         manager.parsed.clear();
+         manager.initialize();
+      } finally {
+         if (defaultFactory != null) {
+            extensionToFactoryMap.put(Resource.Factory.Registry.DEFAULT_EXTENSION, defaultFactory);
+         } else {
+            extensionToFactoryMap.remove(Resource.Factory.Registry.DEFAULT_EXTENSION);
+         }
+      }
+      return manager;
+   }
+
+   private Path writeFile(final String name, final String content) throws IOException {
+      return Files.writeString(folder.getRoot().toPath().resolve(name), content);
+   }
+
+   private static void makeDirty(final DefaultModelResourceManager manager, final String modelUri) {
+      EPackage model = manager.loadModel(modelUri, EPackage.class).orElseThrow();
+      ModelServerEditingDomain domain = manager.getEditingDomain(manager.getResourceSet(modelUri));
+      domain.getCommandStack().execute(new RecordingCommand(domain) {
+         @Override
+         protected void doExecute() {
+            model.setName(model.getName() + "_dirty");
+         }
+      });
+   }
+
    private static File getCWD() { return new File(System.getProperty("user.dir")); }
 
    private static String adaptModelUri(final String modelUri) {
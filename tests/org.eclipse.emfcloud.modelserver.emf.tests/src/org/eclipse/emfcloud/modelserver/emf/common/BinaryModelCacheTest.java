@@ -0,0 +1,104 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BinaryModelCacheTest {
+
+   @Rule
+   public final TemporaryFolder folder = new TemporaryFolder();
+
+   @Mock
+   private ServerConfiguration serverConfig;
+
+   private BinaryModelCache cache;
+
+   private URI modelURI;
+
+   private EPackage model;
+
+   @Test
+   public void loadCachedModel() throws IOException {
+      cache.store(model.eResource());
+
+      Resource resource = newResource();
+      assertThat(cache.load(resource), is(true));
+      assertThat(resource.isLoaded(), is(true));
+      assertThat(EcoreUtil.equals(resource.getContents(), model.eResource().getContents()), is(true));
+   }
+
+   @Test
+   public void ignoreStaleModel() throws IOException {
+      cache.store(model.eResource());
+
+      File file = new File(modelURI.toFileString());
+      assertThat(file.setLastModified(file.lastModified() + 2000L), is(true));
+
+      Resource resource = newResource();
+      assertThat(cache.load(resource), is(false));
+      assertThat(resource.getContents().isEmpty(), is(true));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() throws IOException {
+      File cacheFolder = folder.newFolder("cache");
+      when(serverConfig.getBinaryCacheFolderURI()).thenReturn(URI.createFileURI(cacheFolder.getAbsolutePath()));
+      cache = new BinaryModelCache(serverConfig);
+
+      modelURI = URI.createFileURI(new File(folder.getRoot(), "model.xmi").getAbsolutePath());
+      model = EcoreFactory.eINSTANCE.createEPackage();
+      model.setName("model");
+      EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+      eClass.setName("Element");
+      model.getEClassifiers().add(eClass);
+
+      Resource resource = newResource();
+      resource.getContents().add(model);
+      resource.save(Collections.emptyMap());
+   }
+
+   private Resource newResource() {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+      return resourceSet.createResource(modelURI);
+   }
+
+}
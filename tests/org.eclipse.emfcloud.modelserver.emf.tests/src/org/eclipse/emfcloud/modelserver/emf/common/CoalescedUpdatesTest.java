@@ -0,0 +1,108 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.prop;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+
+public class CoalescedUpdatesTest {
+
+   @Test
+   public void replacesOfSamePathCollapse() {
+      CoalescedUpdates updates = new CoalescedUpdates(false);
+
+      assertThat(updates.addPatch(Json.array(replace("/x", "1"), replace("/y", "1"))), is(true));
+      assertThat(updates.addPatch(Json.array(replace("/x", "2"), replace("/y", "2"))), is(false));
+
+      List<JsonNode> messages = updates.flush();
+      assertThat(messages.size(), is(1));
+      assertThat(messages.get(0),
+         is(JsonResponse.incrementalUpdate(Json.array(replace("/x", "2"), replace("/y", "2")))));
+   }
+
+   @Test
+   public void replacesAcrossStructuralChangesDoNotCollapse() {
+      CoalescedUpdates updates = new CoalescedUpdates(false);
+
+      updates.addPatch(Json.array(replace("/list/1/x", "1")));
+      updates.addPatch(Json.array(remove("/list/0")));
+      updates.addPatch(Json.array(replace("/list/1/x", "2")));
+
+      assertThat(updates.flush().get(0), is(JsonResponse.incrementalUpdate(
+         Json.array(replace("/list/1/x", "1"), remove("/list/0"), replace("/list/1/x", "2")))));
+   }
+
+   @Test
+   public void dirtyStateOnlyWhenChanged() {
+      CoalescedUpdates updates = new CoalescedUpdates(false);
+
+      updates.setDirtyState(false);
+      assertThat(updates.flush().isEmpty(), is(true));
+
+      updates.setDirtyState(true);
+      updates.setDirtyState(true);
+      assertThat(updates.flush(), is(List.of(JsonResponse.dirtyState(true))));
+
+      updates.setDirtyState(true);
+      assertThat(updates.flush().isEmpty(), is(true));
+   }
+
+   @Test
+   public void fullUpdateDiscardsPatch() {
+      CoalescedUpdates updates = new CoalescedUpdates(false);
+
+      updates.addPatch(Json.array(replace("/x", "1")));
+      updates.discardPatch();
+
+      assertThat(updates.flush().isEmpty(), is(true));
+   }
+
+   @Test
+   public void validationDeltasMerge() {
+      CoalescedUpdates updates = new CoalescedUpdates(false);
+
+      updates.addValidationDelta(JsonResponse.validationDelta(delta(4, Json.object(prop("//A", Json.array()),
+         prop("//B", Json.array())), Json.array(Json.text("//C")))));
+      updates.addValidationDelta(JsonResponse.validationDelta(delta(2, Json.object(prop("//C", Json.array())),
+         Json.array(Json.text("//A")))));
+
+      assertThat(updates.flush(), is(List.of(JsonResponse.validationDelta(delta(2,
+         Json.object(prop("//B", Json.array()), prop("//C", Json.array())), Json.array(Json.text("//A")))))));
+   }
+
+   //
+   // Test framework
+   //
+
+   private static JsonNode replace(final String path, final String value) {
+      return Json.object(prop("op", Json.text("replace")), prop("path", Json.text(path)),
+         prop("value", Json.text(value)));
+   }
+
+   private static JsonNode delta(final int severity, final JsonNode changed, final JsonNode cleared) {
+      return Json.object(prop(ValidationMapperModule.SEVERITY, IntNode.valueOf(severity)),
+         prop(ValidationMapperModule.CHANGED, changed), prop(ValidationMapperModule.CLEARED, cleared));
+   }
+
+   private static JsonNode remove(final String path) {
+      return Json.object(prop("op", Json.text("remove")), prop("path", Json.text(path)));
+   }
+
+}
@@ -0,0 +1,122 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.eclipse.emfcloud.modelserver.jsonschema.Json.prop;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommandJournalTest {
+
+   @Rule
+   public final TemporaryFolder folder = new TemporaryFolder();
+
+   @Mock
+   private ServerConfiguration serverConfig;
+
+   private CommandJournal journal;
+
+   private Resource resource;
+
+   @Test
+   public void replayJournaledChanges() {
+      journal.executed(resource, patch("a"), false);
+      journal.executed(resource, patch("b"), false);
+      journal.undone(resource);
+
+      assertThat(replay(), is(List.of(patch("a"), patch("b"), Json.object(prop("type", Json.text("undo"))))));
+   }
+
+   @Test
+   public void journalCompoundOnClose() {
+      journal.executed(resource, patch("a"), true);
+      journal.executed(resource, patch("b"), true);
+      assertThat(replay().isEmpty(), is(true));
+
+      journal.compoundClosed(resource);
+      assertThat(replay(), is(List.of(Json.object(prop("type", Json.text("compound")),
+         prop("data", Json.array(patch("a"), patch("b")))))));
+   }
+
+   @Test
+   public void clearOnSave() {
+      journal.executed(resource, patch("a"), false);
+      journal.clear(resource);
+
+      assertThat(replay().isEmpty(), is(true));
+   }
+
+   @Test
+   public void discardJournalOfOtherVersion() {
+      journal.executed(resource, patch("a"), false);
+      resource.setTimeStamp(resource.getTimeStamp() + 2000L);
+
+      assertThat(replay().isEmpty(), is(true));
+   }
+
+   @Test
+   public void stopJournalingOnUndoOfSavedCommand() {
+      journal.undone(resource);
+      journal.executed(resource, patch("a"), false);
+
+      assertThat(replay().isEmpty(), is(true));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() throws IOException {
+      File journalFolder = folder.newFolder("journal");
+      when(serverConfig.getCommandJournalFolderURI())
+         .thenReturn(URI.createFileURI(journalFolder.getAbsolutePath()));
+      journal = new CommandJournal(serverConfig);
+
+      resource = new ResourceImpl(URI.createFileURI(new File(folder.getRoot(), "model.json").getAbsolutePath()));
+      resource.setTimeStamp(System.currentTimeMillis());
+   }
+
+   private List<JsonNode> replay() {
+      // As after a restart
+      List<JsonNode> result = new ArrayList<>();
+      new CommandJournal(serverConfig).replay(resource, result::add);
+      return result;
+   }
+
+   private static JsonNode patch(final String value) {
+      return CommandJournal.patch(Json.array(Json.object(prop("op", Json.text("replace")),
+         prop("path", Json.text("/name")), prop("value", Json.text(value)))));
+   }
+
+}
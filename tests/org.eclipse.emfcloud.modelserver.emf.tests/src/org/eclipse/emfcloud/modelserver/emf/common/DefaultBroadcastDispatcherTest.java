@@ -0,0 +1,206 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emfcloud.modelserver.emf.common.BroadcastDispatcher.OverflowPolicy;
+import org.eclipse.emfcloud.modelserver.emf.configuration.ServerConfiguration;
+import org.eclipse.emfcloud.modelserver.tests.util.MockitoUtil;
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.javalin.websocket.WsContext;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DefaultBroadcastDispatcherTest {
+
+   @Rule
+   public final Timeout timeout = new Timeout(2000L, TimeUnit.MILLISECONDS);
+
+   @Mock
+   private ServerConfiguration serverConfig;
+   @Mock
+   private WsContext client;
+   @Mock
+   private WsContext otherClient;
+   @Mock
+   private Session session;
+
+   private DefaultBroadcastDispatcher dispatcher;
+
+   private final CountDownLatch sending = new CountDownLatch(1);
+   private final CountDownLatch release = new CountDownLatch(1);
+   private final CountDownLatch resynced = new CountDownLatch(1);
+
+   @Test
+   public void sendSynchronously() {
+      when(serverConfig.getBroadcastQueueCapacity()).thenReturn(0);
+
+      dispatcher.send(client, "a");
+
+      verify(client).send("a");
+   }
+
+   @Test
+   public void sendInOrder() {
+      dispatcher.send(client, "a");
+      dispatcher.send(client, "b");
+      dispatcher.send(client, "c");
+
+      verify(client, timeout(1000L)).send("c");
+      InOrder inOrder = inOrder(client);
+      inOrder.verify(client).send("a");
+      inOrder.verify(client).send("b");
+      inOrder.verify(client).send("c");
+   }
+
+   @Test
+   public void sendOnBoundedPool() throws InterruptedException, NoSuchFieldException {
+      when(serverConfig.getBroadcastThreads()).thenReturn(1);
+      dispatcher.dispose();
+      dispatcher = new DefaultBroadcastDispatcher(serverConfig);
+      MockitoUtil.setField(otherClient, WsContext.class.getDeclaredField("session"), session);
+      CountDownLatch sent = new CountDownLatch(1);
+      doAnswer(invocation -> {
+         sent.countDown();
+         return null;
+      }).when(otherClient).send("a");
+
+      dispatcher.send(client, "block");
+      sending.await(1L, TimeUnit.SECONDS);
+      dispatcher.send(otherClient, "a");
+
+      // The only thread of the pool is still sending to the first session
+      assertThat(sent.await(100L, TimeUnit.MILLISECONDS), is(false));
+      release.countDown();
+      assertThat(sent.await(1L, TimeUnit.SECONDS), is(true));
+   }
+
+   @Test
+   public void overflowResync() throws InterruptedException {
+      Thread[] resyncThread = new Thread[1];
+      dispatcher.setResyncHandler(ctx -> {
+         resyncThread[0] = Thread.currentThread();
+         dispatcher.resync(ctx, "full");
+         resynced.countDown();
+      });
+      fillQueue();
+
+      // Overflows the queue
+      dispatcher.send(client, "3");
+      resynced.await(1L, TimeUnit.SECONDS);
+      dispatcher.send(client, "4");
+      release.countDown();
+
+      verify(client, timeout(1000L)).send("4");
+      InOrder inOrder = inOrder(client);
+      inOrder.verify(client).send("full");
+      inOrder.verify(client).send("4");
+      verify(client, never()).send("1");
+      verify(client, never()).send("2");
+      verify(client, never()).send("3");
+      assertThat(dispatcher.getDroppedMessages(), is(3L));
+      // Not on the thread that overflowed the queue
+      assertThat(resyncThread[0], not(Thread.currentThread()));
+   }
+
+   @Test
+   public void overflowDuringResyncDisconnects() throws InterruptedException {
+      dispatcher.setResyncHandler(ctx -> {
+         dispatcher.resync(ctx, "full", "dirty");
+         resynced.countDown();
+      });
+      fillQueue();
+
+      // Overflows the queue, and then again before the resync is sent
+      dispatcher.send(client, "3");
+      resynced.await(1L, TimeUnit.SECONDS);
+      dispatcher.send(client, "4");
+
+      verify(client).closeSession(eq(DefaultBroadcastDispatcher.POLICY_VIOLATION), anyString());
+      assertThat(dispatcher.getDisconnectedSessions(), is(1L));
+      assertThat(dispatcher.getQueueDepth(client), is(0));
+      release.countDown();
+      verify(client, never()).send("4");
+   }
+
+   @Test
+   public void overflowDisconnect() throws InterruptedException {
+      when(serverConfig.getBroadcastOverflowPolicy()).thenReturn(OverflowPolicy.DISCONNECT);
+      fillQueue();
+
+      // Overflows the queue
+      dispatcher.send(client, "3");
+      dispatcher.send(client, "4");
+      release.countDown();
+
+      verify(client).closeSession(eq(DefaultBroadcastDispatcher.POLICY_VIOLATION), anyString());
+      verify(client, never()).send("4");
+      assertThat(dispatcher.getDisconnectedSessions(), is(1L));
+      assertThat(dispatcher.getQueueDepth(client), is(0));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() throws NoSuchFieldException {
+      when(serverConfig.getBroadcastQueueCapacity()).thenReturn(2);
+      when(session.isOpen()).thenReturn(true);
+      MockitoUtil.setField(client, WsContext.class.getDeclaredField("session"), session);
+
+      // Sending this message blocks until released
+      doAnswer(invocation -> {
+         sending.countDown();
+         return release.await(1L, TimeUnit.SECONDS);
+      }).when(client).send("block");
+
+      dispatcher = new DefaultBroadcastDispatcher(serverConfig);
+   }
+
+   @After
+   public void tearDown() {
+      release.countDown();
+      dispatcher.dispose();
+   }
+
+   private void fillQueue() throws InterruptedException {
+      dispatcher.send(client, "block");
+      sending.await(1L, TimeUnit.SECONDS);
+      dispatcher.send(client, "1");
+      dispatcher.send(client, "2");
+      assertThat(dispatcher.getQueueDepth(client), is(2));
+   }
+
+}
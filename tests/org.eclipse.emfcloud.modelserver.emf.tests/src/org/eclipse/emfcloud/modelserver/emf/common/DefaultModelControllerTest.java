@@ -18,7 +18,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,7 +36,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -81,12 +80,13 @@ import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.mockito.stubbing.Answer;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Suppliers;
 import com.google.inject.AbstractModule;
@@ -157,13 +157,8 @@ public class DefaultModelControllerTest {
 
    @Test
    public void getOneXmiFormat() throws EncodingException {
-      final AtomicReference<JsonNode> response = new AtomicReference<>();
+      final Supplier<JsonNode> response = captureResponseContent();
       final EClass brewingUnit = EcoreFactory.eINSTANCE.createEClass();
-      Answer<Void> answer = invocation -> {
-         response.set(invocation.getArgument(0));
-         return null;
-      };
-      doAnswer(answer).when(context).json(any(JsonNode.class));
       final LinkedHashMap<String, List<String>> queryParams = new LinkedHashMap<>();
       queryParams.put(ModelServerPathParametersV1.FORMAT,
          Collections.singletonList(ModelServerPathParametersV1.FORMAT_XMI));
@@ -177,13 +172,8 @@ public class DefaultModelControllerTest {
 
    @Test
    public void getAllXmiFormat() throws EncodingException, IOException {
-      final AtomicReference<JsonNode> response = new AtomicReference<>();
+      final Supplier<JsonNode> response = captureResponseContent();
       final EClass brewingUnit = EcoreFactory.eINSTANCE.createEClass();
-      Answer<Void> answer = invocation -> {
-         response.set(invocation.getArgument(0));
-         return null;
-      };
-      doAnswer(answer).when(context).json(any(JsonNode.class));
       final LinkedHashMap<String, List<String>> queryParams = new LinkedHashMap<>();
       queryParams.put(ModelServerPathParametersV1.FORMAT,
          Collections.singletonList(ModelServerPathParametersV1.FORMAT_XMI));
@@ -202,13 +192,8 @@ public class DefaultModelControllerTest {
 
    @Test
    public void getOneJsonFormat() throws EncodingException {
-      final AtomicReference<JsonNode> response = new AtomicReference<>();
+      final Supplier<JsonNode> response = captureResponseContent();
       final EClass brewingUnit = EcoreFactory.eINSTANCE.createEClass();
-      Answer<Void> answer = invocation -> {
-         response.set(invocation.getArgument(0));
-         return null;
-      };
-      doAnswer(answer).when(context).json(any(JsonNode.class));
       when(modelRepository.getModel("test")).thenReturn(Optional.of(brewingUnit));
 
       modelController.getOne(context, "test");
@@ -528,6 +513,25 @@ public class DefaultModelControllerTest {
       verify(context).json(argThat(hasProperties(prop(JsonResponseMember.TYPE, Json.text(JsonResponseType.ERROR)))));
    }
 
+   @Test
+   public void saveAllPartialFailure() {
+      Map<URI, Boolean> results = new LinkedHashMap<>();
+      results.put(URI.createURI("Saved.ecore"), true);
+      results.put(URI.createURI("Failed.ecore"), false);
+      when(modelRepository.saveDirtyModels()).thenReturn(results);
+      when(uriConverter.deresolveModelURI(any(Context.class), any(String.class)))
+         .thenAnswer(invocation -> invocation.getArgument(1));
+
+      modelController.saveAll(context);
+      verify(context).status(intThat(equalTo((HttpURLConnection.HTTP_INTERNAL_ERROR))));
+      verify(context).json(argThat(hasProperties(prop(JsonResponseMember.TYPE, Json.text(JsonResponseType.ERROR)),
+         prop(JsonResponseMember.DATA,
+            Json.object(prop("Saved.ecore", Json.bool(true)), prop("Failed.ecore", Json.bool(false)))))));
+      verify(sessionController).modelSaved("Saved.ecore");
+      verify(sessionController, never()).modelSaved("Failed.ecore");
+      verify(sessionController, never()).allModelsSaved();
+   }
+
    static File getCWD() { return new File(System.getProperty("user.dir")); }
 
    private URI getModelUri(final String modelFileName) {
@@ -610,6 +614,23 @@ public class DefaultModelControllerTest {
       };
    }
 
+   /**
+    * Capture the response that the controller streams to the {@link #context}.
+    *
+    * @return a supplier of the response that was streamed
+    */
+   private Supplier<JsonNode> captureResponseContent() {
+      return () -> {
+         ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+         verify(context).result(content.capture());
+         try {
+            return new ObjectMapper().readTree(content.getValue());
+         } catch (IOException e) {
+            throw new AssertionError("Response is not JSON", e);
+         }
+      };
+   }
+
    private JsonResource createJsonResource(final String modeluri) {
       return new JsonResource(
          URI.createHierarchicalURI(new String[] { modeluri }, null, null)
@@ -10,12 +10,14 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -113,6 +115,17 @@ public class DefaultModelRepositoryTest extends AbstractResourceTest {
          () -> assertTrue("Model not found in repository", false));
    }
 
+   @Test
+   public void getModelElementsByType() throws DecodingException, IOException {
+      String modelUri = getModelUri("Test1.ecore").toString();
+      Resource testResource = loadResource("Test1.ecore");
+      when(modelResourceManager.loadResource(modelUri)).thenReturn(Optional.of(testResource));
+
+      List<EObject> result = repository.getModelElementsByType(modelUri, "EStructuralFeature");
+      assertEquals(3, result.size());
+      assertTrue(result.stream().allMatch(EAttribute.class::isInstance));
+   }
+
    //
    // Test framework
    //
@@ -10,20 +10,31 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.Optional;
 
+import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.util.ChangeRecorder;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
 import org.eclipse.emfcloud.jackson.module.EMFModule;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.emf.tests.constrainttest.ConstraintTestPackage;
+import org.eclipse.emfcloud.modelserver.jsonschema.Json;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -99,4 +110,103 @@ public class DefaultModelValidatorTest {
       assertTrue(minLength == 5);
       assertTrue(maxLength == 5);
    }
+
+   @Test
+   public void validateChanges_ClearedDiagnostic() {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("test");
+      ePackage.setNsPrefix("test");
+      ePackage.setNsURI("http://www.eclipse.org/emfcloud/modelserver/test");
+      EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+      eClass.setName("not valid");
+      ePackage.getEClassifiers().add(eClass);
+      Resource resource = new XMIResourceImpl(URI.createURI("Test.ecore"));
+      resource.getContents().add(ePackage);
+      when(modelRepository.getModel("Test.ecore")).thenReturn(Optional.of(ePackage));
+      when(modelRepository.loadResource("Test.ecore")).thenReturn(Optional.of(resource));
+
+      JsonNode result = modelValidator.validateAndReport("Test.ecore");
+      assertThat(result.get(ValidationMapperModule.SEVERITY).asInt(), is(Diagnostic.ERROR));
+      String classId = resource.getURIFragment(eClass);
+
+      ChangeRecorder recorder = new ChangeRecorder(resource);
+      eClass.setName("Valid");
+      ChangeDescription changes = recorder.endRecording();
+
+      JsonNode delta = modelValidator.validateChanges("Test.ecore", changes).get();
+      assertThat(delta.get(ValidationMapperModule.SEVERITY).asInt(), is(Diagnostic.OK));
+      assertThat(delta.get(ValidationMapperModule.CHANGED).size(), is(0));
+      assertThat(delta.get(ValidationMapperModule.CLEARED), is(Json.array(Json.text(classId))));
+   }
+
+   @Test
+   public void validateChanges_AfterRequestedValidation() {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("test");
+      ePackage.setNsPrefix("test");
+      ePackage.setNsURI("http://www.eclipse.org/emfcloud/modelserver/test");
+      EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+      eClass.setName("Valid");
+      ePackage.getEClassifiers().add(eClass);
+      Resource resource = new XMIResourceImpl(URI.createURI("Test.ecore"));
+      resource.getContents().add(ePackage);
+      when(modelRepository.getModel("Test.ecore")).thenReturn(Optional.of(ePackage));
+      when(modelRepository.loadResource("Test.ecore")).thenReturn(Optional.of(resource));
+
+      modelValidator.validateAndReport("Test.ecore");
+
+      ChangeRecorder recorder = new ChangeRecorder(resource);
+      eClass.setName("not valid");
+      ChangeDescription changes = recorder.endRecording();
+      String classId = resource.getURIFragment(eClass);
+
+      // A client requests validation after the command and before its changes are broadcast
+      JsonNode result = modelValidator.validate("Test.ecore");
+      assertThat(result.get(ValidationMapperModule.SEVERITY).asInt(), is(Diagnostic.ERROR));
+
+      JsonNode delta = modelValidator.validateChanges("Test.ecore", changes).get();
+      assertThat(delta.get(ValidationMapperModule.SEVERITY).asInt(), is(Diagnostic.ERROR));
+      assertThat(delta.get(ValidationMapperModule.CHANGED).has(classId), is(true));
+      assertThat(delta.get(ValidationMapperModule.CLEARED).size(), is(0));
+   }
+
+   @Test
+   public void validateChanges_ReferencingObject() {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName("test");
+      ePackage.setNsPrefix("test");
+      ePackage.setNsURI("http://www.eclipse.org/emfcloud/modelserver/test");
+      EClass classA = EcoreFactory.eINSTANCE.createEClass();
+      classA.setName("A");
+      EClass classB = EcoreFactory.eINSTANCE.createEClass();
+      classB.setName("B");
+      ePackage.getEClassifiers().add(classA);
+      ePackage.getEClassifiers().add(classB);
+      EReference toB = EcoreFactory.eINSTANCE.createEReference();
+      toB.setName("toB");
+      toB.setEType(classB);
+      classA.getEStructuralFeatures().add(toB);
+      EReference toA = EcoreFactory.eINSTANCE.createEReference();
+      toA.setName("toA");
+      toA.setEType(classA);
+      classB.getEStructuralFeatures().add(toA);
+      toB.setEOpposite(toA);
+      toA.setEOpposite(toB);
+      Resource resource = new XMIResourceImpl(URI.createURI("Test.ecore"));
+      resource.getContents().add(ePackage);
+      when(modelRepository.getModel("Test.ecore")).thenReturn(Optional.of(ePackage));
+      when(modelRepository.loadResource("Test.ecore")).thenReturn(Optional.of(resource));
+
+      modelValidator.validateAndReport("Test.ecore");
+
+      ChangeRecorder recorder = new ChangeRecorder(resource);
+      toA.setEOpposite(null);
+      ChangeDescription changes = recorder.endRecording();
+      String referenceId = resource.getURIFragment(toB);
+
+      // The opposite of the unchanged reference is no longer consistent
+      JsonNode delta = modelValidator.validateChanges("Test.ecore", changes).get();
+      assertThat(delta.get(ValidationMapperModule.SEVERITY).asInt(), is(Diagnostic.ERROR));
+      assertThat(delta.get(ValidationMapperModule.CHANGED).has(referenceId), is(true));
+   }
 }
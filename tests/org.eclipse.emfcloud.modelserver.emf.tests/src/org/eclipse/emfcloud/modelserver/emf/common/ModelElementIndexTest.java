@@ -0,0 +1,105 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelElementIndexTest {
+
+   private EPackage model;
+
+   private EClass element;
+
+   private ModelElementIndex index;
+
+   @Test
+   public void getByName() {
+      assertThat(index.getByName("Element"), is(List.of(element)));
+      assertThat(index.getByName("Other").isEmpty(), is(true));
+   }
+
+   @Test
+   public void getByNameInContainmentOrder() {
+      EClass nested = EcoreFactory.eINSTANCE.createEClass();
+      nested.setName("Element");
+      EPackage subpackage = EcoreFactory.eINSTANCE.createEPackage();
+      subpackage.getEClassifiers().add(nested);
+      model.getESubpackages().add(subpackage);
+      EClass first = EcoreFactory.eINSTANCE.createEClass();
+      first.setName("Element");
+      model.getEClassifiers().add(0, first);
+
+      // Indexed after the others, but the first in the contents of the model
+      assertThat(index.getByName("Element"), is(List.of(first, element, nested)));
+   }
+
+   @Test
+   public void getByType() {
+      assertThat(index.getByType(EcorePackage.Literals.ECLASSIFIER::equals), is(List.of(element)));
+      assertThat(index.getByType(EcorePackage.Literals.EATTRIBUTE::equals).isEmpty(), is(true));
+   }
+
+   @Test
+   public void updateOnRename() {
+      element.setName("Renamed");
+
+      assertThat(index.getByName("Element").isEmpty(), is(true));
+      assertThat(index.getByName("Renamed"), is(List.of(element)));
+   }
+
+   @Test
+   public void updateOnAddAndRemove() {
+      EClass added = EcoreFactory.eINSTANCE.createEClass();
+      added.setName("Added");
+      model.getEClassifiers().add(added);
+      assertThat(index.getByName("Added"), is(List.of(added)));
+
+      model.getEClassifiers().remove(element);
+      assertThat(index.getByName("Element").isEmpty(), is(true));
+      assertThat(index.getByType(EcorePackage.Literals.ECLASS::equals), is(List.of(added)));
+   }
+
+   @Test
+   public void shareIndexOfResource() {
+      assertThat(ModelElementIndex.getIndex(model.eResource()) == index, is(true));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() {
+      model = EcoreFactory.eINSTANCE.createEPackage();
+      model.setName("model");
+      element = EcoreFactory.eINSTANCE.createEClass();
+      element.setName("Element");
+      model.getEClassifiers().add(element);
+
+      Resource resource = new ResourceImpl(URI.createURI("model.ecore"));
+      resource.getContents().add(model);
+      index = ModelElementIndex.getIndex(resource);
+   }
+
+}
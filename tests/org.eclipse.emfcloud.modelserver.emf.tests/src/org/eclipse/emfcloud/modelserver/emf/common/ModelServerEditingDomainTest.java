@@ -0,0 +1,120 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreAdapterFactory;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.emf.edit.command.CommandParameter;
+import org.eclipse.emf.edit.command.DeleteCommand;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelServerEditingDomainTest {
+
+   private ModelServerEditingDomain domain;
+
+   private EClass node;
+
+   private EReference parent;
+
+   private EReference children;
+
+   @Test
+   public void findUsages() {
+      Map<EObject, Collection<EStructuralFeature.Setting>> usages = domain.findUsages(List.of(parent, children));
+
+      assertThat(usages.keySet(), is(Set.of(parent)));
+      assertThat(owners(usages.get(parent)), is(List.of(children)));
+      assertThat(usages.get(parent).iterator().next().getEStructuralFeature(),
+         is(EcorePackage.Literals.EREFERENCE__EOPPOSITE));
+   }
+
+   @Test
+   public void findUsagesAfterChanges() {
+      domain.findUsages(List.of(parent));
+
+      EReference owner = EcoreFactory.eINSTANCE.createEReference();
+      owner.setEOpposite(parent);
+      domain.execute(new RecordingCommand(domain) {
+         @Override
+         protected void doExecute() {
+            node.getEStructuralFeatures().add(owner);
+            children.setEOpposite(null);
+         }
+      });
+
+      assertThat(owners(domain.findUsages(List.of(parent)).get(parent)), is(List.of(owner)));
+   }
+
+   @Test
+   public void createIndexedDeleteCommand() {
+      CommandParameter parameter = new CommandParameter(null, null, List.of(parent));
+
+      assertThat(domain.createCommand(DeleteCommand.class, parameter), instanceOf(DeleteCommand.class));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() {
+      ResourceSetImpl resourceSet = new ResourceSetImpl();
+      resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore",
+         new EcoreResourceFactoryImpl());
+
+      EPackage model = EcoreFactory.eINSTANCE.createEPackage();
+      node = EcoreFactory.eINSTANCE.createEClass();
+      parent = EcoreFactory.eINSTANCE.createEReference();
+      children = EcoreFactory.eINSTANCE.createEReference();
+      children.setEOpposite(parent);
+      node.getEStructuralFeatures().add(parent);
+      node.getEStructuralFeatures().add(children);
+      model.getEClassifiers().add(node);
+
+      Resource resource = resourceSet.createResource(URI.createURI("model.ecore"));
+      resource.getContents().add(model);
+
+      domain = new ModelServerEditingDomain(new EcoreAdapterFactory(), resourceSet);
+   }
+
+   @After
+   public void dispose() {
+      domain.dispose();
+   }
+
+   private static List<EObject> owners(final Collection<EStructuralFeature.Setting> usages) {
+      return usages.stream().map(EStructuralFeature.Setting::getEObject).collect(Collectors.toList());
+   }
+
+}
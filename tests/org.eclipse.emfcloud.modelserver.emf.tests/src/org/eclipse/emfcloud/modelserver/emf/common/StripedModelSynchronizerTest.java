@@ -0,0 +1,186 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+public class StripedModelSynchronizerTest {
+
+   private static final String MODEL_A = "file:/workspace/a.ecore";
+   private static final String MODEL_B = "file:/workspace/b.ecore";
+
+   @Rule
+   public final Timeout timeout = new Timeout(2000L, TimeUnit.MILLISECONDS);
+
+   private StripedModelSynchronizer synchronizer;
+
+   private final AtomicInteger data = new AtomicInteger();
+
+   public StripedModelSynchronizerTest() {
+      super();
+   }
+
+   @Test
+   public void syncExec() {
+      synchronizer.syncExec(MODEL_A, data::incrementAndGet);
+      assertThat(data.get(), is(1));
+   }
+
+   @Test
+   public void syncCall() {
+      Integer result = synchronizer.syncCall(MODEL_A, data::incrementAndGet);
+      assertThat(result, is(1));
+   }
+
+   @Test
+   public void asyncCall() throws InterruptedException, ExecutionException, TimeoutException {
+      Future<Integer> result = synchronizer.asyncCall(MODEL_A, data::incrementAndGet);
+      assertThat(result.get(1L, TimeUnit.SECONDS), is(1));
+   }
+
+   @Test
+   public void reentrantSyncExec() {
+      synchronizer.syncExec(MODEL_A, () -> {
+         data.incrementAndGet();
+         synchronizer.syncExec(MODEL_A, data::incrementAndGet);
+      });
+      assertThat(data.get(), is(2));
+   }
+
+   @Test
+   public void globalLaneEntersModelLanes() {
+      synchronizer.syncExec(() -> {
+         data.incrementAndGet();
+         // The global lane already excludes all stripes
+         synchronizer.syncExec(MODEL_A, data::incrementAndGet);
+         synchronizer.syncExec(MODEL_B, data::incrementAndGet);
+      });
+      assertThat(data.get(), is(3));
+   }
+
+   @Test
+   public void globalSyncExecFromModelLane() {
+      AtomicBoolean failed = new AtomicBoolean();
+      synchronizer.syncExec(MODEL_A, () -> {
+         try {
+            synchronizer.syncExec(data::incrementAndGet);
+         } catch (IllegalStateException e) {
+            failed.set(true);
+         }
+      });
+      assertThat(failed.get(), is(true));
+      assertThat(data.get(), is(0));
+   }
+
+   @Test
+   public void otherModelSyncExecFromModelLane() {
+      AtomicBoolean failed = new AtomicBoolean();
+      synchronizer.syncExec(MODEL_A, () -> {
+         try {
+            synchronizer.syncExec(MODEL_B, data::incrementAndGet);
+         } catch (IllegalStateException e) {
+            failed.set(true);
+         }
+      });
+      assertThat(failed.get(), is(true));
+      assertThat(data.get(), is(0));
+   }
+
+   @Test
+   public void sameResourceSetSameLane() {
+      ModelResourceManager modelResourceManager = mock(ModelResourceManager.class);
+      when(modelResourceManager.getResourceSetURI(MODEL_A)).thenReturn(MODEL_A);
+      when(modelResourceManager.getResourceSetURI(MODEL_B)).thenReturn(MODEL_A);
+      synchronizer.setModelResourceManager(() -> modelResourceManager);
+
+      // Both models are in the same resource set, so this re-enters the lane rather than failing
+      synchronizer.syncExec(MODEL_A, () -> {
+         data.incrementAndGet();
+         synchronizer.syncExec(MODEL_B, data::incrementAndGet);
+      });
+      assertThat(data.get(), is(2));
+   }
+
+   @Test
+   public void parallelModels() throws InterruptedException, ExecutionException, TimeoutException {
+      // Each action can only finish when the other has started
+      CountDownLatch latch = new CountDownLatch(2);
+      Future<Boolean> a = synchronizer.asyncCall(MODEL_A, () -> {
+         latch.countDown();
+         return latch.await(1L, TimeUnit.SECONDS);
+      });
+      Future<Boolean> b = synchronizer.asyncCall(MODEL_B, () -> {
+         latch.countDown();
+         return latch.await(1L, TimeUnit.SECONDS);
+      });
+
+      assertThat(a.get(1L, TimeUnit.SECONDS), is(true));
+      assertThat(b.get(1L, TimeUnit.SECONDS), is(true));
+   }
+
+   @Test
+   public void globalLaneIsExclusive() throws InterruptedException, ExecutionException, TimeoutException {
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      AtomicBoolean modelActionRunning = new AtomicBoolean();
+
+      Future<Void> modelAction = synchronizer.asyncExec(MODEL_A, () -> {
+         modelActionRunning.set(true);
+         started.countDown();
+         try {
+            release.await(1L, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         modelActionRunning.set(false);
+      });
+      started.await(1L, TimeUnit.SECONDS);
+
+      Future<Boolean> globalAction = synchronizer.asyncCall(() -> modelActionRunning.get());
+      release.countDown();
+
+      assertThat(globalAction.get(1L, TimeUnit.SECONDS), is(false));
+      modelAction.get(1L, TimeUnit.SECONDS);
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() {
+      // The test models hash to different stripes
+      this.synchronizer = new StripedModelSynchronizer(2);
+   }
+
+   @After
+   public void tearDown() {
+      this.synchronizer.dispose();
+   }
+
+}
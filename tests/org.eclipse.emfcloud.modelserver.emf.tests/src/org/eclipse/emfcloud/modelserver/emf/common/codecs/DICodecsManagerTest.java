@@ -10,6 +10,11 @@
  ********************************************************************************/
 package org.eclipse.emfcloud.modelserver.emf.common.codecs;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,8 +25,16 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emfcloud.modelserver.common.codecs.DecodingException;
 import org.eclipse.emfcloud.modelserver.common.codecs.EncodingException;
 import org.eclipse.emfcloud.modelserver.emf.common.ModelURIConverter;
@@ -32,6 +45,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.TypeLiteral;
@@ -79,6 +93,45 @@ public class DICodecsManagerTest {
       verify(codecsManager).findCodec(modelUri, sessionCtx);
    }
 
+   @Test
+   public void encode_inPlace() throws EncodingException {
+      TransactionalEditingDomain domain = TransactionalEditingDomain.Factory.INSTANCE.createEditingDomain();
+      EPackage model = EcoreFactory.eINSTANCE.createEPackage();
+      model.setName("model");
+      addModel(domain, model);
+
+      JsonNode encoded = codecsManager.encode(new JsonCodecV2(), model);
+
+      assertThat(encoded.get("name"), is(Json.text("model")));
+      verify(codecsManager).runExclusive(eq(domain), any());
+      domain.dispose();
+   }
+
+   @Test
+   public void encode_v1SubElementAsCopy() throws EncodingException {
+      TransactionalEditingDomain domain = TransactionalEditingDomain.Factory.INSTANCE.createEditingDomain();
+      EPackage model = EcoreFactory.eINSTANCE.createEPackage();
+      model.setName("model");
+      EPackage subpackage = EcoreFactory.eINSTANCE.createEPackage();
+      subpackage.setName("sub");
+      model.getESubpackages().add(subpackage);
+      EClass superclass = EcoreFactory.eINSTANCE.createEClass();
+      superclass.setName("Super");
+      EClass subclass = EcoreFactory.eINSTANCE.createEClass();
+      subclass.setName("Sub");
+      subclass.getESuperTypes().add(superclass);
+      subpackage.getEClassifiers().addAll(List.of(superclass, subclass));
+      addModel(domain, model);
+
+      JsonNode encoded = codecsManager.encode(modelUri, requestCtx, subpackage);
+
+      // The internal reference to the superclass is relative to the sub-package, as in a copy
+      assertThat(encoded, is(new JsonCodec().encode(subpackage)));
+      assertThat(encoded.toString().contains("@eSubpackages"), is(false));
+      verify(codecsManager, never()).runExclusive(any(), any());
+      domain.dispose();
+   }
+
    @SuppressWarnings("deprecation")
    @Test
    public void decode_context() throws DecodingException {
@@ -115,6 +168,17 @@ public class DICodecsManagerTest {
    // Test framework
    //
 
+   private static void addModel(final TransactionalEditingDomain domain, final EObject model) {
+      domain.getCommandStack().execute(new RecordingCommand(domain) {
+         @Override
+         protected void doExecute() {
+            Resource resource = new XMIResourceImpl(MODEL_URI);
+            domain.getResourceSet().getResources().add(resource);
+            resource.getContents().add(model);
+         }
+      });
+   }
+
    @Before
    public void before() throws NoSuchFieldException, SecurityException {
       when(requestCtx.queryParamMap()).thenReturn(queryParams);
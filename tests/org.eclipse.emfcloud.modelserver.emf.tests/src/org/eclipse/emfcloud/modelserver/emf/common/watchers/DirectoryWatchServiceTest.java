@@ -0,0 +1,106 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common.watchers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DirectoryWatchServiceTest {
+
+   @Rule
+   public final TemporaryFolder folder = new TemporaryFolder();
+
+   @Mock
+   private FileModelWatcher watcherA;
+   @Mock
+   private FileModelWatcher watcherB;
+
+   private DirectoryWatchService service;
+
+   @Test
+   public void directoryRegisteredOnce() throws IOException {
+      File fileA = folder.newFile("a.ecore");
+      File fileB = folder.newFile("b.ecore");
+
+      service.register(watcherA, fileA);
+      service.register(watcherB, fileB);
+      assertThat(service.getWatchedDirectoryCount(), is(1));
+
+      service.unregister(watcherA, fileA);
+      assertThat(service.getWatchedDirectoryCount(), is(1));
+
+      service.unregister(watcherB, fileB);
+      assertThat(service.getWatchedDirectoryCount(), is(0));
+   }
+
+   @Test
+   public void eventsRoutedToWatcherOfFile() throws IOException {
+      File fileA = folder.newFile("a.ecore");
+      File fileB = folder.newFile("b.ecore");
+      service.register(watcherA, fileA);
+      service.register(watcherB, fileB);
+
+      Files.write(fileA.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+
+      verify(watcherA, timeout(15000L)).fileChanged(false);
+      verify(watcherB, never()).fileChanged(anyBoolean());
+   }
+
+   @Test
+   public void bulkEventsNotifiedTogether() throws IOException {
+      File fileA = folder.newFile("a.ecore");
+      File fileB = folder.newFile("b.ecore");
+      service.register(watcherA, fileA);
+      service.register(watcherB, fileB);
+
+      Files.write(fileA.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+      Files.write(fileB.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+
+      verify(watcherA, timeout(15000L)).isReconcileNeeded(false);
+      verify(watcherB, timeout(15000L)).isReconcileNeeded(false);
+      verify(watcherA, never()).fileChanged(anyBoolean());
+      verify(watcherB, never()).fileChanged(anyBoolean());
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() {
+      service = new DirectoryWatchService(1);
+   }
+
+   @After
+   public void tearDown() {
+      service.dispose();
+   }
+
+}
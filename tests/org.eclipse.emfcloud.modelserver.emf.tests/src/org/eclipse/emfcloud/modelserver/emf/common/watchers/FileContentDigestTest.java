@@ -0,0 +1,82 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ *******************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common.watchers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileContentDigestTest {
+
+   @Rule
+   public final TemporaryFolder folder = new TemporaryFolder();
+
+   private File file;
+
+   private Resource resource;
+
+   @Test
+   public void unknownContent() {
+      assertThat(FileContentDigest.isUnchanged(resource), is(false));
+   }
+
+   @Test
+   public void sameContentRewritten() throws IOException {
+      FileContentDigest.record(resource, file);
+      write("<model/>");
+
+      assertThat(FileContentDigest.isUnchanged(resource), is(true));
+   }
+
+   @Test
+   public void otherContentWritten() throws IOException {
+      FileContentDigest.record(resource, file);
+      write("<model name=\"changed\"/>");
+
+      assertThat(FileContentDigest.isUnchanged(resource), is(false));
+   }
+
+   @Test
+   public void fileDeleted() {
+      FileContentDigest.record(resource, file);
+      assertThat(file.delete(), is(true));
+
+      assertThat(FileContentDigest.isUnchanged(resource), is(false));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() throws IOException {
+      file = new File(folder.getRoot(), "model.xmi");
+      write("<model/>");
+      resource = new ResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+   }
+
+   private void write(final String content) throws IOException {
+      Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+   }
+
+}
@@ -0,0 +1,159 @@
+/********************************************************************************
+ * Copyright (c) 2022 STMicroelectronics and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the MIT License which is
+ * available at https://opensource.org/licenses/MIT.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR MIT
+ ********************************************************************************/
+package org.eclipse.emfcloud.modelserver.emf.common.watchers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emfcloud.modelserver.common.utils.URIFragmentCache;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelMergerTest {
+
+   private Resource target;
+
+   private Resource source;
+
+   private EPackage model;
+
+   private EClass first;
+
+   private EClass second;
+
+   private EReference parent;
+
+   @Test
+   public void equalContent() {
+      assertThat(new ModelMerger(target, source).isEqual(), is(true));
+   }
+
+   @Test
+   public void mergeAttributeChange() {
+      sourceClass(1).setAbstract(true);
+
+      merge();
+
+      assertThat(second.isAbstract(), is(true));
+      assertThat(model.getEClassifiers(), is(List.of(first, second)));
+   }
+
+   @Test
+   public void mergeRename() {
+      sourceClass(0).setName("C");
+
+      merge();
+
+      assertThat(first.getName(), is("C"));
+      assertThat(model.getEClassifiers().get(0), sameInstance(first));
+   }
+
+   @Test
+   public void mergeAdditionAndReference() {
+      EReference added = EcoreFactory.eINSTANCE.createEReference();
+      added.setName("children");
+      sourceClass(1).getEStructuralFeatures().add(added);
+      added.setEOpposite((EReference) sourceClass(0).getEStructuralFeatures().get(0));
+
+      merge();
+
+      EReference merged = (EReference) second.getEStructuralFeatures().get(0);
+      assertThat(merged.getName(), is("children"));
+      assertThat(merged, not(sameInstance(added)));
+      assertThat(merged.getEOpposite(), sameInstance(parent));
+      assertThat(model.getEClassifiers(), is(List.of(first, second)));
+   }
+
+   @Test
+   public void mergeRemoval() {
+      ((EPackage) source.getContents().get(0)).getEClassifiers().remove(0);
+
+      merge();
+
+      assertThat(model.getEClassifiers(), is(List.of(second)));
+   }
+
+   @Test
+   public void mergeIDChangeUndoably() {
+      XMLResource xmlTarget = new XMIResourceImpl(URI.createURI("model.xmi"));
+      xmlTarget.getContents().add(model);
+      xmlTarget.setID(first, "first");
+      XMLResource xmlSource = new XMIResourceImpl(URI.createURI("model.xmi"));
+      xmlSource.getContents().add(EcoreUtil.copy(model));
+      xmlSource.setID(((EPackage) xmlSource.getContents().get(0)).getEClassifiers().get(0), "renamed");
+      URIFragmentCache cache = URIFragmentCache.getCache(xmlTarget);
+      assertThat(cache.getURIFragment(first), is("first"));
+
+      ModelMerger merger = new ModelMerger(xmlTarget, xmlSource);
+      merger.merge();
+      assertThat(xmlTarget.getID(first), is("renamed"));
+      assertThat(cache.getURIFragment(first), is("renamed"));
+      assertThat(cache.getEObject("renamed"), sameInstance(first));
+
+      merger.undoIDs();
+      assertThat(xmlTarget.getID(first), is("first"));
+      assertThat(cache.getURIFragment(first), is("first"));
+
+      merger.redoIDs();
+      assertThat(xmlTarget.getID(first), is("renamed"));
+      assertThat(cache.getURIFragment(first), is("renamed"));
+   }
+
+   //
+   // Test framework
+   //
+
+   @Before
+   public void setup() {
+      model = EcoreFactory.eINSTANCE.createEPackage();
+      model.setName("model");
+      first = EcoreFactory.eINSTANCE.createEClass();
+      first.setName("A");
+      second = EcoreFactory.eINSTANCE.createEClass();
+      second.setName("B");
+      parent = EcoreFactory.eINSTANCE.createEReference();
+      parent.setName("parent");
+      first.getEStructuralFeatures().add(parent);
+      model.getEClassifiers().add(first);
+      model.getEClassifiers().add(second);
+
+      target = new ResourceImpl(URI.createURI("model.ecore"));
+      target.getContents().add(model);
+      source = new ResourceImpl(URI.createURI("model.ecore"));
+      source.getContents().add(EcoreUtil.copy(model));
+   }
+
+   private EClass sourceClass(final int index) {
+      return (EClass) ((EPackage) source.getContents().get(0)).getEClassifiers().get(index);
+   }
+
+   private void merge() {
+      ModelMerger merger = new ModelMerger(target, source);
+      assertThat(merger.isEqual(), is(false));
+      merger.merge();
+      assertThat(merger.isEqual(), is(true));
+   }
+
+}
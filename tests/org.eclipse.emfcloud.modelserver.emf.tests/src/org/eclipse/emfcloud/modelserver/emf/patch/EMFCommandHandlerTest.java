@@ -27,6 +27,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 
@@ -61,7 +62,7 @@ public class EMFCommandHandlerTest {
       commandHandler.getPatchCommand(requestContext, Json.object());
 
       verify(codecs).decode(ArgumentMatchers.eq(MODEL_URI), ArgumentMatchers.same(requestContext),
-         ArgumentMatchers.any());
+         ArgumentMatchers.any(JsonNode.class));
    }
 
    @Test
@@ -69,7 +70,7 @@ public class EMFCommandHandlerTest {
       commandHandler.getPatchCommand(socketContext, Json.object());
 
       verify(codecs).decode(ArgumentMatchers.eq(MODEL_URI), ArgumentMatchers.same(socketContext),
-         ArgumentMatchers.any());
+         ArgumentMatchers.any(JsonNode.class));
    }
 
    //
@@ -82,10 +83,10 @@ public class EMFCommandHandlerTest {
          .thenReturn(Optional.of(URI.createURI(MODEL_URI)));
       when(uriConverter.resolveModelURI(socketContext))
          .thenReturn(Optional.of(URI.createURI(MODEL_URI)));
-      when(codecs.decode(ArgumentMatchers.anyString(), ArgumentMatchers.any(Context.class), ArgumentMatchers.any()))
-         .thenReturn(Optional.empty());
-      when(codecs.decode(ArgumentMatchers.anyString(), ArgumentMatchers.any(WsContext.class), ArgumentMatchers.any()))
-         .thenReturn(Optional.empty());
+      when(codecs.decode(ArgumentMatchers.anyString(), ArgumentMatchers.any(Context.class),
+         ArgumentMatchers.any(JsonNode.class))).thenReturn(Optional.empty());
+      when(codecs.decode(ArgumentMatchers.anyString(), ArgumentMatchers.any(WsContext.class),
+         ArgumentMatchers.any(JsonNode.class))).thenReturn(Optional.empty());
    }
 
    @Before
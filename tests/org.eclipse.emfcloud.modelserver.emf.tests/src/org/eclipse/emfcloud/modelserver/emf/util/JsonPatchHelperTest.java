@@ -185,6 +185,42 @@ public class JsonPatchHelperTest {
       assertThat(uri, endsWith("Coffee.ecore#//Component/eStructuralFeatures/2"));
    }
 
+   @Test
+   public void getJsonPatches_unsetAttribute() {
+      ArrayNode diff = diffModel(ePackage -> {
+         EClass componentEClass = (EClass) coffeePackage.getEClassifiers().get(0);
+         componentEClass.setAbstract(false);
+      });
+
+      assertThat(diff.size(), is(1));
+
+      JsonNode operation = diff.get(0);
+      assertThat(operation.get("op").textValue(), is("remove"));
+      assertThat(operation.get("path").textValue(), is("/eClassifiers/0/abstract"));
+      assertThat(uriOf(diff, operation), endsWith("Coffee.ecore#//Component/abstract"));
+   }
+
+   @Test
+   public void getJsonPatches_moveAndAdd() {
+      ArrayNode diff = diffModel(ePackage -> {
+         EClass componentEClass = (EClass) coffeePackage.getEClassifiers().get(0);
+         componentEClass.getEStructuralFeatures().move(0, 2);
+         EStructuralFeature newFeature = EcoreFactory.eINSTANCE.createEAttribute();
+         newFeature.setName("dummy");
+         componentEClass.getEStructuralFeatures().add(1, newFeature);
+      });
+
+      assertThat(diff.size(), is(3));
+      assertThat(diff.get(0).get("op").textValue(), is("remove"));
+      assertThat(diff.get(0).get("path").textValue(), is("/eClassifiers/0/eStructuralFeatures/2"));
+      assertThat(diff.get(1).get("op").textValue(), is("add"));
+      assertThat(diff.get(1).get("path").textValue(), is("/eClassifiers/0/eStructuralFeatures/0"));
+      assertThat(diff.get(1).get("value").get("name").textValue(), is("activities"));
+      assertThat(diff.get(2).get("op").textValue(), is("add"));
+      assertThat(diff.get(2).get("path").textValue(), is("/eClassifiers/0/eStructuralFeatures/1"));
+      assertThat(diff.get(2).get("value").get("name").textValue(), is("dummy"));
+   }
+
    @Test
    public void add_containmentReference() throws JsonPatchException, JsonPatchTestException {
       ObjectNode addOp = Json